@@ -0,0 +1,91 @@
+-- Offset vs keyset pagination over a large synthetic notifications table.
+--
+-- Usage (against a scratch database with the Silverwind schema migrated):
+--   psql "$DATABASE_URL" -v rows=5000000 -f scripts/notification-pagination-bench.sql
+--
+-- Builds bench.notifications as a copy of the live table's structure and indexes (no foreign
+-- keys, so no employees are needed), fills it with :rows notifications spread over 2,000
+-- recipients plus one heavy recipient holding 5% of the rows, then times page 1, 100, 1,000
+-- and 5,000 (20 rows each) for the heavy user with OFFSET and with a (created_at, id) cursor.
+-- Offset latency grows with depth; keyset latency should stay flat.
+-- Drop the schema afterwards with: DROP SCHEMA bench CASCADE;
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+    \set rows 5000000
+\endif
+\set heavy '''00000000-0000-0000-0000-00000000beef'''
+
+DROP SCHEMA IF EXISTS bench CASCADE;
+CREATE SCHEMA bench;
+CREATE TABLE bench.notifications (LIKE public.notifications INCLUDING DEFAULTS INCLUDING INDEXES);
+
+\echo Generating :rows notifications...
+\timing on
+INSERT INTO bench.notifications (id, created_at, updated_at, recipient_user_id, title, body, category,
+                                 priority, read_at)
+SELECT gen_random_uuid(),
+       ts,
+       ts,
+       CASE WHEN g % 20 = 0 THEN :heavy::uuid
+            ELSE ('00000000-0000-0000-0000-' || lpad(to_hex(g % 2000), 12, '0'))::uuid END,
+       'Synthetic notification ' || g,
+       'Benchmark row',
+       (ARRAY['APPLICATION','ANALYSIS','TICKET','LEAVE','TRACKING','SYSTEM'])[1 + g % 6],
+       'NORMAL',
+       CASE WHEN g % 3 = 0 THEN NULL ELSE ts + interval '1 hour' END
+FROM generate_series(1, :rows) AS g,
+     LATERAL (SELECT LOCALTIMESTAMP - (g * interval '1 second') AS ts) t;
+ANALYZE bench.notifications;
+\timing off
+
+SET search_path = bench, public;
+
+\echo
+\echo ===== OFFSET pagination (heavy recipient) =====
+\timing on
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 0) p;
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 1980) p;
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 19980) p;
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 99980) p;
+-- The offset endpoints also run a count for the Page total on every request
+SELECT count(*) FROM notifications WHERE recipient_user_id = :heavy;
+\timing off
+
+-- Cursor positions equivalent to the offsets above (not timed)
+SELECT created_at AS c100, id AS i100 FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC OFFSET 1979 LIMIT 1 \gset
+SELECT created_at AS c1000, id AS i1000 FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC OFFSET 19979 LIMIT 1 \gset
+SELECT created_at AS c5000, id AS i5000 FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC OFFSET 99979 LIMIT 1 \gset
+
+\echo
+\echo ===== Keyset pagination (heavy recipient) =====
+\timing on
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC LIMIT 20) p;
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    AND (created_at, id) < (:'c100', :'i100') ORDER BY created_at DESC, id DESC LIMIT 20) p;
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    AND (created_at, id) < (:'c1000', :'i1000') ORDER BY created_at DESC, id DESC LIMIT 20) p;
+SELECT count(*) FROM (SELECT id FROM notifications WHERE recipient_user_id = :heavy
+    AND (created_at, id) < (:'c5000', :'i5000') ORDER BY created_at DESC, id DESC LIMIT 20) p;
+\timing off
+
+\echo
+\echo ===== Plans at page 5,000 =====
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM notifications WHERE recipient_user_id = :heavy
+    ORDER BY created_at DESC, id DESC LIMIT 20 OFFSET 99980;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM notifications WHERE recipient_user_id = :heavy
+    AND (created_at, id) < (:'c5000', :'i5000') ORDER BY created_at DESC, id DESC LIMIT 20;
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT * FROM notifications WHERE recipient_user_id = :heavy AND read_at IS NULL
+    AND (created_at, id) < (:'c1000', :'i1000') ORDER BY created_at DESC, id DESC LIMIT 20;
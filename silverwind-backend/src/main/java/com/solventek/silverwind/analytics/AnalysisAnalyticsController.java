@@ -0,0 +1,76 @@
+package com.solventek.silverwind.analytics;
+
+import com.solventek.silverwind.auth.Employee;
+import com.solventek.silverwind.auth.EmployeeRepository;
+import com.solventek.silverwind.common.ApiResponse;
+import com.solventek.silverwind.org.OrganizationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Risk analytics over AI resume analyses, scoped by job, vendor and/or hiring organization.
+ * Vendors are always restricted to their own submissions.
+ */
+@RestController
+@RequestMapping("/api/analytics/analysis")
+@RequiredArgsConstructor
+public class AnalysisAnalyticsController {
+
+    private final AnalysisAnalyticsService analyticsService;
+    private final EmployeeRepository employeeRepository;
+
+    private Employee getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return employeeRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private AnalysisAnalyticsService.Scope scope(UUID jobId, UUID vendorId, UUID organizationId) {
+        Employee user = getCurrentUser();
+        if (user.getOrganization().getType() == OrganizationType.VENDOR) {
+            return new AnalysisAnalyticsService.Scope(jobId, user.getOrganization().getId(), organizationId);
+        }
+        return new AnalysisAnalyticsService.Scope(jobId, vendorId, organizationId);
+    }
+
+    @GetMapping("/risk-distribution")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<AnalysisAnalyticsService.RiskDistribution>> riskDistribution(
+            @RequestParam(required = false) UUID jobId,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID organizationId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                analyticsService.riskDistribution(scope(jobId, vendorId, organizationId))));
+    }
+
+    @GetMapping("/red-flags")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<List<AnalysisAnalyticsService.RedFlagCount>>> redFlagCounts(
+            @RequestParam(required = false) UUID jobId,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID organizationId) {
+        return ResponseEntity.ok(ApiResponse.success(
+                analyticsService.redFlagCounts(scope(jobId, vendorId, organizationId))));
+    }
+
+    @GetMapping("/riskiest")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<List<AnalysisAnalyticsService.RiskyApplication>>> riskiestApplications(
+            @RequestParam(required = false) UUID jobId,
+            @RequestParam(required = false) UUID vendorId,
+            @RequestParam(required = false) UUID organizationId,
+            @RequestParam(defaultValue = "overall") String dimension,
+            @RequestParam(required = false) String flagCategory,
+            @RequestParam(required = false) String flagSeverity,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(analyticsService.riskiestApplications(
+                scope(jobId, vendorId, organizationId), dimension, flagCategory, flagSeverity, limit)));
+    }
+}
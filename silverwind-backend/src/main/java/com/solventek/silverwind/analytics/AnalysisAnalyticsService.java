@@ -0,0 +1,229 @@
+package com.solventek.silverwind.analytics;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Job-fit analytics over stored resume analyses. Everything is aggregated in SQL over the
+ * latest analysis per application; no analysis entities are loaded.
+ * <p>
+ * Scope filters (job, vendor, hiring organization) are optional and combined with AND.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalysisAnalyticsService {
+
+    private static final int MAX_TOP_N = 100;
+
+    // Whitelisted score columns for the riskiest-applications ranking
+    private static final Map<String, String> RISK_DIMENSIONS = Map.of(
+            "overall", "overall_risk_score",
+            "timeline", "timeline_risk_score",
+            "skill_inflation", "skill_inflation_risk_score",
+            "project_credibility", "project_credibility_risk_score",
+            "authorship", "authorship_risk_score",
+            "verification_priority", "verification_priority_score");
+
+    private static final String LATEST_CTE = """
+            WITH latest AS (
+                SELECT DISTINCT ON (ra.application_id) ra.*, a.job_id, a.vendor_org_id
+                FROM resume_analysis ra
+                JOIN job_applications a ON a.id = ra.application_id
+                JOIN jobs j ON j.id = a.job_id
+                WHERE %s
+                ORDER BY ra.application_id, ra.analyzed_at DESC
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public record Scope(UUID jobId, UUID vendorId, UUID organizationId) {
+    }
+
+    public record ScoreBands(String dimension, long low, long medium, long high, Double average) {
+    }
+
+    public record Bucket(int from, int to, long count) {
+    }
+
+    public record RiskDistribution(long analyzedApplications, List<Bucket> overallRiskHistogram,
+            List<ScoreBands> dimensions) {
+    }
+
+    public record RedFlagCount(String category, String severity, long count, long applications) {
+    }
+
+    public record RiskyApplication(UUID applicationId, String firstName, String lastName, UUID jobId,
+            String jobTitle, UUID vendorId, String vendorName, String dimension, Integer score,
+            Integer overallRiskScore, int redFlagCount, int highRedFlagCount, LocalDateTime analyzedAt) {
+    }
+
+    /**
+     * Low (&lt;40) / medium (40-69) / high (&ge;70) band counts and averages per risk dimension,
+     * plus a 10-point histogram of the overall risk score.
+     */
+    @Transactional(readOnly = true)
+    public RiskDistribution riskDistribution(Scope scope) {
+        List<Object> args = new ArrayList<>();
+        String cte = latestCte(scope, args);
+
+        StringBuilder select = new StringBuilder(cte).append("SELECT count(*) AS total");
+        List<String> dims = new ArrayList<>(new TreeSet<>(RISK_DIMENSIONS.keySet()));
+        for (String dim : dims) {
+            String col = RISK_DIMENSIONS.get(dim);
+            select.append(", count(*) FILTER (WHERE ").append(col).append(" < 40) AS ").append(dim).append("_low")
+                    .append(", count(*) FILTER (WHERE ").append(col).append(" >= 40 AND ").append(col)
+                    .append(" < 70) AS ").append(dim).append("_medium")
+                    .append(", count(*) FILTER (WHERE ").append(col).append(" >= 70) AS ").append(dim).append("_high")
+                    .append(", round(avg(").append(col).append("), 1) AS ").append(dim).append("_avg");
+        }
+        select.append(" FROM latest");
+
+        return jdbcTemplate.queryForObject(select.toString(), (rs, i) -> {
+            List<ScoreBands> bands = new ArrayList<>();
+            for (String dim : dims) {
+                BigDecimal avg = rs.getBigDecimal(dim + "_avg");
+                bands.add(new ScoreBands(dim, rs.getLong(dim + "_low"), rs.getLong(dim + "_medium"),
+                        rs.getLong(dim + "_high"), avg != null ? avg.doubleValue() : null));
+            }
+            return new RiskDistribution(rs.getLong("total"), overallHistogram(scope), bands);
+        }, args.toArray());
+    }
+
+    /**
+     * Red-flag counts per (category, severity) across the latest analyses in scope.
+     */
+    @Transactional(readOnly = true)
+    public List<RedFlagCount> redFlagCounts(Scope scope) {
+        List<Object> args = new ArrayList<>();
+        String sql = latestCte(scope, args) + """
+                SELECT upper(coalesce(f->>'category', 'UNKNOWN')) AS category,
+                       upper(coalesce(f->>'severity', 'UNKNOWN')) AS severity,
+                       count(*) AS flags,
+                       count(DISTINCT l.application_id) AS applications
+                FROM latest l
+                JOIN resume_analysis_details d ON d.analysis_id = l.id
+                CROSS JOIN LATERAL jsonb_array_elements(
+                    CASE WHEN jsonb_typeof(d.red_flags_json) = 'array' THEN d.red_flags_json ELSE '[]'::jsonb END) f
+                WHERE d.red_flag_count > 0
+                GROUP BY 1, 2
+                ORDER BY flags DESC, category, severity
+                """;
+        return jdbcTemplate.query(sql, (rs, i) -> new RedFlagCount(rs.getString("category"),
+                rs.getString("severity"), rs.getLong("flags"), rs.getLong("applications")), args.toArray());
+    }
+
+    /**
+     * Top-N applications by the given risk dimension. When {@code flagCategory} is set, only
+     * applications with a red flag of that category (and {@code flagSeverity}, if given) are
+     * ranked - e.g. "HIGH TIMELINE flags for job X".
+     */
+    @Transactional(readOnly = true)
+    public List<RiskyApplication> riskiestApplications(Scope scope, String dimension, String flagCategory,
+            String flagSeverity, int limit) {
+        String dim = dimension == null ? "overall" : dimension.toLowerCase(Locale.ROOT);
+        String col = RISK_DIMENSIONS.get(dim);
+        if (col == null) {
+            throw new IllegalArgumentException("Unknown risk dimension: " + dimension
+                    + ". Expected one of " + new TreeSet<>(RISK_DIMENSIONS.keySet()));
+        }
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(latestCte(scope, args)).append("""
+                SELECT l.application_id, a.first_name, a.last_name, l.job_id, j.title AS job_title,
+                       l.vendor_org_id, v.name AS vendor_name, l.%s AS score, l.overall_risk_score,
+                       coalesce(d.red_flag_count, 0) AS red_flag_count,
+                       coalesce(d.high_red_flag_count, 0) AS high_red_flag_count, l.analyzed_at
+                FROM latest l
+                JOIN job_applications a ON a.id = l.application_id
+                JOIN jobs j ON j.id = l.job_id
+                LEFT JOIN organizations v ON v.id = l.vendor_org_id
+                LEFT JOIN resume_analysis_details d ON d.analysis_id = l.id
+                WHERE l.%s IS NOT NULL
+                """.formatted(col, col));
+        if (flagCategory != null && !flagCategory.isBlank()) {
+            // Containment is served by the jsonb_path_ops GIN index
+            Map<String, String> flag = new LinkedHashMap<>();
+            flag.put("category", flagCategory.trim().toUpperCase(Locale.ROOT));
+            if (flagSeverity != null && !flagSeverity.isBlank()) {
+                flag.put("severity", flagSeverity.trim().toUpperCase(Locale.ROOT));
+            }
+            sql.append(" AND d.red_flags_json @> ?::jsonb");
+            args.add(toJson(List.of(flag)));
+        }
+        sql.append(" ORDER BY score DESC, l.analyzed_at DESC LIMIT ?");
+        args.add(Math.min(Math.max(limit, 1), MAX_TOP_N));
+
+        return jdbcTemplate.query(sql.toString(), (rs, i) -> new RiskyApplication(
+                rs.getObject("application_id", UUID.class),
+                rs.getString("first_name"),
+                rs.getString("last_name"),
+                rs.getObject("job_id", UUID.class),
+                rs.getString("job_title"),
+                rs.getObject("vendor_org_id", UUID.class),
+                rs.getString("vendor_name"),
+                dim,
+                rs.getObject("score", Integer.class),
+                rs.getObject("overall_risk_score", Integer.class),
+                rs.getInt("red_flag_count"),
+                rs.getInt("high_red_flag_count"),
+                rs.getTimestamp("analyzed_at") != null ? rs.getTimestamp("analyzed_at").toLocalDateTime() : null),
+                args.toArray());
+    }
+
+    private List<Bucket> overallHistogram(Scope scope) {
+        List<Object> args = new ArrayList<>();
+        String sql = latestCte(scope, args) + """
+                SELECT least(overall_risk_score / 10, 9) AS bucket, count(*) AS count
+                FROM latest
+                WHERE overall_risk_score IS NOT NULL
+                GROUP BY 1
+                """;
+        long[] counts = new long[10];
+        jdbcTemplate.query(sql, rs -> {
+            int b = Math.max(0, rs.getInt("bucket"));
+            counts[b] = rs.getLong("count");
+        }, args.toArray());
+        List<Bucket> buckets = new ArrayList<>();
+        for (int b = 0; b < counts.length; b++) {
+            buckets.add(new Bucket(b * 10, b == 9 ? 100 : b * 10 + 9, counts[b]));
+        }
+        return buckets;
+    }
+
+    private String latestCte(Scope scope, List<Object> args) {
+        StringBuilder where = new StringBuilder("TRUE");
+        if (scope.jobId() != null) {
+            where.append(" AND a.job_id = ?");
+            args.add(scope.jobId());
+        }
+        if (scope.vendorId() != null) {
+            where.append(" AND a.vendor_org_id = ?");
+            args.add(scope.vendorId());
+        }
+        if (scope.organizationId() != null) {
+            where.append(" AND j.organization_id = ?");
+            args.add(scope.organizationId());
+        }
+        return LATEST_CTE.formatted(where);
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid red flag filter", e);
+        }
+    }
+}
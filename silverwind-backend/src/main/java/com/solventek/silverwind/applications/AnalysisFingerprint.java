@@ -0,0 +1,52 @@
+package com.solventek.silverwind.applications;
+
+import com.solventek.silverwind.jobs.Job;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 fingerprints of the inputs that drive a resume analysis. The resume hash
+ * matches the one computed in SQL by {@link JobApplicationRepository#findResumeHashesByJobId}.
+ */
+public final class AnalysisFingerprint {
+
+    private AnalysisFingerprint() {
+    }
+
+    public static String resumeHash(String resumeText) {
+        return sha256(resumeText == null ? "" : resumeText);
+    }
+
+    /**
+     * Covers every job field that reaches the scoring prompt or is likely to change what
+     * "a good fit" means; status/rates are deliberately excluded.
+     */
+    public static String jobHash(Job job) {
+        if (job == null) {
+            return sha256("");
+        }
+        return sha256(String.join("\u001F",
+                nullToEmpty(job.getTitle()),
+                nullToEmpty(job.getDescription()),
+                nullToEmpty(job.getRequirements()),
+                nullToEmpty(job.getRolesAndResponsibilities()),
+                nullToEmpty(job.getExperience()),
+                nullToEmpty(job.getSkills())));
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
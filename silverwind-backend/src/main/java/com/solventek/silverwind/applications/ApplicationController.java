@@ -130,6 +130,12 @@ public class ApplicationController {
         return ResponseEntity.ok(ApiResponse.success(applicationService.getLatestAnalysis(id)));
     }
 
+    @GetMapping("/{id}/resume-text")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN','HR_ADMIN','TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<String>> getResumeText(@PathVariable UUID id) {
+        return ResponseEntity.ok(ApiResponse.success(applicationService.getResumeText(id)));
+    }
+
     @PostMapping(value = "/{id}/documents", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','HR_ADMIN', 'TA', 'VENDOR')")
     public ResponseEntity<ApiResponse<Void>> uploadDocument(
@@ -176,6 +182,30 @@ public class ApplicationController {
         return ResponseEntity.ok(ApiResponse.success("Analysis triggered successfully.", null));
     }
 
+    @PostMapping("/jobs/{jobId}/reanalyze")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'TA')")
+    public ResponseEntity<ApiResponse<BulkAnalysisService.BulkAnalysisProgress>> reanalyzeJob(
+            @PathVariable UUID jobId,
+            @RequestBody(required = false) BulkReanalysisRequest request) {
+        BulkReanalysisRequest r = request != null ? request : new BulkReanalysisRequest();
+        return ResponseEntity.ok(ApiResponse.success("Bulk re-analysis started.",
+                applicationService.reanalyzeJob(jobId, r.getStatuses(), r.getApplicationIds(), r.isForce())));
+    }
+
+    @GetMapping("/reanalysis/{batchId}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'TA')")
+    public ResponseEntity<ApiResponse<BulkAnalysisService.BulkAnalysisProgress>> getReanalysisProgress(
+            @PathVariable UUID batchId) {
+        return ResponseEntity.ok(ApiResponse.success(applicationService.getReanalysisProgress(batchId)));
+    }
+
+    @Data
+    public static class BulkReanalysisRequest {
+        private java.util.Set<ApplicationStatus> statuses;
+        private java.util.Set<UUID> applicationIds;
+        private boolean force;
+    }
+
     @GetMapping("/documents/{docId}/download")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'TA')")
     public ResponseEntity<Resource> downloadDocument(@PathVariable UUID docId) {
@@ -3,6 +3,7 @@ package com.solventek.silverwind.applications;
 import com.solventek.silverwind.applications.ApplicationController.ApplyRequest;
 import com.solventek.silverwind.auth.Employee;
 import com.solventek.silverwind.auth.EmployeeRepository;
+import com.solventek.silverwind.dedup.DuplicateDetectionService;
 import com.solventek.silverwind.jobs.Job;
 import com.solventek.silverwind.jobs.JobRepository;
 import com.solventek.silverwind.notifications.Notification.NotificationCategory;
@@ -50,6 +51,10 @@ public class ApplicationService {
         private final ApplicationDocumentsRepository documentsRepository;
         private final ResumeAnalysisRepository analysisRepository;
         private final CandidateRepository candidateRepository;
+        private final BulkAnalysisService bulkAnalysisService;
+        private final JobApplicationTextRepository applicationTextRepository;
+        private final ResumeAnalysisDetailsRepository analysisDetailsRepository;
+        private final DuplicateDetectionService duplicateDetectionService;
 
         @Transactional
         public JobApplication apply(UUID jobId,
@@ -158,7 +163,6 @@ public class ApplicationService {
                                         .candidate(existingCandidate)
                                         .resumeUrl(request.getResumeUrl()) // Optional external URL
                                         .resumeFilePath(resumePath) // Internal Path
-                                        .resumeText(resumeText) // Extracted Text
                                         .currentTitle(request.getCurrentTitle())
                                         .currentCompany(request.getCurrentCompany())
                                         .experienceYears(request.getExperienceYears())
@@ -172,6 +176,13 @@ public class ApplicationService {
 
                         applicationRepository.save(app);
                         log.info("Application saved with ID: {}", app.getId());
+                        if (resumeText != null) {
+                                applicationTextRepository.save(JobApplicationText.builder()
+                                                .applicationId(app.getId())
+                                                .resumeText(resumeText)
+                                                .build());
+                                duplicateDetectionService.registerApplicationAfterCommit(app.getId(), resumeText);
+                        }
 
                         UUID targetUserId = employeeRepository.findByEmail(request.getEmail())
                                         .map(Employee::getId).orElse(null);
@@ -398,6 +409,8 @@ public class ApplicationService {
                                 "APPLICATION", applicationId, "DELETE", "Application Withdrawn", null, targetUserId,
                                 "Application deleted/withdrawn", null);
 
+                applicationTextRepository.findById(applicationId).ifPresent(applicationTextRepository::delete);
+                duplicateDetectionService.removeAfterCommit(DuplicateDetectionService.APPLICATION, applicationId);
                 applicationRepository.delete(app);
         }
 
@@ -560,9 +573,31 @@ public class ApplicationService {
                 return documentsRepository.findByApplicationIdOrderByUploadedAtDesc(applicationId);
         }
 
+        /**
+         * Latest analysis including its JSON details (red flags, evidence, interview questions).
+         */
+        @Transactional(readOnly = true)
         public ResumeAnalysis getLatestAnalysis(UUID applicationId) {
                 log.debug("Fetching latest analysis for Application ID: {}", applicationId);
-                return analysisRepository.findTopByApplicationIdOrderByAnalyzedAtDesc(applicationId).orElse(null);
+                ResumeAnalysis analysis = analysisRepository.findTopByApplicationIdOrderByAnalyzedAtDesc(applicationId)
+                                .orElse(null);
+                if (analysis != null) {
+                        analysisDetailsRepository.findById(analysis.getId()).ifPresent(details -> {
+                                analysis.setRedFlagsJson(details.getRedFlagsJson());
+                                analysis.setEvidenceJson(details.getEvidenceJson());
+                                analysis.setInterviewQuestionsJson(details.getInterviewQuestionsJson());
+                        });
+                }
+                return analysis;
+        }
+
+        @Transactional(readOnly = true)
+        public String getResumeText(UUID applicationId) {
+                log.debug("Fetching resume text for Application ID: {}", applicationId);
+                if (!applicationRepository.existsById(applicationId)) {
+                        throw new EntityNotFoundException("Application not found: " + applicationId);
+                }
+                return applicationTextRepository.findResumeTextByApplicationId(applicationId).orElse(null);
         }
 
         @Async("analysisExecutor")
@@ -571,6 +606,26 @@ public class ApplicationService {
                 analysisOrchestrator.analyzeApplicationAsync(applicationId);
         }
 
+        /**
+         * Re-score every application of a job (optionally filtered by status or IDs) in the
+         * background. Unchanged applications are skipped unless {@code force} is set.
+         */
+        @Transactional(readOnly = true)
+        public BulkAnalysisService.BulkAnalysisProgress reanalyzeJob(UUID jobId,
+                        java.util.Set<ApplicationStatus> statuses,
+                        java.util.Set<UUID> applicationIds,
+                        boolean force) {
+                log.info("Triggering bulk re-analysis for Job ID: {} (statuses: {}, force: {})", jobId, statuses,
+                                force);
+                Job job = jobRepository.findById(jobId)
+                                .orElseThrow(() -> new EntityNotFoundException("Job not found with ID: " + jobId));
+                return bulkAnalysisService.start(job, statuses, applicationIds, force);
+        }
+
+        public BulkAnalysisService.BulkAnalysisProgress getReanalysisProgress(UUID batchId) {
+                return bulkAnalysisService.getProgress(batchId);
+        }
+
         public Page<TimelineEvent> getTimeline(UUID applicationId,
                         Pageable pageable) {
                 log.debug("Fetching timeline for Application ID: {}", applicationId);
@@ -0,0 +1,235 @@
+package com.solventek.silverwind.applications;
+
+import com.solventek.silverwind.config.AnalysisProperties;
+import com.solventek.silverwind.jobs.Job;
+import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import com.solventek.silverwind.notifications.Notification.NotificationPriority;
+import com.solventek.silverwind.notifications.NotificationService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Re-scores many applications of a job in one batch (e.g. after the job description changed).
+ * Analyses run with bounded concurrency, applications whose resume and job fingerprints match
+ * their latest analysis are skipped, and admins get a single summary notification per batch
+ * instead of one "AI Analysis Complete" per application.
+ * <p>
+ * Batch progress is kept in memory; it is informational and does not survive a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkAnalysisService {
+
+    private static final String EMPTY_RESUME_HASH = AnalysisFingerprint.resumeHash("");
+    private static final Duration FINISHED_BATCH_RETENTION = Duration.ofHours(6);
+    private static final int HIGH_RISK_THRESHOLD = 70;
+
+    private final JobApplicationRepository applicationRepository;
+    private final ResumeAnalysisRepository analysisRepository;
+    private final ResumeAnalysisOrchestratorService analysisOrchestrator;
+    private final NotificationService notificationService;
+    private final AnalysisProperties analysisProperties;
+    private final ExecutorService aiStageExecutor;
+
+    private final Map<UUID, Batch> batches = new ConcurrentHashMap<>();
+
+    public record BulkAnalysisProgress(UUID batchId, UUID jobId, String status, int total, int queued,
+            int skipped, int completed, int failed, int highRisk, Instant startedAt, Instant finishedAt) {
+    }
+
+    /**
+     * Selects the applications to re-score and starts the batch in the background.
+     * Must be called inside a transaction so the job's fields can be read.
+     */
+    public BulkAnalysisProgress start(Job job, Set<ApplicationStatus> statuses, Set<UUID> applicationIds,
+            boolean force) {
+        evictFinishedBatches();
+
+        Batch running = batches.values().stream()
+                .filter(b -> b.jobId.equals(job.getId()) && !b.isFinished())
+                .findFirst().orElse(null);
+        if (running != null) {
+            log.info("Bulk re-analysis already running for Job ID: {} (batch {})", job.getId(), running.id);
+            return running.snapshot();
+        }
+
+        String jobHash = AnalysisFingerprint.jobHash(job);
+        Map<UUID, String> resumeHashes = new LinkedHashMap<>();
+        for (Object[] row : applicationRepository.findResumeHashesByJobId(job.getId())) {
+            UUID id = UUID.fromString((String) row[0]);
+            ApplicationStatus status = row[1] != null ? ApplicationStatus.valueOf((String) row[1]) : null;
+            if (statuses != null && !statuses.isEmpty() && !statuses.contains(status))
+                continue;
+            if (applicationIds != null && !applicationIds.isEmpty() && !applicationIds.contains(id))
+                continue;
+            resumeHashes.put(id, (String) row[2]);
+        }
+
+        Map<UUID, ResumeAnalysis> latest = new HashMap<>();
+        if (!force && !resumeHashes.isEmpty()) {
+            for (ResumeAnalysis a : analysisRepository.findLatestByApplicationIdIn(resumeHashes.keySet())) {
+                latest.put(a.getApplicationId(), a);
+            }
+        }
+
+        List<UUID> toAnalyze = new ArrayList<>();
+        int skipped = 0;
+        for (Map.Entry<UUID, String> e : resumeHashes.entrySet()) {
+            ResumeAnalysis prev = latest.get(e.getKey());
+            boolean noResume = EMPTY_RESUME_HASH.equals(e.getValue());
+            boolean unchanged = prev != null
+                    && e.getValue().equals(prev.getResumeHash())
+                    && jobHash.equals(prev.getJobHash());
+            if (noResume || unchanged) {
+                skipped++;
+            } else {
+                toAnalyze.add(e.getKey());
+            }
+        }
+
+        UUID orgId = job.getOrganization() != null ? job.getOrganization().getId() : null;
+        Batch batch = new Batch(UUID.randomUUID(), job.getId(), job.getTitle(), orgId, resumeHashes.size(),
+                toAnalyze.size(), skipped);
+        batches.put(batch.id, batch);
+        log.info("Bulk re-analysis {} for Job ID: {} - {} selected, {} queued, {} skipped (force={})",
+                batch.id, job.getId(), resumeHashes.size(), toAnalyze.size(), skipped, force);
+
+        if (toAnalyze.isEmpty()) {
+            batch.finish();
+            return batch.snapshot();
+        }
+        aiStageExecutor.execute(() -> run(batch, toAnalyze));
+        return batch.snapshot();
+    }
+
+    public BulkAnalysisProgress getProgress(UUID batchId) {
+        Batch batch = batches.get(batchId);
+        if (batch == null) {
+            throw new EntityNotFoundException("Re-analysis batch not found: " + batchId);
+        }
+        return batch.snapshot();
+    }
+
+    private void run(Batch batch, List<UUID> applicationIds) {
+        Semaphore permits = new Semaphore(Math.max(1, analysisProperties.getBulkMaxConcurrency()));
+        CountDownLatch done = new CountDownLatch(applicationIds.size());
+        try {
+            for (UUID applicationId : applicationIds) {
+                permits.acquire();
+                aiStageExecutor.execute(() -> {
+                    try {
+                        ResumeAnalysis analysis = analysisOrchestrator.analyzeApplication(applicationId, false);
+                        batch.completed.incrementAndGet();
+                        if (analysis.getOverallRiskScore() != null
+                                && analysis.getOverallRiskScore() >= HIGH_RISK_THRESHOLD) {
+                            batch.highRisk.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        batch.failed.incrementAndGet();
+                        log.warn("Bulk re-analysis {}: application {} failed - {}", batch.id, applicationId,
+                                e.getMessage());
+                    } finally {
+                        permits.release();
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Bulk re-analysis {} interrupted", batch.id);
+        } finally {
+            batch.finish();
+            log.info("Bulk re-analysis {} finished - completed: {}, failed: {}, skipped: {}",
+                    batch.id, batch.completed.get(), batch.failed.get(), batch.skipped);
+            notifyAdmins(batch);
+        }
+    }
+
+    private void notifyAdmins(Batch batch) {
+        if (batch.orgId == null) {
+            return;
+        }
+        try {
+            int completed = batch.completed.get();
+            int failed = batch.failed.get();
+            int highRisk = batch.highRisk.get();
+            String body = "Re-analyzed " + completed + " of " + batch.queued + " applications for "
+                    + batch.jobTitle + ". "
+                    + (batch.skipped > 0 ? batch.skipped + " unchanged skipped. " : "")
+                    + (failed > 0 ? failed + " failed. " : "")
+                    + highRisk + " high risk.";
+            notificationService.sendNotificationToOrg(batch.orgId,
+                    NotificationService.NotificationBuilder.create()
+                            .title("🤖 Bulk AI Analysis Complete")
+                            .body(body)
+                            .category(NotificationCategory.ANALYSIS)
+                            .priority(highRisk > 0 ? NotificationPriority.HIGH : NotificationPriority.NORMAL)
+                            .refEntity("JOB", batch.jobId)
+                            .actionUrl("/jobs/" + batch.jobId)
+                            .icon("bi-robot")
+                            .withMetadata("batchId", batch.id)
+                            .withMetadata("completed", completed)
+                            .withMetadata("failed", failed)
+                            .withMetadata("skipped", batch.skipped)
+                            .withMetadata("highRisk", highRisk));
+        } catch (Exception e) {
+            log.warn("Failed to send bulk analysis summary notification", e);
+        }
+    }
+
+    private void evictFinishedBatches() {
+        Instant cutoff = Instant.now().minus(FINISHED_BATCH_RETENTION);
+        batches.values().removeIf(b -> b.finishedAt != null && b.finishedAt.isBefore(cutoff));
+    }
+
+    private static final class Batch {
+        private final UUID id;
+        private final UUID jobId;
+        private final String jobTitle;
+        private final UUID orgId;
+        private final int total;
+        private final int queued;
+        private final int skipped;
+        private final AtomicInteger completed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger highRisk = new AtomicInteger();
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+
+        private Batch(UUID id, UUID jobId, String jobTitle, UUID orgId, int total, int queued, int skipped) {
+            this.id = id;
+            this.jobId = jobId;
+            this.jobTitle = jobTitle;
+            this.orgId = orgId;
+            this.total = total;
+            this.queued = queued;
+            this.skipped = skipped;
+        }
+
+        private boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        private void finish() {
+            finishedAt = Instant.now();
+        }
+
+        private BulkAnalysisProgress snapshot() {
+            return new BulkAnalysisProgress(id, jobId, isFinished() ? "COMPLETED" : "RUNNING", total, queued,
+                    skipped, completed.get(), failed.get(), highRisk.get(), startedAt, finishedAt);
+        }
+    }
+}
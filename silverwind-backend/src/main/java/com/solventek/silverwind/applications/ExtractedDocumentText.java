@@ -0,0 +1,34 @@
+package com.solventek.silverwind.applications;
+
+import com.solventek.silverwind.common.BaseEntity;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.*;
+
+/**
+ * Text extracted from a stored document, so a file is parsed at most once per version.
+ * {@code storageVersion} is the storage-side version (S3 ETag / local size+mtime) that lets a
+ * lookup validate the row without downloading the file.
+ */
+@Entity
+@Table(name = "extracted_document_texts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ExtractedDocumentText extends BaseEntity {
+
+    @Column(name = "storage_key", nullable = false, length = 1024)
+    private String storageKey;
+
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    @Column(name = "storage_version")
+    private String storageVersion;
+
+    @Column(name = "extracted_text", columnDefinition = "TEXT")
+    private String extractedText;
+}
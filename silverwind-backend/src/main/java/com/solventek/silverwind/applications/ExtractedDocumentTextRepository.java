@@ -0,0 +1,41 @@
+package com.solventek.silverwind.applications;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ExtractedDocumentTextRepository extends JpaRepository<ExtractedDocumentText, UUID> {
+
+    Optional<ExtractedDocumentText> findByStorageKey(String storageKey);
+
+    /**
+     * Insert or refresh the cached text for a key. Native upsert so concurrent ingestions of the
+     * same key never fail the surrounding transaction on the unique constraint. Runs in its own
+     * transaction: the cache is best effort, and a failed write must not abort the caller's.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO extracted_document_texts "
+            + "(id, storage_key, content_hash, storage_version, extracted_text, created_at, updated_at) "
+            + "VALUES (gen_random_uuid(), :storageKey, :contentHash, :storageVersion, :extractedText, now(), now()) "
+            + "ON CONFLICT (storage_key) DO UPDATE SET content_hash = EXCLUDED.content_hash, "
+            + "storage_version = EXCLUDED.storage_version, extracted_text = EXCLUDED.extracted_text, "
+            + "updated_at = now()", nativeQuery = true)
+    void upsert(String storageKey, String contentHash, String storageVersion, String extractedText);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ExtractedDocumentText t SET t.storageKey = :destinationKey, t.storageVersion = :storageVersion "
+            + "WHERE t.storageKey = :sourceKey")
+    int moveKey(String sourceKey, String destinationKey, String storageVersion);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ExtractedDocumentText t WHERE t.storageKey = :storageKey")
+    void deleteByStorageKey(String storageKey);
+}
@@ -1,33 +1,197 @@
 package com.solventek.silverwind.applications;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.jobs.Job;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.SearchRequest;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.util.*;
 
+/**
+ * Hiring rubric store. Rubric sections per role family live in
+ * {@code rubrics/hiring-rubric.json}; role-specific sections are embedded in the shared
+ * pgvector store under {@code source = hiring-rubric} and retrieved by job title and skills.
+ * "core" sections apply to every role and are always included.
+ * <p>
+ * The rubric version is the hash of the resource, so editing the file re-indexes on the
+ * next startup. Retrieved context is cached per (job, rubric version); a changed job
+ * fingerprint refreshes the entry.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class HiringRubricService {
 
-   // In a real implementation, this would query a VectorStore.
-   // For this port, we will stick to a static or simple keyword-based rubric
-   // retrieval
-   // to keep it functional without external Vector DB setup (unless PGVector is
-   // compliant).
-   // Given the prompt "refer to ... project", I assume we want logic.
-   // I'll provide a simplified "Rule Based" rubric for now which is quite
-   // effective.
+   public static final String SOURCE = "hiring-rubric";
+
+   private static final String RUBRIC_RESOURCE = "rubrics/hiring-rubric.json";
+   private static final String CORE_FAMILY = "core";
+   private static final int ROLE_SECTIONS_TOPK = 3;
+   private static final double MIN_SIMILARITY = 0.5;
+   private static final int CACHE_MAX_ENTRIES = 500;
+
+   private final VectorStore vectorStore;
+   private final JdbcTemplate jdbcTemplate;
+   private final ObjectMapper objectMapper;
+
+   private List<RubricSection> sections = List.of();
+   private String rubricVersion = "static";
+
+   private final Map<String, CachedRubric> cache = Collections.synchronizedMap(
+         new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRubric> eldest) {
+               return size() > CACHE_MAX_ENTRIES;
+            }
+         });
+
+   public record RubricSection(String id, String family, String title, String keywords, String text) {
+   }
+
+   private record CachedRubric(String jobHash, String context) {
+   }
+
+   @PostConstruct
+   void loadSections() {
+      try (InputStream in = new ClassPathResource(RUBRIC_RESOURCE).getInputStream()) {
+         byte[] bytes = in.readAllBytes();
+         sections = objectMapper.readValue(bytes, new TypeReference<List<RubricSection>>() {
+         });
+         rubricVersion = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes))
+               .substring(0, 12);
+         log.info("Loaded {} hiring rubric sections (version {})", sections.size(), rubricVersion);
+      } catch (Exception e) {
+         log.error("Failed to load hiring rubric from {}, falling back to static rubric", RUBRIC_RESOURCE, e);
+      }
+   }
+
+   public String getRubricVersion() {
+      return rubricVersion;
+   }
+
+   /**
+    * Embeds the role-specific sections if the current rubric version isn't indexed yet.
+    * Called on startup from the vector store initializer.
+    */
+   public void indexIfMissing() {
+      List<RubricSection> roleSections = sections.stream()
+            .filter(s -> !CORE_FAMILY.equals(s.family()))
+            .toList();
+      if (roleSections.isEmpty()) {
+         return;
+      }
+      Integer count = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM vector_store WHERE (metadata->>'source')=? AND (metadata->>'rubricVersion')=?",
+            Integer.class, SOURCE, rubricVersion);
+      if (count != null && count >= roleSections.size()) {
+         log.info("Hiring rubric version {} already indexed. Skipping.", rubricVersion);
+         return;
+      }
+
+      log.info("Indexing hiring rubric version {} ({} sections)", rubricVersion, roleSections.size());
+      jdbcTemplate.update("DELETE FROM vector_store WHERE (metadata->>'source')=?", SOURCE);
+      List<Document> docs = new ArrayList<>();
+      for (RubricSection s : roleSections) {
+         Map<String, Object> meta = new HashMap<>();
+         meta.put("source", SOURCE);
+         meta.put("rubricVersion", rubricVersion);
+         meta.put("sectionId", s.id());
+         meta.put("family", s.family());
+         String embeddingText = s.title() + "\nRoles: " + Objects.requireNonNullElse(s.keywords(), "")
+               + "\n" + s.text();
+         docs.add(new Document(embeddingText, meta));
+      }
+      vectorStore.add(docs);
+      cache.clear();
+   }
+
+   /**
+    * Rubric context for scoring an application to {@code job}: core sections plus the
+    * role-specific sections closest to the job's title and skills. Cached per job.
+    */
+   public String retrieveRubricForJob(Job job) {
+      if (job == null || job.getId() == null) {
+         return render(retrieveRelevantRubric("Unknown role"));
+      }
+      String key = job.getId() + ":" + rubricVersion;
+      String jobHash = AnalysisFingerprint.jobHash(job);
+      CachedRubric cached = cache.get(key);
+      if (cached != null && cached.jobHash().equals(jobHash)) {
+         log.debug("Rubric cache hit for Job ID: {}", job.getId());
+         return cached.context();
+      }
+
+      String query = job.getTitle() + " " + Objects.requireNonNullElse(job.getSkills(), "");
+      String context = render(retrieveRelevantRubric(query));
+      cache.put(key, new CachedRubric(jobHash, context));
+      return context;
+   }
 
    public List<Document> retrieveRelevantRubric(String query) {
       log.info("Retrieving relevant rubric for query: {}", query);
-      // Return standard engineering rubric
-      String text = """
-            RUBRIC AND VERIFICATION STANDARDS:
+      if (sections.isEmpty()) {
+         return List.of(staticRubric());
+      }
+
+      List<Document> result = new ArrayList<>();
+      for (RubricSection s : sections) {
+         if (CORE_FAMILY.equals(s.family())) {
+            result.add(toDocument(s));
+         }
+      }
 
+      try {
+         List<Document> hits = vectorStore.similaritySearch(SearchRequest.builder()
+               .query(query)
+               .topK(ROLE_SECTIONS_TOPK)
+               .similarityThreshold(MIN_SIMILARITY)
+               .filterExpression("source == '" + SOURCE + "' && rubricVersion == '" + rubricVersion + "'")
+               .build());
+         Map<String, RubricSection> byId = new HashMap<>();
+         sections.forEach(s -> byId.put(s.id(), s));
+         for (Document hit : hits) {
+            RubricSection s = byId.get(String.valueOf(hit.getMetadata().get("sectionId")));
+            if (s != null) {
+               result.add(toDocument(s));
+            }
+         }
+         if (hits.isEmpty()) {
+            log.debug("No role-specific rubric sections matched '{}', using engineering defaults", query);
+            sections.stream().filter(s -> s.family().equals("software-engineering"))
+                  .forEach(s -> result.add(toDocument(s)));
+         }
+      } catch (Exception e) {
+         log.warn("Rubric vector search failed, falling back to static rubric: {}", e.getMessage());
+         return List.of(staticRubric());
+      }
+      return result;
+   }
+
+   private String render(List<Document> docs) {
+      StringBuilder sb = new StringBuilder("RUBRIC AND VERIFICATION STANDARDS:\n");
+      for (Document d : docs) {
+         sb.append('\n').append(d.getText()).append('\n');
+      }
+      return sb.toString();
+   }
+
+   private Document toDocument(RubricSection s) {
+      return new Document(s.title().toUpperCase(Locale.ROOT) + ":\n" + s.text(),
+            Map.of("source", SOURCE, "sectionId", s.id(), "family", s.family()));
+   }
+
+   private Document staticRubric() {
+      String text = """
             1. TIMELINE & CONSISTENCY:
                - Gaps > 3 months must be explained.
                - Overlapping full-time jobs are a HIGH risk signal (Overemployment risk).
@@ -48,6 +212,6 @@ public class HiringRubricService {
                - High density of buzzwords using identical templates is a risk.
             """;
 
-      return List.of(new Document(text, Map.of("source", "static-rubric")));
+      return new Document(text, Map.of("source", "static-rubric"));
    }
 }
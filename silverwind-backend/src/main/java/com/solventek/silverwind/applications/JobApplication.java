@@ -63,8 +63,7 @@ public class JobApplication extends BaseEntity {
 
     private String resumeFilePath;
 
-    @Column(columnDefinition = "TEXT")
-    private String resumeText; // Extracted text for AI analysis
+    // Extracted resume text lives in JobApplicationText (see /api/applications/{id}/resume-text)
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "candidate_id")
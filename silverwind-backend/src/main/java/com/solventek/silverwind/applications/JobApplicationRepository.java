@@ -38,4 +38,14 @@ public interface JobApplicationRepository extends JpaRepository<JobApplication,
     List<Object[]> countByJob_Organization_IdGroupedByStatus(UUID organizationId);
 
     List<JobApplication> findByCandidateId(UUID candidateId);
+
+    /**
+     * Lightweight rows for bulk re-analysis: [id, status, sha256(resume_text)] computed in the
+     * database so resume bodies are not loaded just to decide what changed.
+     */
+    @Query(value = "SELECT CAST(a.id AS varchar), a.status, "
+            + "encode(sha256(convert_to(coalesce(t.resume_text, ''), 'UTF8')), 'hex') "
+            + "FROM job_applications a LEFT JOIN job_application_texts t ON t.application_id = a.id "
+            + "WHERE a.job_id = :jobId", nativeQuery = true)
+    List<Object[]> findResumeHashesByJobId(UUID jobId);
 }
@@ -0,0 +1,35 @@
+package com.solventek.silverwind.applications;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Extracted resume text of an application, kept out of {@link JobApplication} so list
+ * queries never load or serialize it. Shares the application's ID; stored LZ4-compressed.
+ */
+@Entity
+@Table(name = "job_application_texts")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobApplicationText {
+
+    @Id
+    @Column(name = "application_id", nullable = false)
+    private UUID applicationId;
+
+    @Column(columnDefinition = "TEXT")
+    private String resumeText;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,13 @@
+package com.solventek.silverwind.applications;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface JobApplicationTextRepository extends JpaRepository<JobApplicationText, UUID> {
+
+    @Query("SELECT t.resumeText FROM JobApplicationText t WHERE t.applicationId = :applicationId")
+    Optional<String> findResumeTextByApplicationId(UUID applicationId);
+}
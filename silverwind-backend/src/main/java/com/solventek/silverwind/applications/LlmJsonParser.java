@@ -0,0 +1,196 @@
+package com.solventek.silverwind.applications;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Parser for JSON returned by the chat model.
+ * <p>
+ * Model output often wraps the JSON in code fences or prose. {@link #extractObject} finds
+ * the first balanced top-level object in a single pass (string- and escape-aware, so braces
+ * inside values don't confuse it) and allocates only the returned substring. Target types
+ * are read through cached, immutable {@link ObjectReader}s that ignore unknown properties,
+ * so the shared {@link ObjectMapper} is never reconfigured. Mapped results are
+ * bean-validated and failures are reported per field, in a form that can be fed back to
+ * the model for a corrected response.
+ * <p>
+ * Thread-safe.
+ */
+@Component
+public class LlmJsonParser {
+
+    private final ObjectReader treeReader;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public LlmJsonParser(ObjectMapper objectMapper, Validator validator) {
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.treeReader = objectMapper.reader();
+    }
+
+    /**
+     * Thrown when model output can't be used. Extends {@link IllegalArgumentException} so
+     * the analysis retry loop treats it as a correctable response.
+     */
+    public static class LlmOutputException extends IllegalArgumentException {
+
+        private final List<String> fieldErrors;
+
+        public LlmOutputException(String message, List<String> fieldErrors) {
+            super(fieldErrors.isEmpty() ? message : message + ": " + String.join("; ", fieldErrors));
+            this.fieldErrors = List.copyOf(fieldErrors);
+        }
+
+        public List<String> getFieldErrors() {
+            return fieldErrors;
+        }
+    }
+
+    /**
+     * Map the first JSON object in {@code raw} onto {@code type} and validate it.
+     */
+    public <T> T parse(String raw, Class<T> type) {
+        String json = requireObject(raw);
+        T value;
+        try {
+            value = readerFor(type).readValue(json);
+        } catch (JsonMappingException e) {
+            throw new LlmOutputException("Response does not match the expected schema",
+                    List.of(path(e) + ": " + e.getOriginalMessage()));
+        } catch (JsonProcessingException e) {
+            throw new LlmOutputException("Response is not valid JSON: " + e.getOriginalMessage(), List.of());
+        }
+        if (value == null) {
+            throw new LlmOutputException("Response is empty", List.of());
+        }
+        validate(value);
+        return value;
+    }
+
+    /**
+     * The first JSON object in {@code raw}, checked to be well-formed.
+     */
+    public String parseObjectJson(String raw) {
+        String json = requireObject(raw);
+        try {
+            JsonNode node = treeReader.readTree(json);
+            if (node == null || !node.isObject()) {
+                throw new LlmOutputException("Response is not a JSON object", List.of());
+            }
+        } catch (JsonProcessingException e) {
+            throw new LlmOutputException("Response is not valid JSON: " + e.getOriginalMessage(), List.of());
+        }
+        return json;
+    }
+
+    /**
+     * Single-pass scan for the first balanced top-level {@code {...}}. Leading prose and
+     * code fences are skipped; braces inside string literals are ignored.
+     *
+     * @return the object text, or null if {@code raw} contains no complete object
+     */
+    public static String extractObject(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        int start = -1;
+        int depth = 0;
+        boolean inString = false;
+        boolean escaped = false;
+        for (int i = 0, n = raw.length(); i < n; i++) {
+            char c = raw.charAt(i);
+            if (start < 0) {
+                if (c == '{' && opensObject(raw, i + 1)) {
+                    start = i;
+                    depth = 1;
+                }
+                continue;
+            }
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return raw.substring(start, i + 1);
+            }
+        }
+        return null;
+    }
+
+    // A '{' in prose ("use {braces}") is not an object start: JSON needs a key or '}' next
+    private static boolean opensObject(String raw, int from) {
+        for (int i = from, n = raw.length(); i < n; i++) {
+            char c = raw.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                return c == '"' || c == '}';
+            }
+        }
+        return true;
+    }
+
+    private String requireObject(String raw) {
+        if (raw == null || raw.isBlank()) {
+            throw new LlmOutputException("Response is empty", List.of());
+        }
+        String json = extractObject(raw);
+        if (json == null) {
+            throw new LlmOutputException(raw.indexOf('{') < 0
+                    ? "Response contains no JSON object"
+                    : "Response JSON object is incomplete (unbalanced braces or truncated output)", List.of());
+        }
+        return json;
+    }
+
+    private <T> void validate(T value) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return;
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<T> v : violations) {
+            errors.add(v.getPropertyPath() + ": " + v.getMessage());
+        }
+        Collections.sort(errors);
+        throw new LlmOutputException("Response failed validation", errors);
+    }
+
+    private ObjectReader readerFor(Class<?> type) {
+        return readers.computeIfAbsent(type, t -> objectMapper.readerFor(t)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+    }
+
+    private static String path(JsonMappingException e) {
+        StringBuilder sb = new StringBuilder();
+        for (JsonMappingException.Reference ref : e.getPath()) {
+            if (ref.getFieldName() != null) {
+                if (!sb.isEmpty()) {
+                    sb.append('.');
+                }
+                sb.append(ref.getFieldName());
+            } else if (ref.getIndex() >= 0) {
+                sb.append('[').append(ref.getIndex()).append(']');
+            }
+        }
+        return sb.isEmpty() ? "$" : sb.toString();
+    }
+}
@@ -3,17 +3,20 @@ package com.solventek.silverwind.applications;
 import com.solventek.silverwind.common.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.Index;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
 import lombok.*;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "resume_analysis")
+// Latest-analysis-per-application lookups (DISTINCT ON / max(analyzed_at)). Declared here so
+// ddl-auto creates it on fresh databases, where the table doesn't exist yet when V16 runs
+@Table(name = "resume_analysis", indexes = @Index(name = "idx_resume_analysis_application_analyzed",
+        columnList = "application_id, analyzed_at DESC"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -44,21 +47,26 @@ public class ResumeAnalysis extends BaseEntity {
     @Column(columnDefinition = "TEXT")
     private String summary;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "jsonb")
+    // Stored in ResumeAnalysisDetails; populated only for the analysis detail endpoint
+    @Transient
     private String redFlagsJson; // List of RedFlag objects
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "jsonb")
+    @Transient
     private String evidenceJson; // List of Evidence objects
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(columnDefinition = "jsonb")
+    @Transient
     private String interviewQuestionsJson; // Map<String, List<String>>
 
     @Builder.Default
     private Integer version = 1;
 
+    // Inputs fingerprint, used by bulk re-analysis to skip unchanged applications
+    @Column(length = 64)
+    private String resumeHash;
+
+    @Column(length = 64)
+    private String jobHash;
+
     private LocalDateTime analyzedAt;
 
     @PrePersist
@@ -0,0 +1,41 @@
+package com.solventek.silverwind.applications;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.UUID;
+
+/**
+ * Large JSON payloads of a {@link ResumeAnalysis}, stored separately (LZ4-compressed) so
+ * score lookups don't drag them along. Shares the analysis ID.
+ */
+@Entity
+@Table(name = "resume_analysis_details")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResumeAnalysisDetails {
+
+    @Id
+    @Column(name = "analysis_id", nullable = false)
+    private UUID analysisId;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String redFlagsJson; // List of RedFlag objects
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String evidenceJson; // List of Evidence objects
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(columnDefinition = "jsonb")
+    private String interviewQuestionsJson; // Map<String, List<String>>
+}
@@ -0,0 +1,8 @@
+package com.solventek.silverwind.applications;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface ResumeAnalysisDetailsRepository extends JpaRepository<ResumeAnalysisDetails, UUID> {
+}
@@ -2,25 +2,31 @@ package com.solventek.silverwind.applications;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.solventek.silverwind.applications.dtos.AnalysisResultDTO;
 import com.solventek.silverwind.jobs.Job;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
 import org.springframework.ai.chat.messages.SystemMessage;
 import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.ai.chat.prompt.Prompt;
-import org.springframework.ai.document.Document;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -29,9 +35,16 @@ public class ResumeAnalysisOrchestratorService {
 
     private final JobApplicationRepository applicationRepository;
     private final ResumeAnalysisRepository analysisRepository;
+    private final ResumeAnalysisDetailsRepository analysisDetailsRepository;
+    private final JobApplicationTextRepository applicationTextRepository;
     private final HiringRubricService rubricService;
+    private final ResumeSignalEngine signalEngine;
+    private final ScoringPromptBuilder promptBuilder;
+    private final ExecutorService aiStageExecutor;
+    private final MeterRegistry meterRegistry;
     private final ChatClient.Builder chatClientBuilder;
     private final ObjectMapper objectMapper;
+    private final LlmJsonParser llmJsonParser;
     private final com.solventek.silverwind.notifications.NotificationService notificationService;
     private final com.solventek.silverwind.auth.EmployeeRepository employeeRepository;
 
@@ -119,6 +132,8 @@ public class ResumeAnalysisOrchestratorService {
     private static final String ANALYSIS_SYSTEM_PROMPT = """
             You are a specialized Risk & Consistency Analysis AI for Technical Hiring.
             Goal: identify INCONSISTENCIES, RISKS, and AREAS FOR VERIFICATION.
+            DERIVED SIGNALS are computed deterministically from FACTS (gaps, overlaps, tenure,
+            title progression, skill evidence). Treat them as exact; do not recompute them.
 
             OUTPUT: STRICT JSON matching:
             {
@@ -147,7 +162,8 @@ public class ResumeAnalysisOrchestratorService {
     private static final String GENERAL_ANALYSIS_SYSTEM_PROMPT = """
             You are a Resume Audit AI.
             Goal: Analyze the resume for general quality, consistency, and professional presentation.
-            Ignore "Job Fit" as there is no specific job context. Focus on:
+            Ignore "Job Fit" as there is no specific job context.
+            DERIVED SIGNALS are computed deterministically from FACTS; treat them as exact. Focus on:
             1. Timeline Gaps & Overlaps
             2. Skill Inflation (Listing too many tools without context)
             3. Project Credibility (Vague descriptions)
@@ -201,50 +217,60 @@ public class ResumeAnalysisOrchestratorService {
 
     @Transactional
     public ResumeAnalysis analyzeApplication(java.util.UUID applicationId) {
+        return analyzeApplication(applicationId, true);
+    }
+
+    /**
+     * @param notifyAdmins false when the caller sends its own (e.g. bulk summary) notification
+     */
+    @Transactional
+    public ResumeAnalysis analyzeApplication(java.util.UUID applicationId, boolean notifyAdmins) {
         log.info("Starting analysis for application ID: {}", applicationId);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
 
         // Use findByIdWithJob to eagerly fetch Job and avoid
         // LazyInitializationException
         JobApplication application = applicationRepository.findByIdWithJob(applicationId)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
 
-        if (application.getResumeText() == null || application.getResumeText().isBlank()) {
+        String storedResumeText = applicationTextRepository.findResumeTextByApplicationId(applicationId).orElse(null);
+        if (storedResumeText == null || storedResumeText.isBlank()) {
             throw new RuntimeException("No resume text available for analysis.");
         }
 
-        Job job = null;
-        try {
-            if (application.getJob() != null) {
-                job = application.getJob();
-            }
-        } catch (Exception e) {
-            log.warn("Unable to fetch Job context", e);
-        }
+        Job job = application.getJob();
+        String resumeText = normalize(storedResumeText);
 
-        String resumeText = normalize(application.getResumeText());
+        // Stage graph: [facts -> parse -> signals], [rubric] and [job context] are independent
+        // and run concurrently on virtual threads; only scoring waits for all three.
+        CompletableFuture<String> factsStage = CompletableFuture
+                .supplyAsync(() -> timed("extract-facts", () -> extractFacts(resumeText)), aiStageExecutor);
+        CompletableFuture<Map<String, Object>> signalsStage = factsStage
+                .thenApply(factsJson -> timed("parse-facts", () -> tryParseJsonMap(factsJson)))
+                .thenApply(factsMap -> timed("derive-signals",
+                        () -> deriveSignals(job, application, resumeText, factsMap)));
 
-        // PASS A
-        String factsJson = extractFacts(resumeText);
-        Map<String, Object> factsMap = tryParseJsonMap(factsJson);
+        CompletableFuture<String> rubricStage = CompletableFuture
+                .supplyAsync(() -> timed("retrieve-rubric", () -> rubricService.retrieveRubricForJob(job)),
+                        aiStageExecutor);
 
-        // Derived Signals (Simplified for this port)
-        Map<String, Object> derivedSignals = deriveSignals(job, application, resumeText, factsMap);
+        CompletableFuture<String> jobContextStage = CompletableFuture
+                .supplyAsync(() -> timed("job-context", () -> buildJobContext(job)), aiStageExecutor);
 
-        // RAG Query
-        String ragQuery = "Analyze resume for role: " + (job != null ? job.getTitle() : "Unknown");
-        List<Document> rubricDocs = rubricService.retrieveRelevantRubric(ragQuery);
-        String rubricContext = rubricDocs.stream().map(Document::getText).collect(Collectors.joining("\n"));
+        // PASS B (scoring + validated parse, retried once on malformed output)
+        CompletableFuture<AnalysisResultDTO> scoringStage = CompletableFuture
+                .allOf(signalsStage, rubricStage, jobContextStage)
+                .thenApply(ignored -> score(jobContextStage.join(), resumeText, factsStage.join(),
+                        signalsStage.join(), rubricStage.join()));
 
-        // PASS B
-        String analysisJson = score(job, application, resumeText, factsJson, derivedSignals, rubricContext);
+        // Persistence stays on the calling (transactional) thread
+        AnalysisResultDTO dto = awaitStage(scoringStage);
 
         try {
-            AnalysisResultDTO dto = objectMapper.readValue(analysisJson, AnalysisResultDTO.class);
-
             ResumeAnalysis analysis = new ResumeAnalysis();
             analysis.setApplicationId(application.getId());
             analysis.setModel("gemini-pro");
+            analysis.setResumeHash(AnalysisFingerprint.resumeHash(storedResumeText));
+            analysis.setJobHash(AnalysisFingerprint.jobHash(job));
 
             analysis.setOverallRiskScore(dto.getOverallRiskScore());
             analysis.setOverallConsistencyScore(dto.getOverallConsistencyScore());
@@ -256,14 +282,22 @@ public class ResumeAnalysisOrchestratorService {
             analysis.setConfidenceScore(dto.getConfidenceScore());
             analysis.setSummary(dto.getSummary());
 
-            analysis.setRedFlagsJson(objectMapper.writeValueAsString(dto.getRedFlags()));
-            analysis.setEvidenceJson(objectMapper.writeValueAsString(dto.getEvidence()));
-            analysis.setInterviewQuestionsJson(objectMapper.writeValueAsString(dto.getInterviewQuestions()));
+            ResumeAnalysisDetails details = ResumeAnalysisDetails.builder()
+                    .redFlagsJson(objectMapper.writeValueAsString(dto.getRedFlags()))
+                    .evidenceJson(objectMapper.writeValueAsString(dto.getEvidence()))
+                    .interviewQuestionsJson(objectMapper.writeValueAsString(dto.getInterviewQuestions()))
+                    .build();
 
             analysisRepository.findTopByApplicationIdOrderByAnalyzedAtDesc(applicationId)
                     .ifPresent(prev -> analysis.setVersion(prev.getVersion() + 1));
 
             ResumeAnalysis savedAnalysis = analysisRepository.save(analysis);
+            details.setAnalysisId(savedAnalysis.getId());
+            analysisDetailsRepository.save(details);
+
+            if (!notifyAdmins) {
+                return savedAnalysis;
+            }
 
             // Notify relevant users about analysis completion
             try {
@@ -302,7 +336,7 @@ public class ResumeAnalysisOrchestratorService {
             return savedAnalysis;
 
         } catch (JsonProcessingException e) {
-            log.error("AI response parse failed", e);
+            log.error("Failed to serialize analysis result", e);
             throw new RuntimeException("AI Analysis failed", e);
         }
     }
@@ -326,24 +360,27 @@ public class ResumeAnalysisOrchestratorService {
         log.info("Running general candidate analysis");
         ChatClient chatClient = chatClientBuilder.build();
 
-        String userContent = """
-                RESUME TEXT: %s
-                FACTS: %s
-                """.formatted(resumeText, factsJson);
+        Map<String, Object> derivedSignals = signalEngine.compute(tryParseFacts(tryParseJsonMap(factsJson))).toMap();
+
+        String userContent = promptBuilder.build("general-analysis", List.of(
+                ScoringPromptBuilder.Section.fixed("DERIVED SIGNALS", safeToJson(derivedSignals), 100),
+                ScoringPromptBuilder.Section.truncatable("FACTS", factsJson, 80),
+                ScoringPromptBuilder.Section.truncatable("RESUME TEXT",
+                        promptBuilder.dedupeAgainstFacts(resumeText, factsJson), 40)))
+                .userContent();
 
         Prompt prompt = new Prompt(List.of(
                 new SystemMessage(GENERAL_ANALYSIS_SYSTEM_PROMPT),
                 new UserMessage(userContent)));
 
         String raw = chatClient.prompt(prompt).call().content();
-        String json = extractFirstJsonObject(raw);
 
         try {
-            return objectMapper.readValue(json, AnalysisResultDTO.class);
-        } catch (JsonProcessingException e) {
-            log.error("Failed to parse general analysis result", e);
+            return llmJsonParser.parse(raw, AnalysisResultDTO.class);
+        } catch (LlmJsonParser.LlmOutputException e) {
+            log.error("Failed to parse general analysis result: {}", e.getMessage());
             // Return empty/safe default
-            return new AnalysisResultDTO(); 
+            return new AnalysisResultDTO();
         }
     }
 
@@ -354,58 +391,121 @@ public class ResumeAnalysisOrchestratorService {
     private String extractFacts(String resumeText, String systemPrompt) {
         log.debug("Extracting facts from resume text (length: {})", resumeText.length());
         ChatClient chatClient = chatClientBuilder.build();
-        Prompt prompt = new Prompt(List.of(
+        List<Message> messages = List.of(
                 new SystemMessage(systemPrompt),
-                new UserMessage("RESUME TEXT:\n" + resumeText)));
-        String raw = chatClient.prompt(prompt).call().content();
+                new UserMessage("RESUME TEXT:\n" + resumeText));
+        String raw = chatClient.prompt(new Prompt(messages)).call().content();
         log.debug("Fact extraction complete");
-        return extractFirstJsonObject(raw);
+        return parseWithRetry(chatClient, messages, raw, this::parseFactsJson);
+    }
+
+    private String parseFactsJson(String raw) {
+        return llmJsonParser.parseObjectJson(raw);
     }
 
-    private String score(Job job, JobApplication app, String resumeText, String factsJson,
+    private AnalysisResultDTO score(String jobContext, String resumeText, String factsJson,
             Map<String, Object> derivedSignals, String rubricContext) {
-        log.debug("Scoring application against job: {}", job != null ? job.getTitle() : "Unknown");
+        log.debug("Scoring application against job context ({} chars)", jobContext.length());
         ChatClient chatClient = chatClientBuilder.build();
 
-        String userContent = """
-                JOB CONTEXT: %s
-                DERIVED SIGNALS: %s
-                RESUME TEXT: %s
-                FACTS: %s
-                RUBRIC: %s
-                """.formatted(
-                job != null ? job.getTitle() + " " + job.getDescription() : "Unknown",
-                safeToJson(derivedSignals),
-                resumeText,
-                factsJson,
-                rubricContext);
-
-        Prompt prompt = new Prompt(List.of(
+        // Resume text is deduplicated against FACTS and is the first thing cut when over budget
+        String userContent = promptBuilder.build("scoring", List.of(
+                ScoringPromptBuilder.Section.truncatable("JOB CONTEXT", jobContext, 90),
+                ScoringPromptBuilder.Section.fixed("DERIVED SIGNALS", safeToJson(derivedSignals), 100),
+                ScoringPromptBuilder.Section.truncatable("RESUME TEXT",
+                        promptBuilder.dedupeAgainstFacts(resumeText, factsJson), 40),
+                ScoringPromptBuilder.Section.truncatable("FACTS", factsJson, 80),
+                ScoringPromptBuilder.Section.truncatable("RUBRIC", rubricContext, 60)))
+                .userContent();
+
+        List<Message> messages = List.of(
                 new SystemMessage(ANALYSIS_SYSTEM_PROMPT),
-                new UserMessage(userContent)));
+                new UserMessage(userContent));
 
-        String raw = chatClient.prompt(prompt).call().content();
+        String raw = timed("score", () -> chatClient.prompt(new Prompt(messages)).call().content());
         log.debug("Scoring complete");
-        return extractFirstJsonObject(raw);
+        return parseWithRetry(chatClient, messages, raw, this::parseAnalysisResult);
+    }
+
+    private String buildJobContext(Job job) {
+        return job != null ? job.getTitle() + " " + job.getDescription() : "Unknown";
+    }
+
+    /**
+     * Parse stage for Pass B output: JSON extraction, mapping and schema validation.
+     * Throws {@link IllegalArgumentException} with per-field, model-readable reasons on failure.
+     */
+    private AnalysisResultDTO parseAnalysisResult(String raw) {
+        return llmJsonParser.parse(raw, AnalysisResultDTO.class);
+    }
+
+    /**
+     * Runs the parse stage; if the model returned malformed or incomplete JSON, re-prompts once
+     * with the error so it can correct its own output instead of failing the whole analysis.
+     */
+    private <T> T parseWithRetry(ChatClient chatClient, List<Message> messages, String raw,
+            Function<String, T> parser) {
+        try {
+            return timed("parse-result", () -> parser.apply(raw));
+        } catch (IllegalArgumentException first) {
+            log.warn("AI returned unusable JSON ({}), retrying with correction prompt", first.getMessage());
+            meterRegistry.counter("silverwind.ai.analysis.retries").increment();
+
+            List<Message> retry = new ArrayList<>(messages);
+            retry.add(new AssistantMessage(raw == null ? "" : raw));
+            retry.add(new UserMessage("Your previous response could not be used: " + first.getMessage()
+                    + ". Return the corrected result as RAW JSON only, following the schema exactly."));
+            String corrected = timed("retry", () -> chatClient.prompt(new Prompt(retry)).call().content());
+            try {
+                return timed("parse-result", () -> parser.apply(corrected));
+            } catch (IllegalArgumentException second) {
+                throw new RuntimeException("AI Analysis failed: " + second.getMessage(), second);
+            }
+        }
+    }
+
+    private <T> T timed(String stage, Supplier<T> work) {
+        long start = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            long nanos = System.nanoTime() - start;
+            Timer.builder("silverwind.ai.analysis.stage")
+                    .tag("stage", stage)
+                    .register(meterRegistry)
+                    .record(nanos, java.util.concurrent.TimeUnit.NANOSECONDS);
+            log.debug("Analysis stage '{}' took {} ms", stage, nanos / 1_000_000);
+        }
+    }
+
+    private <T> T awaitStage(CompletableFuture<T> stage) {
+        try {
+            return stage.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException("AI Analysis failed", cause);
+        }
     }
 
     private Map<String, Object> deriveSignals(Job job, JobApplication app, String resumeText,
             Map<String, Object> factsMap) {
-        log.trace("Deriving signals from resume text");
-        Map<String, Object> m = new HashMap<>();
+        log.trace("Deriving signals from resume facts");
+        Map<String, Object> m = new LinkedHashMap<>(signalEngine.compute(tryParseFacts(factsMap)).toMap());
         m.put("numbersCount", countRegex(resumeText, "\\d+"));
         return m;
     }
 
-    private String extractFirstJsonObject(String raw) {
-        log.trace("Extracting JSON object from raw AI response");
-        String s = raw == null ? "" : raw.trim();
-        s = s.replaceAll("^```json\\s*", "").replaceAll("^```\\s*", "").replaceAll("\\s*```$", "").trim();
-        int start = s.indexOf('{');
-        int end = s.lastIndexOf('}');
-        if (start >= 0 && end > start)
-            return s.substring(start, end + 1).trim();
-        return s;
+    private com.solventek.silverwind.recruitment.CandidateDTO.ParsedResume tryParseFacts(Map<String, Object> factsMap) {
+        try {
+            return objectMapper.convertValue(factsMap,
+                    com.solventek.silverwind.recruitment.CandidateDTO.ParsedResume.class);
+        } catch (IllegalArgumentException e) {
+            log.warn("Facts JSON does not match the expected schema, signals will be empty: {}", e.getMessage());
+            return null;
+        }
     }
 
     private int countRegex(String text, String regex) {
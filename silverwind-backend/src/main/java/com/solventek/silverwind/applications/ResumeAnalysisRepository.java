@@ -1,9 +1,17 @@
 package com.solventek.silverwind.applications;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface ResumeAnalysisRepository extends JpaRepository<ResumeAnalysis, UUID> {
     Optional<ResumeAnalysis> findTopByApplicationIdOrderByAnalyzedAtDesc(UUID applicationId);
+
+    @Query("SELECT a FROM ResumeAnalysis a WHERE a.applicationId IN :applicationIds AND a.analyzedAt = "
+            + "(SELECT MAX(b.analyzedAt) FROM ResumeAnalysis b WHERE b.applicationId = a.applicationId)")
+    List<ResumeAnalysis> findLatestByApplicationIdIn(Collection<UUID> applicationIds);
 }
@@ -13,10 +13,20 @@ import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Service for ingesting resumes - storing files and extracting text content.
@@ -30,58 +40,107 @@ public class ResumeIngestionService {
 
 
     private final StorageService storageService;
-
-    public record IngestionResult(String filePath, String extractedText) {
-    }
+    private final ExecutorService aiStageExecutor;
+    private final ExtractedDocumentTextRepository extractedTextRepository;
 
     /**
-     * Store a resume file and extract its text content.
-     *
-     * @param file The MultipartFile to ingest
-     * @return IngestionResult containing the storage key and extracted text
+     * @param contentHash SHA-256 (hex) of the uploaded bytes
      */
+    public record IngestionResult(String filePath, String extractedText, String contentHash) {
+    }
+
     /**
      * Store a file and extract its text content.
+     * <p>
+     * The upload is read exactly once into memory (uploads are capped well below a few MB)
+     * while the content hash is computed in the same pass. Storage upload and text
+     * extraction then run concurrently over that single buffer.
      *
      * @param file The MultipartFile to ingest
      * @param customKey Optional custom storage key/path. If null, a default path is generated.
-     * @return IngestionResult containing the storage key and extracted text
+     * @return IngestionResult containing the storage key, extracted text and content hash
      */
     public IngestionResult storeAndExtract(MultipartFile file, String customKey) {
         try {
             log.info("Starting ingestion for file: {}", file.getOriginalFilename());
 
-            String storageKey;
-            
-            if (customKey != null && !customKey.isBlank()) {
-                // Use provided custom key directly
-                storageKey = storageService.uploadWithKey(file, customKey);
-            } else {
-                // Default legacy behavior: generate path in resumes/
-                String originalFilename = file.getOriginalFilename();
-                String extension = "pdf"; 
-                if (originalFilename != null && originalFilename.contains(".")) {
-                    extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1);
-                }
-                String baseName = "resume_" + UUID.randomUUID().toString();
-                String key = "resumes/" + baseName + "." + extension;
-                storageKey = storageService.uploadWithKey(file, key);
-            }
-
-            // Extract text from the file
-            String text = extractText(file.getInputStream(), file.getOriginalFilename());
+            String storageKey = (customKey != null && !customKey.isBlank())
+                    ? customKey
+                    : defaultStorageKey(file.getOriginalFilename());
 
-            log.info("Successfully ingested and extracted text: {}, key: {}",
-                    file.getOriginalFilename(), storageKey);
+            // Single read: buffer + hash
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] content;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest)) {
+                content = in.readAllBytes();
+            }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
 
-            return new IngestionResult(storageKey, text);
+            String filename = file.getOriginalFilename() != null ? file.getOriginalFilename() : storageKey;
+            return store(content, contentHash, storageKey, filename, file.getContentType());
 
-        } catch (IOException e) {
+        } catch (IOException | NoSuchAlgorithmException e) {
             log.error("Failed to ingest file: {}", file.getOriginalFilename(), e);
             throw new RuntimeException("File ingestion failed", e);
         }
     }
 
+    /**
+     * Store and extract an in-memory document (e.g. an entry read from a ZIP import)
+     * under a generated {@code resumes/} key.
+     */
+    public IngestionResult storeAndExtract(byte[] content, String originalFilename, String contentType) {
+        try {
+            log.info("Starting ingestion for file: {}", originalFilename);
+            String storageKey = defaultStorageKey(originalFilename);
+            String contentHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+            return store(content, contentHash, storageKey,
+                    originalFilename != null ? originalFilename : storageKey, contentType);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            log.error("Failed to ingest file: {}", originalFilename, e);
+            throw new RuntimeException("File ingestion failed", e);
+        }
+    }
+
+    private IngestionResult store(byte[] content, String contentHash, String storageKey, String filename,
+            String contentType) throws IOException {
+        // Extract on a virtual thread while the upload runs on this one
+        CompletableFuture<String> extraction = CompletableFuture.supplyAsync(() -> {
+            try {
+                return extractText(content, filename);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, aiStageExecutor);
+
+        String version = storageService.uploadBytes(content, storageKey, contentType);
+        String text = joinExtraction(extraction);
+        cacheText(storageKey, contentHash, version, text);
+
+        log.info("Successfully ingested and extracted text: {}, key: {}", filename, storageKey);
+        return new IngestionResult(storageKey, text, contentHash);
+    }
+
+    // Default legacy behavior: generate path in resumes/
+    private static String defaultStorageKey(String originalFilename) {
+        String extension = "pdf";
+        if (originalFilename != null && originalFilename.contains(".")) {
+            extension = originalFilename.substring(originalFilename.lastIndexOf(".") + 1);
+        }
+        return "resumes/resume_" + UUID.randomUUID() + "." + extension;
+    }
+
+    private String joinExtraction(CompletableFuture<String> extraction) throws IOException {
+        try {
+            return extraction.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException io) {
+                throw io.getCause();
+            }
+            throw e;
+        }
+    }
+
     /**
      * Legacy method for backward compatibility
      */
@@ -91,6 +150,8 @@ public class ResumeIngestionService {
 
     /**
      * Extract text from an existing stored file.
+     * Served from the extracted-text cache when the stored object's version still matches,
+     * so a file is downloaded and parsed at most once per version.
      *
      * @param storageKey The storage key/path of the file
      * @return Extracted text content, or null if extraction fails
@@ -102,23 +163,47 @@ public class ResumeIngestionService {
                 return null;
             }
 
-            if (!storageService.exists(storageKey)) {
+            Optional<String> version = storageService.getVersion(storageKey);
+            if (version.isEmpty()) {
                 log.warn("Resume file not found at key: {}", storageKey);
                 return null;
             }
 
+            Optional<ExtractedDocumentText> cached = extractedTextRepository.findByStorageKey(storageKey);
+            if (cached.isPresent() && version.get().equals(cached.get().getStorageVersion())
+                    && cached.get().getExtractedText() != null) {
+                log.debug("Extracted text cache hit for key: {}", storageKey);
+                return cached.get().getExtractedText();
+            }
+
             Resource resource = storageService.download(storageKey);
-            try (InputStream is = resource.getInputStream()) {
-                String filename = storageKey.substring(storageKey.lastIndexOf('/') + 1);
-                return extractText(is, filename);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] content;
+            try (InputStream is = new DigestInputStream(resource.getInputStream(), digest)) {
+                content = is.readAllBytes();
             }
+            String contentHash = HexFormat.of().formatHex(digest.digest());
+            String filename = storageKey.substring(storageKey.lastIndexOf('/') + 1);
+            String text = extractText(content, filename);
+            cacheText(storageKey, contentHash, version.get(), text);
+            return text;
 
-        } catch (IOException e) {
+        } catch (IOException | NoSuchAlgorithmException e) {
             log.error("Failed to extract text from existing file: {}", storageKey, e);
             return null;
         }
     }
 
+    private void cacheText(String storageKey, String contentHash, String storageVersion, String text) {
+        try {
+            extractedTextRepository.upsert(storageKey, contentHash, storageVersion, text);
+        } catch (Exception e) {
+            // Cache only - never fail ingestion because of it. upsert runs in its own
+            // transaction, so a failure here can't abort the caller's.
+            log.warn("Failed to cache extracted text for key: {}", storageKey, e);
+        }
+    }
+
     public Resource downloadResume(String storageKey) {
         if (storageKey == null || storageKey.isEmpty()) {
             throw new RuntimeException("Storage key is null or empty");
@@ -153,26 +238,29 @@ public class ResumeIngestionService {
      * Move a stored file to a new location.
      */
     public void moveKey(String sourceKey, String destinationKey) {
-        storageService.move(sourceKey, destinationKey);
+        String version = storageService.move(sourceKey, destinationKey);
+        // Carry the cached text over to the new key
+        extractedTextRepository.deleteByStorageKey(destinationKey);
+        extractedTextRepository.moveKey(sourceKey, destinationKey, version);
     }
 
-    private String extractText(InputStream inputStream, String filename) throws IOException {
-        log.debug("Extracting text from file: {}", filename);
+    private String extractText(byte[] content, String filename) throws IOException {
+        log.debug("Extracting text from file: {} ({} bytes)", filename, content.length);
         String lower = filename.toLowerCase();
 
         if (lower.endsWith(".pdf")) {
-            try (PDDocument document = Loader.loadPDF(inputStream.readAllBytes())) {
+            try (PDDocument document = Loader.loadPDF(content)) {
                 PDFTextStripper stripper = new PDFTextStripper();
                 return stripper.getText(document);
             }
         } else if (lower.endsWith(".docx")) {
-            try (XWPFDocument doc = new XWPFDocument(inputStream);
+            try (XWPFDocument doc = new XWPFDocument(new ByteArrayInputStream(content));
                  XWPFWordExtractor extractor = new XWPFWordExtractor(doc)) {
                 return extractor.getText();
             }
         } else {
             // Fallback for text files
-            return new String(inputStream.readAllBytes());
+            return new String(content);
         }
     }
 }
@@ -0,0 +1,338 @@
+package com.solventek.silverwind.applications;
+
+import com.solventek.silverwind.recruitment.CandidateDTO.ParsedExperience;
+import com.solventek.silverwind.recruitment.CandidateDTO.ParsedProject;
+import com.solventek.silverwind.recruitment.CandidateDTO.ParsedResume;
+import com.solventek.silverwind.recruitment.CandidateDTO.ParsedSkill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.regex.Pattern;
+
+/**
+ * Deterministic resume signal engine.
+ * Computes the rubric metrics that don't need a model (timeline gaps, overlapping
+ * full-time jobs, total tenure, title progression and skill evidence) from the
+ * Pass A facts, so Pass B receives them as precomputed inputs.
+ */
+@Component
+@Slf4j
+public class ResumeSignalEngine {
+
+    /** Rubric: "Gaps > 3 months must be explained." */
+    static final int SIGNIFICANT_GAP_MONTHS = 3;
+
+    /** Rubric: "listing 50+ keywords with generic bullets is a MEDIUM risk." */
+    static final int TOOL_SOUP_SKILL_COUNT = 50;
+
+    private static final int MAX_LISTED_ITEMS = 15;
+
+    private static final Pattern YEAR_MONTH = Pattern.compile("^(\\d{4})-(\\d{1,2})");
+    private static final Pattern YEAR_ONLY = Pattern.compile("^(\\d{4})$");
+    private static final Pattern NON_FULL_TIME = Pattern.compile(
+            "\\b(intern|internship|freelanc\\w*|part[- ]?time|contract(or)?|volunteer|trainee)\\b");
+
+    public record Gap(String after, String before, YearMonth from, YearMonth to, int months) {
+    }
+
+    public record Overlap(String first, String second, YearMonth from, YearMonth to, int months) {
+    }
+
+    public record ResumeSignals(
+            int positionsCount,
+            int datedPositionsCount,
+            int totalTenureMonths,
+            int totalGapMonths,
+            int longestGapMonths,
+            int significantGapCount,
+            List<Gap> gaps,
+            int overlapMonths,
+            List<Overlap> overlaps,
+            String titleProgression,
+            int titleRegressions,
+            List<String> titleTrajectory,
+            int skillsListed,
+            int skillsEvidenced,
+            Double skillEvidenceRatio,
+            List<String> unevidencedSkills,
+            int distinctTechnologies,
+            boolean toolSoup) {
+
+        /**
+         * Flattened view used as the "DERIVED SIGNALS" section of the scoring prompt.
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> m = new LinkedHashMap<>();
+            m.put("positionsCount", positionsCount);
+            m.put("datedPositionsCount", datedPositionsCount);
+            m.put("totalTenureMonths", totalTenureMonths);
+            m.put("totalGapMonths", totalGapMonths);
+            m.put("longestGapMonths", longestGapMonths);
+            m.put("gapsOver" + SIGNIFICANT_GAP_MONTHS + "Months", significantGapCount);
+            m.put("gaps", gaps.stream()
+                    .map(g -> g.from() + ".." + g.to() + " (" + g.months() + "m, after " + g.after() + ")")
+                    .toList());
+            m.put("fullTimeOverlapMonths", overlapMonths);
+            m.put("fullTimeOverlaps", overlaps.stream()
+                    .map(o -> o.first() + " & " + o.second() + " " + o.from() + ".." + o.to() + " (" + o.months() + "m)")
+                    .toList());
+            m.put("titleProgression", titleProgression);
+            m.put("titleRegressions", titleRegressions);
+            m.put("titleTrajectory", titleTrajectory);
+            m.put("skillsListed", skillsListed);
+            m.put("skillsEvidencedInExperience", skillsEvidenced);
+            m.put("skillEvidenceRatio", skillEvidenceRatio);
+            m.put("unevidencedSkills", unevidencedSkills);
+            m.put("distinctTechnologiesInExperience", distinctTechnologies);
+            m.put("toolSoup", toolSoup);
+            return m;
+        }
+    }
+
+    private record Position(String label, String company, String title, YearMonth start, YearMonth end,
+            boolean fullTime) {
+    }
+
+    public ResumeSignals compute(ParsedResume facts) {
+        return compute(facts, YearMonth.now());
+    }
+
+    public ResumeSignals compute(ParsedResume facts, YearMonth asOf) {
+        List<ParsedExperience> experience = facts != null && facts.getExperience() != null
+                ? facts.getExperience()
+                : List.of();
+        log.trace("Computing resume signals for {} positions", experience.size());
+
+        List<Position> dated = new ArrayList<>();
+        for (ParsedExperience e : experience) {
+            YearMonth start = parseMonth(e.getStart(), asOf, false);
+            YearMonth end = Boolean.TRUE.equals(e.getIsCurrent()) ? asOf : parseMonth(e.getEnd(), asOf, true);
+            if (start == null || end == null || end.isBefore(start)) {
+                continue;
+            }
+            String title = e.getTitle() != null ? e.getTitle() : "";
+            dated.add(new Position(label(e), normalizeKey(e.getCompany()), title, start, end,
+                    !NON_FULL_TIME.matcher(title.toLowerCase(Locale.ROOT)).find()));
+        }
+        dated.sort(Comparator.comparing(Position::start).thenComparing(Position::end));
+
+        // Timeline: union of employment intervals gives tenure, holes between them give gaps
+        List<Gap> gaps = new ArrayList<>();
+        int tenure = 0;
+        YearMonth unionStart = null;
+        YearMonth unionEnd = null;
+        String unionLast = null;
+        for (Position p : dated) {
+            if (unionEnd == null) {
+                unionStart = p.start();
+                unionEnd = p.end();
+                unionLast = p.label();
+                continue;
+            }
+            if (p.start().isAfter(unionEnd.plusMonths(1))) {
+                tenure += (int) ChronoUnit.MONTHS.between(unionStart, unionEnd) + 1;
+                YearMonth gapFrom = unionEnd.plusMonths(1);
+                YearMonth gapTo = p.start().minusMonths(1);
+                gaps.add(new Gap(unionLast, p.label(), gapFrom, gapTo,
+                        (int) ChronoUnit.MONTHS.between(gapFrom, gapTo) + 1));
+                unionStart = p.start();
+                unionEnd = p.end();
+                unionLast = p.label();
+            } else if (p.end().isAfter(unionEnd)) {
+                unionEnd = p.end();
+                unionLast = p.label();
+            }
+        }
+        if (unionEnd != null) {
+            tenure += (int) ChronoUnit.MONTHS.between(unionStart, unionEnd) + 1;
+        }
+
+        // Overlaps: concurrent full-time roles at different employers. Pairs are listed
+        // individually, but a month shared by three roles is counted once in the total.
+        List<Overlap> overlaps = new ArrayList<>();
+        Set<YearMonth> overlappedMonths = new HashSet<>();
+        for (int i = 0; i < dated.size(); i++) {
+            Position a = dated.get(i);
+            if (!a.fullTime()) {
+                continue;
+            }
+            for (int j = i + 1; j < dated.size(); j++) {
+                Position b = dated.get(j);
+                if (b.start().isAfter(a.end())) {
+                    break;
+                }
+                if (!b.fullTime() || (!a.company().isEmpty() && a.company().equals(b.company()))) {
+                    continue;
+                }
+                YearMonth from = b.start();
+                YearMonth to = a.end().isBefore(b.end()) ? a.end() : b.end();
+                int months = (int) ChronoUnit.MONTHS.between(from, to) + 1;
+                // A single shared month is usually a notice-period handover, not dual employment
+                if (months > 1) {
+                    overlaps.add(new Overlap(a.label(), b.label(), from, to, months));
+                    for (YearMonth m = from; !m.isAfter(to); m = m.plusMonths(1)) {
+                        overlappedMonths.add(m);
+                    }
+                }
+            }
+        }
+
+        // Title progression in chronological order
+        List<String> trajectory = new ArrayList<>();
+        int regressions = 0;
+        Integer firstLevel = null;
+        Integer previousLevel = null;
+        for (Position p : dated) {
+            if (p.title().isBlank()) {
+                continue;
+            }
+            int level = seniorityLevel(p.title());
+            trajectory.add(p.title() + " [L" + level + "]");
+            if (firstLevel == null) {
+                firstLevel = level;
+            }
+            if (previousLevel != null && level < previousLevel) {
+                regressions++;
+            }
+            previousLevel = level;
+        }
+        String progression;
+        if (trajectory.size() < 2) {
+            progression = "INSUFFICIENT_DATA";
+        } else if (regressions == 0) {
+            progression = previousLevel > firstLevel ? "ASCENDING" : "FLAT";
+        } else {
+            progression = previousLevel > firstLevel ? "MIXED" : "DESCENDING";
+        }
+
+        // Skills: listed vs evidenced in experience/projects
+        Set<String> technologies = new LinkedHashSet<>();
+        StringBuilder corpus = new StringBuilder();
+        for (ParsedExperience e : experience) {
+            addAll(technologies, e.getTechnologies());
+            if (e.getDescription() != null) {
+                corpus.append(' ').append(e.getDescription().toLowerCase(Locale.ROOT));
+            }
+        }
+        if (facts != null && facts.getProjects() != null) {
+            for (ParsedProject project : facts.getProjects()) {
+                addAll(technologies, project.getStack());
+            }
+        }
+        technologies.forEach(t -> corpus.append(' ').append(t));
+        String evidenceText = " " + corpus.toString().replaceAll("[^a-z0-9+#.]+", " ") + " ";
+
+        Set<String> listed = new LinkedHashSet<>();
+        if (facts != null && facts.getSkills() != null) {
+            for (ParsedSkill s : facts.getSkills()) {
+                String key = normalizeKey(s.getName());
+                if (!key.isEmpty()) {
+                    listed.add(key);
+                }
+            }
+        }
+        List<String> unevidenced = new ArrayList<>();
+        int evidenced = 0;
+        for (String skill : listed) {
+            String token = " " + skill.replaceAll("[^a-z0-9+#.]+", " ").trim() + " ";
+            if (technologies.contains(skill) || evidenceText.contains(token)) {
+                evidenced++;
+            } else {
+                unevidenced.add(skill);
+            }
+        }
+        Double ratio = listed.isEmpty() ? null : Math.round(evidenced * 100.0 / listed.size()) / 100.0;
+
+        return new ResumeSignals(
+                experience.size(),
+                dated.size(),
+                tenure,
+                gaps.stream().mapToInt(Gap::months).sum(),
+                gaps.stream().mapToInt(Gap::months).max().orElse(0),
+                (int) gaps.stream().filter(g -> g.months() > SIGNIFICANT_GAP_MONTHS).count(),
+                gaps,
+                overlappedMonths.size(),
+                overlaps,
+                progression,
+                regressions,
+                trajectory,
+                listed.size(),
+                evidenced,
+                ratio,
+                unevidenced.stream().limit(MAX_LISTED_ITEMS).toList(),
+                technologies.size(),
+                listed.size() >= TOOL_SOUP_SKILL_COUNT && ratio != null && ratio < 0.5);
+    }
+
+    /**
+     * Rough seniority ladder: 0 intern, 1 junior, 2 mid, 3 senior, 4 lead,
+     * 5 staff/principal/architect/manager, 6 director/head/VP, 7 C-level.
+     */
+    static int seniorityLevel(String title) {
+        String t = " " + title.toLowerCase(Locale.ROOT).replaceAll("[^a-z]+", " ") + " ";
+        if (t.matches(".* (cto|ceo|cio|coo|chief) .*"))
+            return 7;
+        if (t.matches(".* (director|head|vp|vice president) .*"))
+            return 6;
+        if (t.matches(".* (principal|staff|architect|manager) .*"))
+            return 5;
+        if (t.matches(".* (lead|tech lead|team lead) .*"))
+            return 4;
+        if (t.matches(".* (senior|sr|iii) .*"))
+            return 3;
+        if (t.matches(".* (intern|internship|apprentice) .*"))
+            return 0;
+        if (t.matches(".* (junior|jr|associate|trainee|graduate|entry) .*"))
+            return 1;
+        return 2;
+    }
+
+    private static YearMonth parseMonth(String value, YearMonth asOf, boolean endOfPeriod) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String v = value.trim();
+        String lower = v.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("present") || lower.startsWith("current") || lower.equals("now")) {
+            return asOf;
+        }
+        try {
+            var ym = YEAR_MONTH.matcher(v);
+            if (ym.find()) {
+                int month = Integer.parseInt(ym.group(2));
+                return month >= 1 && month <= 12 ? YearMonth.of(Integer.parseInt(ym.group(1)), month) : null;
+            }
+            var y = YEAR_ONLY.matcher(v);
+            if (y.find()) {
+                return YearMonth.of(Integer.parseInt(y.group(1)), endOfPeriod ? 12 : 1);
+            }
+        } catch (RuntimeException e) {
+            log.trace("Unparseable resume date: {}", v);
+        }
+        return null;
+    }
+
+    private static void addAll(Set<String> target, List<String> values) {
+        if (values == null) {
+            return;
+        }
+        for (String v : values) {
+            String key = normalizeKey(v);
+            if (!key.isEmpty()) {
+                target.add(key);
+            }
+        }
+    }
+
+    private static String normalizeKey(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private static String label(ParsedExperience e) {
+        String title = e.getTitle() != null ? e.getTitle() : "Unknown role";
+        return e.getCompany() != null ? title + " @ " + e.getCompany() : title;
+    }
+}
@@ -0,0 +1,213 @@
+package com.solventek.silverwind.applications;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.config.AnalysisProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Assembles the user content of AI scoring prompts under a token budget.
+ * Each section carries a value priority; when the estimated size exceeds
+ * {@link AnalysisProperties#getPromptMaxInputTokens()} the lowest-value sections are
+ * truncated first. Resume text is deduplicated against the facts JSON so content the
+ * model already receives in structured form isn't sent twice.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ScoringPromptBuilder {
+
+    private final AnalysisProperties properties;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * One labelled block of the prompt. Higher priority = more valuable = truncated last.
+     */
+    public record Section(String name, String content, int priority, boolean truncatable) {
+
+        public static Section fixed(String name, String content, int priority) {
+            return new Section(name, content, priority, false);
+        }
+
+        public static Section truncatable(String name, String content, int priority) {
+            return new Section(name, content, priority, true);
+        }
+    }
+
+    public record AssembledPrompt(String userContent, int estimatedTokens, Map<String, Integer> tokensPerSection,
+            List<String> truncatedSections) {
+    }
+
+    public AssembledPrompt build(String call, List<Section> sections) {
+        int budget = properties.getPromptMaxInputTokens();
+
+        // Keep caller order for output, but truncate in ascending value order
+        List<String> contents = new ArrayList<>();
+        for (Section s : sections) {
+            contents.add(s.content() == null ? "" : s.content());
+        }
+        int total = 0;
+        for (String c : contents) {
+            total += estimateTokens(c);
+        }
+
+        List<String> truncated = new ArrayList<>();
+        if (total > budget) {
+            List<Integer> order = new ArrayList<>();
+            for (int i = 0; i < sections.size(); i++) {
+                if (sections.get(i).truncatable()) {
+                    order.add(i);
+                }
+            }
+            order.sort(Comparator.comparingInt(i -> sections.get(i).priority()));
+
+            for (int i : order) {
+                if (total <= budget) {
+                    break;
+                }
+                String content = contents.get(i);
+                int tokens = estimateTokens(content);
+                int keepTokens = Math.max(0, tokens - (total - budget));
+                String shortened = truncate(content, keepTokens);
+                contents.set(i, shortened);
+                total = total - tokens + estimateTokens(shortened);
+                truncated.add(sections.get(i).name());
+            }
+        }
+
+        StringBuilder sb = new StringBuilder();
+        Map<String, Integer> perSection = new LinkedHashMap<>();
+        for (int i = 0; i < sections.size(); i++) {
+            String name = sections.get(i).name();
+            sb.append(name).append(": ").append(contents.get(i)).append('\n');
+            perSection.put(name, estimateTokens(contents.get(i)));
+        }
+        String userContent = sb.toString();
+        int estimated = estimateTokens(userContent);
+
+        DistributionSummary.builder("silverwind.ai.prompt.tokens")
+                .description("Estimated input tokens per AI prompt")
+                .baseUnit("tokens")
+                .tag("call", call)
+                .register(meterRegistry)
+                .record(estimated);
+        if (!truncated.isEmpty()) {
+            meterRegistry.counter("silverwind.ai.prompt.truncations", "call", call).increment();
+            log.info("Prompt '{}' exceeded budget of {} tokens, truncated: {}", call, budget, truncated);
+        }
+        log.debug("Prompt '{}' assembled: ~{} tokens {}", call, estimated, perSection);
+
+        return new AssembledPrompt(userContent, estimated, perSection, truncated);
+    }
+
+    public int estimateTokens(String text) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        return (int) Math.ceil(text.length() / properties.getCharsPerToken());
+    }
+
+    /**
+     * Drop resume lines whose content is already represented in the facts JSON
+     * (contact details, skill lists, company/title/date headers), keeping narrative
+     * lines the model can still use as evidence.
+     */
+    public String dedupeAgainstFacts(String resumeText, String factsJson) {
+        if (resumeText == null || resumeText.isBlank()) {
+            return "";
+        }
+        Set<String> factValues = new HashSet<>();
+        Set<String> factTokens = new HashSet<>();
+        collectFactStrings(factsJson, factValues, factTokens);
+
+        StringBuilder out = new StringBuilder();
+        String previous = null;
+        for (String rawLine : resumeText.split("\\R")) {
+            String line = rawLine.strip();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String normalized = normalize(line);
+            if (normalized.isEmpty() || normalized.equals(previous)) {
+                continue;
+            }
+            previous = normalized;
+            if (factValues.contains(normalized) || coveredByTokens(normalized, factTokens)) {
+                continue;
+            }
+            out.append(line).append('\n');
+        }
+        return out.toString().strip();
+    }
+
+    private boolean coveredByTokens(String normalizedLine, Set<String> factTokens) {
+        if (factTokens.isEmpty()) {
+            return false;
+        }
+        String[] tokens = normalizedLine.split(" ");
+        int meaningful = 0;
+        for (String t : tokens) {
+            if (t.length() < 2) {
+                continue;
+            }
+            meaningful++;
+            if (!factTokens.contains(t)) {
+                return false;
+            }
+        }
+        return meaningful > 0;
+    }
+
+    private void collectFactStrings(String factsJson, Set<String> values, Set<String> tokens) {
+        if (factsJson == null || factsJson.isBlank()) {
+            return;
+        }
+        try {
+            Deque<JsonNode> stack = new ArrayDeque<>();
+            stack.push(objectMapper.readTree(factsJson));
+            while (!stack.isEmpty()) {
+                JsonNode node = stack.pop();
+                if (node == null) {
+                    continue;
+                }
+                if (node.isContainerNode()) {
+                    node.forEach(stack::push);
+                } else if (node.isValueNode() && !node.isNull()) {
+                    String normalized = normalize(node.asText());
+                    if (!normalized.isEmpty()) {
+                        values.add(normalized);
+                        tokens.addAll(Arrays.asList(normalized.split(" ")));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.debug("Facts JSON not parseable for prompt dedupe: {}", e.getMessage());
+        }
+    }
+
+    private static String normalize(String s) {
+        return s.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}+#@.]+", " ")
+                .replaceAll("(?<!\\S)[.]+|[.]+(?!\\S)", " ")
+                .trim()
+                .replaceAll("\\s+", " ");
+    }
+
+    private String truncate(String content, int keepTokens) {
+        if (keepTokens <= 0) {
+            return "[omitted to fit prompt budget]";
+        }
+        int keepChars = (int) (keepTokens * properties.getCharsPerToken());
+        if (keepChars >= content.length()) {
+            return content;
+        }
+        return content.substring(0, keepChars) + " …[truncated]";
+    }
+}
@@ -1,21 +1,44 @@
 package com.solventek.silverwind.applications.dtos;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 import java.util.List;
 import java.util.Map;
 
 @Data
 public class AnalysisResultDTO {
+    @NotNull
+    @Min(0)
+    @Max(100)
     private Integer overallRiskScore;
+    @NotNull
+    @Min(0)
+    @Max(100)
     private Integer overallConsistencyScore;
+    @Min(0)
+    @Max(100)
     private Integer verificationPriorityScore;
 
+    @Min(0)
+    @Max(100)
     private Integer timelineRiskScore;
+    @Min(0)
+    @Max(100)
     private Integer skillInflationRiskScore;
+    @Min(0)
+    @Max(100)
     private Integer projectCredibilityRiskScore;
+    @Min(0)
+    @Max(100)
     private Integer authorshipRiskScore;
+    @Min(0)
+    @Max(100)
     private Integer confidenceScore;
 
+    @NotBlank
     private String summary;
     private List<RedFlag> redFlags;
     private List<Evidence> evidence;
@@ -74,6 +74,7 @@ public class RagService {
                 SearchRequest.builder()
                         .query(question)
                         .topK(VECTOR_TOPK)
+                        .filterExpression("source == '" + SOURCE + "'")
                         .build());
 
         // chunkId -> vector rank score (simple decreasing score by rank)
@@ -164,6 +165,7 @@ public class RagService {
                 SearchRequest.builder()
                         .query(question)
                         .topK(VECTOR_TOPK)
+                        .filterExpression("source == '" + SOURCE + "'")
                         .build());
 
         // 2) Keyword candidates
@@ -1,5 +1,7 @@
 package com.solventek.silverwind.chat;
 
+import com.solventek.silverwind.applications.HiringRubricService;
+import com.solventek.silverwind.matching.MatchingService;
 import com.solventek.silverwind.org.HandbookService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -12,7 +14,8 @@ import org.springframework.jdbc.core.JdbcTemplate;
 public class VectorStoreConfig {
 
     @Bean
-    CommandLineRunner initVectorStore(JdbcTemplate jdbcTemplate, HandbookService handbookService) {
+    CommandLineRunner initVectorStore(JdbcTemplate jdbcTemplate, HandbookService handbookService,
+            HiringRubricService hiringRubricService, MatchingService matchingService) {
         return args -> {
             try {
                 jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS vector");
@@ -21,6 +24,12 @@ public class VectorStoreConfig {
                 // Delegate handbook initialization to the service
                 handbookService.initDefaultIfMissing();
 
+                // Role-family hiring rubric sections used by resume scoring
+                hiringRubricService.indexIfMissing();
+
+                // ANN indexes for candidate/job matching
+                matchingService.ensureIndexes();
+
             } catch (Exception e) {
                 log.error("VectorStore init failed: {}", e.getMessage(), e);
             }
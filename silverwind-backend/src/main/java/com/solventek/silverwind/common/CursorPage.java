@@ -0,0 +1,75 @@
+package com.solventek.silverwind.common;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset (cursor) paginated list ordered by {@code created_at DESC, id DESC}.
+ * <p>
+ * Unlike offset paging, fetching the next page costs the same at any depth: the query seeks
+ * straight to the row after {@code nextCursor} in the index instead of skipping the rows
+ * before it, and no total count is computed.
+ *
+ * @param items      rows of this page
+ * @param nextCursor opaque cursor for the following page, or null on the last page
+ * @param hasMore    whether another page follows
+ */
+public record CursorPage<T>(List<T> items, String nextCursor, boolean hasMore) {
+
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    /**
+     * Position of the last row returned; the next page starts strictly after it.
+     */
+    public record Cursor(LocalDateTime createdAt, UUID id) {
+
+        public String encode() {
+            String raw = createdAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * @return the decoded cursor, or null for a null/blank value (first page)
+         * @throws IllegalArgumentException if the value was not produced by {@link #encode()}
+         */
+        public static Cursor decode(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new Cursor(LocalDateTime.parse(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+    }
+
+    /**
+     * Page size clamped to [1, {@link #MAX_SIZE}].
+     */
+    public static int clampSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    /**
+     * Build a page from {@code rows} fetched with a limit of {@code size + 1}: the extra row
+     * only signals that another page exists and is not returned.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        boolean hasMore = rows.size() > size;
+        List<T> items = hasMore ? List.copyOf(rows.subList(0, size)) : rows;
+        String next = hasMore ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, next, hasMore);
+    }
+}
@@ -0,0 +1,162 @@
+package com.solventek.silverwind.common;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintenance for tables range-partitioned by month on {@code created_at}.
+ * <p>
+ * Partitions follow the {@code <table>_pYYYYMM} naming used by the
+ * {@code ensure_monthly_partitions} database function. Old months are detached and then
+ * dropped or moved to the {@code archive} schema, which is a catalog operation: no rows are
+ * deleted and nothing is left behind for vacuum.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionManager {
+
+    private static final Pattern TABLE_NAME = Pattern.compile("[a-z_][a-z0-9_]*");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+    private static final String ARCHIVE_SCHEMA = "archive";
+    // Detaching locks the parent; give up rather than queue behind long-running queries
+    private static final String LOCK_TIMEOUT = "5s";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public enum RetentionMode {
+        /** Drop expired partitions. */
+        DROP,
+        /** Detach expired partitions and keep them in the {@code archive} schema. */
+        ARCHIVE
+    }
+
+    public record Partition(String name, YearMonth month) {
+    }
+
+    /**
+     * Make sure partitions exist from the current month through {@code monthsAhead} months ahead.
+     *
+     * @return number of partitions created
+     */
+    public int ensureMonthlyPartitions(String table, int monthsAhead) {
+        checkName(table);
+        YearMonth now = YearMonth.now();
+        Integer created = jdbcTemplate.queryForObject("SELECT ensure_monthly_partitions(?, ?, ?)", Integer.class,
+                table, Date.valueOf(now.atDay(1)), Date.valueOf(now.plusMonths(monthsAhead).atDay(1)));
+        if (created != null && created > 0) {
+            log.info("Created {} monthly partition(s) for {}", created, table);
+        }
+        return created != null ? created : 0;
+    }
+
+    /**
+     * Monthly partitions currently attached to {@code table}, oldest first. The default
+     * partition is not included.
+     */
+    public List<Partition> listMonthlyPartitions(String table) {
+        checkName(table);
+        Pattern name = Pattern.compile(Pattern.quote(table) + "_p(\\d{6})");
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query("""
+                SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid
+                WHERE i.inhparent = to_regclass(?)
+                ORDER BY c.relname
+                """, rs -> {
+            Matcher m = name.matcher(rs.getString(1));
+            if (m.matches()) {
+                partitions.add(new Partition(m.group(0), YearMonth.parse(m.group(1), SUFFIX)));
+            }
+        }, table);
+        return partitions;
+    }
+
+    /**
+     * Detach every monthly partition of {@code table} that lies entirely before
+     * {@code keepFrom}, then drop or archive it.
+     *
+     * @return names of the partitions removed
+     */
+    public List<String> retireBefore(String table, YearMonth keepFrom, RetentionMode mode) {
+        List<String> retired = new ArrayList<>();
+        for (Partition p : listMonthlyPartitions(table)) {
+            if (!p.month().isBefore(keepFrom)) {
+                continue;
+            }
+            try {
+                detach(table, p.name(), mode);
+                retired.add(p.name());
+                log.info("{} partition {} of {}", mode == RetentionMode.DROP ? "Dropped" : "Archived", p.name(), table);
+            } catch (Exception e) {
+                log.warn("Could not retire partition {} of {}: {}", p.name(), table, e.getMessage());
+            }
+        }
+        return retired;
+    }
+
+    /**
+     * Summarize block ranges not yet covered by a partitioned BRIN index, on every partition.
+     * Complements {@code autosummarize}, whose requests can be skipped when autovacuum is busy.
+     *
+     * @return number of block ranges summarized
+     */
+    public int summarizeBrin(String parentIndex) {
+        checkName(parentIndex);
+        Integer summarized = jdbcTemplate.queryForObject("""
+                SELECT coalesce(sum(brin_summarize_new_values(i.inhrelid)), 0)::int
+                FROM pg_inherits i
+                WHERE i.inhparent = to_regclass(?)
+                """, Integer.class, parentIndex);
+        return summarized != null ? summarized : 0;
+    }
+
+    /**
+     * First month to keep when retaining the current month plus {@code months} full months.
+     */
+    public static YearMonth keepFrom(int months) {
+        return YearMonth.from(LocalDate.now()).minusMonths(months);
+    }
+
+    private void detach(String table, String partition, RetentionMode mode) {
+        // One transaction, so a partition is never left detached but still present
+        jdbcTemplate.execute((ConnectionCallback<Void>) conn -> {
+            boolean autoCommit = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement()) {
+                st.execute("SET LOCAL lock_timeout = '" + LOCK_TIMEOUT + "'");
+                st.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+                if (mode == RetentionMode.DROP) {
+                    st.execute("DROP TABLE " + partition);
+                } else {
+                    st.execute("ALTER TABLE " + partition + " SET SCHEMA " + ARCHIVE_SCHEMA);
+                }
+                conn.commit();
+            } catch (Exception e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(autoCommit);
+            }
+            return null;
+        });
+    }
+
+    private static void checkName(String table) {
+        if (table == null || !TABLE_NAME.matcher(table).matches()) {
+            throw new IllegalArgumentException("Invalid table name: " + table);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.solventek.silverwind.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tuning knobs for the resume analysis pipeline (prompt budget etc.).
+ */
+@Component
+@ConfigurationProperties(prefix = "app.analysis")
+@Data
+public class AnalysisProperties {
+
+    /**
+     * Upper bound on estimated input tokens for a single scoring prompt (user content only).
+     * Lowest-value sections are truncated first when a prompt exceeds it.
+     */
+    private int promptMaxInputTokens = 12000;
+
+    /**
+     * Characters-per-token ratio used for estimation. 4 is a good average for English prose and JSON.
+     */
+    private double charsPerToken = 4.0;
+
+    /**
+     * Maximum analyses in flight for one bulk re-analysis batch. Each holds a DB connection
+     * for the duration of its AI calls, so keep this well below the Hikari pool size.
+     */
+    private int bulkMaxConcurrency = 3;
+
+    /**
+     * Resume parses (AI extraction + general analysis) in flight across all bulk imports.
+     * Uploads and text extraction are not limited by this.
+     */
+    private int importMaxConcurrentParses = 3;
+
+    /**
+     * Maximum resumes accepted from one ZIP import.
+     */
+    private int importMaxFiles = 500;
+}
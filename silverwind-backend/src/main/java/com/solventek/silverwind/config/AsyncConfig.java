@@ -10,6 +10,8 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.lang.reflect.Method;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadPoolExecutor;
 
 /**
@@ -50,6 +52,19 @@ public class AsyncConfig implements AsyncConfigurer {
         return executor;
     }
 
+    /**
+     * Virtual-thread executor for short blocking stages: the independent steps inside
+     * a single analysis (fact extraction, rubric retrieval, job context) and the
+     * concurrent upload/extract halves of resume ingestion. Stages spend nearly all
+     * their time blocked on AI, vector or storage calls, so one virtual thread per
+     * stage is cheaper than sizing another platform pool.
+     */
+    @Bean(name = "aiStageExecutor", destroyMethod = "close")
+    public ExecutorService aiStageExecutor() {
+        log.info("AI stage executor initialized on virtual threads");
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ai-stage-", 0).factory());
+    }
+
     /**
      * Default async executor for other async tasks.
      */
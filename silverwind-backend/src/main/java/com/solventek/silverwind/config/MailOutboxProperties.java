@@ -0,0 +1,66 @@
+package com.solventek.silverwind.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Delivery settings for the email outbox.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.mail.outbox")
+@Data
+public class MailOutboxProperties {
+
+    /**
+     * Sender address for all outgoing mail.
+     */
+    private String from = "hr.alerts@solventek.com";
+
+    /**
+     * Messages claimed and sent over one SMTP connection per dispatch round.
+     */
+    private int batchSize = 50;
+
+    /**
+     * Delay between dispatch ticks.
+     */
+    private Duration pollInterval = Duration.ofSeconds(2);
+
+    /**
+     * Delivery attempts before a message is marked FAILED.
+     */
+    private int maxAttempts = 6;
+
+    /**
+     * Delay before the first retry; doubles per attempt up to {@link #maxBackoff}.
+     */
+    private Duration initialBackoff = Duration.ofSeconds(30);
+
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * Maximum messages delivered to one address per {@link #recipientWindow}. Excess messages
+     * wait for the window to roll over rather than failing.
+     */
+    private int recipientLimit = 30;
+
+    private Duration recipientWindow = Duration.ofHours(1);
+
+    /**
+     * A SENDING claim older than this is assumed abandoned (e.g. node restart) and re-sent.
+     */
+    private Duration claimTimeout = Duration.ofMinutes(10);
+
+    /**
+     * SENT messages are deleted this long after delivery.
+     */
+    private Duration sentRetention = Duration.ofDays(30);
+
+    /**
+     * FAILED messages are kept longer, for investigating delivery problems.
+     */
+    private Duration failedRetention = Duration.ofDays(90);
+}
@@ -0,0 +1,76 @@
+package com.solventek.silverwind.config;
+
+import com.solventek.silverwind.common.PartitionManager.RetentionMode;
+import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notification coalescing, digest and retention settings.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.notifications")
+@Data
+public class NotificationProperties {
+
+    /**
+     * After a notification is delivered, further ones with the same recipient, category and
+     * reference type within this window are merged into one summary notification.
+     * Zero disables coalescing.
+     */
+    private Duration coalesceWindow = Duration.ofSeconds(60);
+
+    /**
+     * Categories eligible for coalescing. High-churn admin feeds only; one-off personal
+     * notifications (payslips, role changes) are always delivered individually.
+     */
+    private Set<NotificationCategory> coalesceCategories = EnumSet.of(
+            NotificationCategory.APPLICATION,
+            NotificationCategory.ANALYSIS,
+            NotificationCategory.TICKET,
+            NotificationCategory.LEAVE,
+            NotificationCategory.TRACKING);
+
+    /**
+     * Most recent notifications listed in one daily digest email.
+     */
+    private int digestMaxItems = 50;
+
+    /**
+     * Monthly partitions kept in place ahead of the current month.
+     */
+    private int partitionMonthsAhead = 3;
+
+    /**
+     * Full months of notifications kept besides the current one; older monthly partitions
+     * are removed whole, read or not.
+     */
+    private int retentionMonths = 12;
+
+    /**
+     * Whether expired partitions are dropped or moved to the {@code archive} schema.
+     */
+    private RetentionMode retentionMode = RetentionMode.DROP;
+
+    /**
+     * How long a notification is kept after it was read, per category. Categories not listed
+     * use {@link #readExpiryDefault}.
+     */
+    private Map<NotificationCategory, Duration> readExpiry = new EnumMap<>(Map.of(
+            NotificationCategory.SYSTEM, Duration.ofDays(30),
+            NotificationCategory.ANALYSIS, Duration.ofDays(30),
+            NotificationCategory.TRACKING, Duration.ofDays(30)));
+
+    /**
+     * Read expiry for categories without their own entry. Zero keeps read notifications until
+     * their partition is retired.
+     */
+    private Duration readExpiryDefault = Duration.ofDays(90);
+}
@@ -0,0 +1,13 @@
+package com.solventek.silverwind.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} jobs (stream heartbeats and other periodic maintenance).
+ * They run on Spring Boot's auto-configured scheduler, separate from the async executors.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
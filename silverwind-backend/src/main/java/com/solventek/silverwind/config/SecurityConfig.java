@@ -35,6 +35,8 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches of already-authorized streaming responses (SSE)
+                        .dispatcherTypeMatchers(jakarta.servlet.DispatcherType.ASYNC).permitAll()
 
                         .requestMatchers("/api/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/api/public/**", "/actuator/**", "/api/files/**", "/api/tracking/**").permitAll()
                         .requestMatchers(org.springframework.http.HttpMethod.GET, "/api/organizations/*/logo")
@@ -0,0 +1,58 @@
+package com.solventek.silverwind.config;
+
+import com.solventek.silverwind.common.PartitionManager.RetentionMode;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Buffered timeline (audit) writer and partition maintenance settings.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.timeline")
+@Data
+public class TimelineProperties {
+
+    /**
+     * Events held in memory waiting to be written. When full, new events spill to disk.
+     */
+    private int bufferCapacity = 10_000;
+
+    /**
+     * Most events written by one multi-row INSERT.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Longest an event waits in the buffer before a partial batch is flushed.
+     */
+    private Duration flushInterval = Duration.ofMillis(20);
+
+    /**
+     * Directory for events that did not fit in the buffer or could not be written; replayed
+     * once the database accepts writes again (and on startup).
+     */
+    private String spillDir = System.getProperty("java.io.tmpdir") + "/silverwind-timeline";
+
+    /**
+     * Upper bound on the spill file; beyond it events are dropped and logged.
+     */
+    private long maxSpillBytes = 256L * 1024 * 1024;
+
+    /**
+     * Monthly partitions kept in place ahead of the current month.
+     */
+    private int partitionMonthsAhead = 3;
+
+    /**
+     * Full months of audit history kept besides the current one. Zero keeps everything.
+     */
+    private int retentionMonths = 0;
+
+    /**
+     * Whether expired partitions are dropped or moved to the {@code archive} schema.
+     */
+    private RetentionMode retentionMode = RetentionMode.ARCHIVE;
+}
@@ -0,0 +1,43 @@
+package com.solventek.silverwind.dedup;
+
+import com.solventek.silverwind.common.ApiResponse;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Review of near-duplicate resumes flagged at ingestion.
+ */
+@RestController
+@RequestMapping("/api/duplicates")
+@RequiredArgsConstructor
+public class DuplicateController {
+
+    private final DuplicateDetectionService duplicateDetectionService;
+
+    @GetMapping("/clusters")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA')")
+    public ResponseEntity<ApiResponse<List<DuplicateDetectionService.DuplicateCluster>>> getClusters(
+            @RequestParam(defaultValue = "PENDING") String status,
+            @RequestParam(required = false) UUID organizationId) {
+        return ResponseEntity.ok(ApiResponse.success(duplicateDetectionService.getClusters(status, organizationId)));
+    }
+
+    @PatchMapping("/flags/{flagId}")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA')")
+    public ResponseEntity<ApiResponse<Void>> reviewFlag(@PathVariable UUID flagId,
+            @RequestBody ReviewRequest request) {
+        duplicateDetectionService.reviewFlag(flagId, request.getStatus());
+        return ResponseEntity.ok(ApiResponse.success("Duplicate flag updated", null));
+    }
+
+    @Data
+    public static class ReviewRequest {
+        private String status;
+    }
+}
@@ -0,0 +1,324 @@
+package com.solventek.silverwind.dedup;
+
+import com.solventek.silverwind.common.AfterCommit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Near-duplicate detection for resumes across candidates and job applications.
+ * <p>
+ * Each ingested resume gets a {@link MinHashSignature}; its 32 LSH band keys go into
+ * {@code resume_lsh_bands}. A new resume is compared only against entities sharing a band
+ * (one indexed lookup per band, independent of total volume), and pairs whose estimated
+ * Jaccard similarity reaches {@link #FLAG_THRESHOLD} are recorded in
+ * {@code resume_duplicate_flags} for review.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DuplicateDetectionService {
+
+    public static final String CANDIDATE = "CANDIDATE";
+    public static final String APPLICATION = "APPLICATION";
+
+    static final double FLAG_THRESHOLD = 0.8;
+    private static final int MIN_SHINGLES = 20;
+    // Guards against pathological buckets (e.g. boilerplate templates) dominating a lookup
+    private static final int MAX_BUCKET_MATCHES = 200;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationContext applicationContext;
+
+    public record ClusterMember(String entityType, UUID entityId, String firstName, String lastName, String email,
+            UUID organizationId) {
+    }
+
+    public record DuplicateFlag(UUID id, String entityType, UUID entityId, String duplicateEntityType,
+            UUID duplicateEntityId, double similarity, String status, LocalDateTime createdAt) {
+    }
+
+    public record DuplicateCluster(List<ClusterMember> members, List<DuplicateFlag> flags, double maxSimilarity) {
+    }
+
+    private record EntityRef(String type, UUID id) {
+    }
+
+    public void registerCandidateAfterCommit(UUID candidateId, String resumeText) {
+        AfterCommit.run(() -> self().register(CANDIDATE, candidateId, resumeText));
+    }
+
+    public void registerApplicationAfterCommit(UUID applicationId, String resumeText) {
+        AfterCommit.run(() -> self().register(APPLICATION, applicationId, resumeText));
+    }
+
+    public void removeAfterCommit(String entityType, UUID entityId) {
+        AfterCommit.run(() -> self().remove(entityType, entityId));
+    }
+
+    /**
+     * Fingerprint {@code resumeText}, flag near-duplicates and (re)store its band keys.
+     * Failures are logged and swallowed; duplicate detection never blocks ingestion.
+     */
+    @Async
+    public void register(String entityType, UUID entityId, String resumeText) {
+        try {
+            MinHashSignature signature = MinHashSignature.of(resumeText, MIN_SHINGLES);
+            if (signature == null) {
+                log.debug("Resume text for {} {} too short to fingerprint", entityType, entityId);
+                remove(entityType, entityId);
+                return;
+            }
+            long[] bandKeys = signature.bandKeys();
+
+            Set<EntityRef> related = relatedEntities(entityType, entityId);
+            int flagged = 0;
+            for (Map.Entry<EntityRef, MinHashSignature> hit : bucketMatches(entityType, entityId, bandKeys).entrySet()) {
+                EntityRef other = hit.getKey();
+                if (related.contains(other)) {
+                    continue;
+                }
+                double similarity = signature.similarity(hit.getValue());
+                if (similarity >= FLAG_THRESHOLD) {
+                    flag(entityType, entityId, other, similarity);
+                    flagged++;
+                }
+            }
+
+            self().storeSignature(entityType, entityId, signature);
+
+            if (flagged > 0) {
+                log.info("Flagged {} likely duplicate(s) for {} {}", flagged, entityType, entityId);
+            }
+        } catch (Exception e) {
+            log.warn("Duplicate detection failed for {} {}: {}", entityType, entityId, e.getMessage());
+        }
+    }
+
+    /**
+     * Store the signature and replace its band keys in one transaction, so a lookup never sees
+     * a signature without its bands (or stale bands for a new signature).
+     */
+    @Transactional
+    public void storeSignature(String entityType, UUID entityId, MinHashSignature signature) {
+        long[] bandKeys = signature.bandKeys();
+        jdbcTemplate.update("""
+                INSERT INTO resume_signatures (entity_type, entity_id, signature, created_at)
+                VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+                ON CONFLICT (entity_type, entity_id)
+                DO UPDATE SET signature = EXCLUDED.signature, created_at = EXCLUDED.created_at
+                """, entityType, entityId, signature.toBytes());
+        jdbcTemplate.update("DELETE FROM resume_lsh_bands WHERE entity_type = ? AND entity_id = ?",
+                entityType, entityId);
+        List<Object[]> rows = new ArrayList<>(bandKeys.length);
+        for (int b = 0; b < bandKeys.length; b++) {
+            rows.add(new Object[] { entityType, entityId, b, bandKeys[b] });
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO resume_lsh_bands (entity_type, entity_id, band_no, band_hash) VALUES (?, ?, ?, ?)",
+                rows);
+    }
+
+    @Async
+    public void remove(String entityType, UUID entityId) {
+        jdbcTemplate.update("DELETE FROM resume_lsh_bands WHERE entity_type = ? AND entity_id = ?", entityType, entityId);
+        jdbcTemplate.update("DELETE FROM resume_signatures WHERE entity_type = ? AND entity_id = ?", entityType, entityId);
+        jdbcTemplate.update("""
+                DELETE FROM resume_duplicate_flags
+                WHERE (entity_type = ? AND entity_id = ?) OR (duplicate_entity_type = ? AND duplicate_entity_id = ?)
+                """, entityType, entityId, entityType, entityId);
+    }
+
+    /**
+     * Pending (or otherwise filtered) flags grouped into connected clusters, largest similarity first.
+     */
+    @Transactional(readOnly = true)
+    public List<DuplicateCluster> getClusters(String status, UUID organizationId) {
+        List<DuplicateFlag> flags = jdbcTemplate.query("""
+                SELECT id, entity_type, entity_id, duplicate_entity_type, duplicate_entity_id, similarity, status, created_at
+                FROM resume_duplicate_flags
+                WHERE status = ?
+                ORDER BY similarity DESC
+                """, (rs, i) -> new DuplicateFlag(
+                rs.getObject("id", UUID.class),
+                rs.getString("entity_type"),
+                rs.getObject("entity_id", UUID.class),
+                rs.getString("duplicate_entity_type"),
+                rs.getObject("duplicate_entity_id", UUID.class),
+                rs.getDouble("similarity"),
+                rs.getString("status"),
+                rs.getTimestamp("created_at").toLocalDateTime()), status);
+        if (flags.isEmpty()) {
+            return List.of();
+        }
+
+        // Union-find over flagged pairs
+        Map<EntityRef, EntityRef> parent = new HashMap<>();
+        for (DuplicateFlag f : flags) {
+            union(parent, new EntityRef(f.entityType(), f.entityId()),
+                    new EntityRef(f.duplicateEntityType(), f.duplicateEntityId()));
+        }
+        Map<EntityRef, ClusterMember> members = loadMembers(parent.keySet());
+
+        Map<EntityRef, List<DuplicateFlag>> flagsByRoot = new LinkedHashMap<>();
+        for (DuplicateFlag f : flags) {
+            EntityRef root = find(parent, new EntityRef(f.entityType(), f.entityId()));
+            flagsByRoot.computeIfAbsent(root, r -> new ArrayList<>()).add(f);
+        }
+        Map<EntityRef, List<ClusterMember>> membersByRoot = new HashMap<>();
+        for (EntityRef ref : parent.keySet()) {
+            ClusterMember m = members.get(ref);
+            if (m != null) {
+                membersByRoot.computeIfAbsent(find(parent, ref), r -> new ArrayList<>()).add(m);
+            }
+        }
+
+        List<DuplicateCluster> clusters = new ArrayList<>();
+        for (Map.Entry<EntityRef, List<DuplicateFlag>> e : flagsByRoot.entrySet()) {
+            List<ClusterMember> clusterMembers = membersByRoot.getOrDefault(e.getKey(), List.of());
+            if (clusterMembers.size() < 2) {
+                continue;
+            }
+            if (organizationId != null
+                    && clusterMembers.stream().noneMatch(m -> organizationId.equals(m.organizationId()))) {
+                continue;
+            }
+            double max = e.getValue().stream().mapToDouble(DuplicateFlag::similarity).max().orElse(0);
+            clusters.add(new DuplicateCluster(clusterMembers, e.getValue(), max));
+        }
+        clusters.sort(Comparator.comparingDouble(DuplicateCluster::maxSimilarity).reversed());
+        return clusters;
+    }
+
+    @Transactional
+    public void reviewFlag(UUID flagId, String status) {
+        if (!"CONFIRMED".equals(status) && !"DISMISSED".equals(status) && !"PENDING".equals(status)) {
+            throw new IllegalArgumentException("Invalid duplicate flag status: " + status);
+        }
+        int updated = jdbcTemplate.update(
+                "UPDATE resume_duplicate_flags SET status = ?, reviewed_at = ? WHERE id = ?",
+                status, Timestamp.valueOf(LocalDateTime.now()), flagId);
+        if (updated == 0) {
+            throw new jakarta.persistence.EntityNotFoundException("Duplicate flag not found");
+        }
+    }
+
+    // ---------------------------------------------------------------------
+
+    private Map<EntityRef, MinHashSignature> bucketMatches(String entityType, UUID entityId, long[] bandKeys) {
+        StringBuilder where = new StringBuilder();
+        List<Object> args = new ArrayList<>();
+        for (int b = 0; b < bandKeys.length; b++) {
+            where.append(b == 0 ? "" : " OR ").append("(b.band_no = ? AND b.band_hash = ?)");
+            args.add(b);
+            args.add(bandKeys[b]);
+        }
+        args.add(entityType);
+        args.add(entityId);
+        args.add(MAX_BUCKET_MATCHES);
+
+        Map<EntityRef, MinHashSignature> result = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT s.entity_type, s.entity_id, s.signature
+                FROM resume_signatures s
+                WHERE (s.entity_type, s.entity_id) IN (
+                    SELECT DISTINCT b.entity_type, b.entity_id FROM resume_lsh_bands b
+                    WHERE (%s) AND NOT (b.entity_type = ? AND b.entity_id = ?))
+                LIMIT ?
+                """.formatted(where), rs -> {
+            result.put(new EntityRef(rs.getString("entity_type"), rs.getObject("entity_id", UUID.class)),
+                    MinHashSignature.fromBytes(rs.getBytes("signature")));
+        }, args.toArray());
+        return result;
+    }
+
+    /**
+     * Everything that legitimately shares a resume with this entity: the candidate and every
+     * application submitted from that candidate (so a second application isn't flagged
+     * against the first).
+     */
+    private Set<EntityRef> relatedEntities(String entityType, UUID entityId) {
+        Set<EntityRef> related = new HashSet<>();
+        UUID candidateId = entityId;
+        if (APPLICATION.equals(entityType)) {
+            candidateId = jdbcTemplate.query(
+                    "SELECT candidate_id FROM job_applications WHERE id = ?",
+                    rs -> rs.next() ? rs.getObject(1, UUID.class) : null, entityId);
+            if (candidateId == null) {
+                return related;
+            }
+        }
+        related.add(new EntityRef(CANDIDATE, candidateId));
+        jdbcTemplate.query("SELECT id FROM job_applications WHERE candidate_id = ?",
+                rs -> {
+                    related.add(new EntityRef(APPLICATION, rs.getObject(1, UUID.class)));
+                }, candidateId);
+        related.remove(new EntityRef(entityType, entityId));
+        return related;
+    }
+
+    private void flag(String entityType, UUID entityId, EntityRef other, double similarity) {
+        jdbcTemplate.update("""
+                INSERT INTO resume_duplicate_flags
+                    (entity_type, entity_id, duplicate_entity_type, duplicate_entity_id, similarity)
+                VALUES (?, ?, ?, ?, ?)
+                ON CONFLICT (entity_type, entity_id, duplicate_entity_type, duplicate_entity_id)
+                DO UPDATE SET similarity = EXCLUDED.similarity
+                """, entityType, entityId, other.type(), other.id(), (float) similarity);
+    }
+
+    private Map<EntityRef, ClusterMember> loadMembers(Collection<EntityRef> refs) {
+        List<UUID> candidateIds = refs.stream().filter(r -> CANDIDATE.equals(r.type())).map(EntityRef::id).toList();
+        List<UUID> applicationIds = refs.stream().filter(r -> APPLICATION.equals(r.type())).map(EntityRef::id).toList();
+        Map<EntityRef, ClusterMember> result = new HashMap<>();
+        if (!candidateIds.isEmpty()) {
+            jdbcTemplate.query("""
+                    SELECT id, first_name, last_name, email, organization_id FROM candidates WHERE id = ANY (?)
+                    """, rs -> {
+                UUID id = rs.getObject("id", UUID.class);
+                result.put(new EntityRef(CANDIDATE, id), new ClusterMember(CANDIDATE, id, rs.getString("first_name"),
+                        rs.getString("last_name"), rs.getString("email"), rs.getObject("organization_id", UUID.class)));
+            }, (Object) candidateIds.toArray(UUID[]::new));
+        }
+        if (!applicationIds.isEmpty()) {
+            jdbcTemplate.query("""
+                    SELECT id, first_name, last_name, email, vendor_org_id FROM job_applications WHERE id = ANY (?)
+                    """, rs -> {
+                UUID id = rs.getObject("id", UUID.class);
+                result.put(new EntityRef(APPLICATION, id), new ClusterMember(APPLICATION, id,
+                        rs.getString("first_name"), rs.getString("last_name"), rs.getString("email"),
+                        rs.getObject("vendor_org_id", UUID.class)));
+            }, (Object) applicationIds.toArray(UUID[]::new));
+        }
+        return result;
+    }
+
+    private static EntityRef find(Map<EntityRef, EntityRef> parent, EntityRef ref) {
+        EntityRef p = parent.computeIfAbsent(ref, r -> r);
+        if (!p.equals(ref)) {
+            p = find(parent, p);
+            parent.put(ref, p);
+        }
+        return p;
+    }
+
+    private static void union(Map<EntityRef, EntityRef> parent, EntityRef a, EntityRef b) {
+        EntityRef ra = find(parent, a);
+        EntityRef rb = find(parent, b);
+        if (!ra.equals(rb)) {
+            parent.put(ra, rb);
+        }
+    }
+
+    private DuplicateDetectionService self() {
+        return applicationContext.getBean(DuplicateDetectionService.class);
+    }
+}
@@ -0,0 +1,146 @@
+package com.solventek.silverwind.dedup;
+
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signature of normalized resume text with LSH banding.
+ * <p>
+ * Text is reduced to 5-word shingles; 128 seeded hash functions give the signature and
+ * 32 bands of 4 rows give the LSH keys. Two resumes share at least one band with high
+ * probability once their Jaccard similarity is above ~0.45, so candidate pairs come from
+ * a handful of index lookups instead of pairwise comparison.
+ */
+public final class MinHashSignature {
+
+    public static final int NUM_HASHES = 128;
+    public static final int BANDS = 32;
+    public static final int ROWS_PER_BAND = NUM_HASHES / BANDS;
+
+    private static final int SHINGLE_WORDS = 5;
+    private static final long[] SEEDS_A = new long[NUM_HASHES];
+    private static final long[] SEEDS_B = new long[NUM_HASHES];
+
+    static {
+        // Fixed seed: signatures must stay comparable across restarts
+        SplittableRandom random = new SplittableRandom(0x5EED_2024L);
+        for (int i = 0; i < NUM_HASHES; i++) {
+            SEEDS_A[i] = random.nextLong() | 1L;
+            SEEDS_B[i] = random.nextLong();
+        }
+    }
+
+    private final int[] values;
+
+    private MinHashSignature(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @return the signature, or null when the text is too short to fingerprint reliably
+     */
+    public static MinHashSignature of(String text, int minShingles) {
+        Set<Long> shingles = shingles(normalize(text));
+        if (shingles.size() < minShingles) {
+            return null;
+        }
+        int[] mins = new int[NUM_HASHES];
+        java.util.Arrays.fill(mins, Integer.MAX_VALUE);
+        for (long shingle : shingles) {
+            for (int i = 0; i < NUM_HASHES; i++) {
+                int h = (int) (mix(shingle * SEEDS_A[i] + SEEDS_B[i]) >>> 33);
+                if (h < mins[i]) {
+                    mins[i] = h;
+                }
+            }
+        }
+        return new MinHashSignature(mins);
+    }
+
+    public static MinHashSignature fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int[] values = new int[NUM_HASHES];
+        for (int i = 0; i < NUM_HASHES; i++) {
+            values[i] = buf.getInt();
+        }
+        return new MinHashSignature(values);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(NUM_HASHES * Integer.BYTES);
+        for (int v : values) {
+            buf.putInt(v);
+        }
+        return buf.array();
+    }
+
+    /**
+     * One key per band; equal keys in the same band mean a candidate pair.
+     */
+    public long[] bandKeys() {
+        long[] keys = new long[BANDS];
+        for (int b = 0; b < BANDS; b++) {
+            long h = 0x9E3779B97F4A7C15L * (b + 1);
+            for (int r = 0; r < ROWS_PER_BAND; r++) {
+                h = mix(h ^ values[b * ROWS_PER_BAND + r]);
+            }
+            keys[b] = h;
+        }
+        return keys;
+    }
+
+    /**
+     * Estimated Jaccard similarity (fraction of equal signature positions).
+     */
+    public double similarity(MinHashSignature other) {
+        int equal = 0;
+        for (int i = 0; i < NUM_HASHES; i++) {
+            if (values[i] == other.values[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / NUM_HASHES;
+    }
+
+    /**
+     * Lower-case and strip contact details (emails, phones, URLs), which are exactly what
+     * changes when the same person is resubmitted.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT)
+                .replaceAll("\\S+@\\S+", " ")
+                .replaceAll("(https?://|www\\.)\\S+", " ")
+                .replaceAll("\\+?\\d[\\d ()./-]{7,}\\d", " ")
+                .replaceAll("[^\\p{L}\\p{N}+#]+", " ")
+                .trim();
+    }
+
+    private static Set<Long> shingles(String normalized) {
+        Set<Long> result = new HashSet<>();
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        String[] words = normalized.split(" ");
+        for (int i = 0; i + SHINGLE_WORDS <= words.length; i++) {
+            long h = 1125899906842597L;
+            for (int j = i; j < i + SHINGLE_WORDS; j++) {
+                h = 31 * h + words[j].hashCode();
+            }
+            result.add(mix(h));
+        }
+        return result;
+    }
+
+    // SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -36,6 +36,7 @@ public class JobService {
     private final EmployeeRepository employeeRepository;
     private final TimelineService timelineService;
     private final NotificationService notificationService;
+    private final com.solventek.silverwind.matching.MatchingService matchingService;
 
     private void validateAccess(Job job, UUID actorId) {
         log.trace("Validating access for Job ID: {} and Actor ID: {}", job.getId(), actorId);
@@ -97,6 +98,7 @@ public class JobService {
 
             jobRepository.save(job);
             log.info("Job created successfully with ID: {}. Status: {}", job.getId(), jobStatus);
+            matchingService.indexJobAfterCommit(job.getId());
 
             String statusMessage = jobStatus == JobStatus.DRAFT ? "Job created in DRAFT" : "Job submitted for review";
             timelineService.createEvent(orgId, "JOB", job.getId(), "CREATE", "Job Created", null, statusMessage, null);
@@ -211,6 +213,7 @@ public class JobService {
                 job.setPayRate(payRate);
 
             jobRepository.save(job);
+            matchingService.indexJobAfterCommit(jobId);
 
             timelineService.createEvent(job.getOrganization().getId(), "JOB", jobId, "UPDATE", "Job Updated", actorId,
                     "Job details updated", null);
@@ -279,6 +282,7 @@ public class JobService {
             job.setStatus(JobStatus.TA_ENRICHED);
 
             jobRepository.save(job);
+            matchingService.indexJobAfterCommit(jobId);
             timelineService.createEvent(job.getOrganization().getId(), "JOB", jobId, "ENRICH", "Job Enriched", actorId,
                     "Job enriched by TA", null);
             log.info("Job enriched successfully: {}", jobId);
@@ -421,6 +425,7 @@ public class JobService {
 
             if (job.getStatus() == JobStatus.DRAFT) {
                 jobRepository.delete(job);
+                matchingService.removeAfterCommit(jobId);
                 // Note: Timeline events might orphan if we don't cascade, but standard repo
                 // delete doesn't cascade to timeline unless configured.
                 // Ideally we soft delete everything. But for "Undo/Delete" feature on draft,
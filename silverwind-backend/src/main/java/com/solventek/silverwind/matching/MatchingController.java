@@ -0,0 +1,74 @@
+package com.solventek.silverwind.matching;
+
+import com.solventek.silverwind.auth.Employee;
+import com.solventek.silverwind.auth.EmployeeRepository;
+import com.solventek.silverwind.common.ApiResponse;
+import com.solventek.silverwind.org.OrganizationType;
+import com.solventek.silverwind.recruitment.Candidate;
+import com.solventek.silverwind.recruitment.CandidateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Semantic matching between candidates and jobs.
+ * Vendors are always restricted to their own candidate pool.
+ */
+@RestController
+@RequestMapping("/api/matching")
+@RequiredArgsConstructor
+public class MatchingController {
+
+    private final MatchingService matchingService;
+    private final CandidateService candidateService;
+    private final EmployeeRepository employeeRepository;
+
+    private Employee getCurrentUser() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return employeeRepository.findByEmail(auth.getName())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    @GetMapping("/jobs/{jobId}/candidates")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<List<MatchingService.CandidateMatch>>> topCandidatesForJob(
+            @PathVariable UUID jobId,
+            @RequestParam(defaultValue = "20") int k,
+            @RequestParam(required = false) UUID organizationId) {
+        Employee user = getCurrentUser();
+        UUID orgFilter = user.getOrganization().getType() == OrganizationType.VENDOR
+                ? user.getOrganization().getId()
+                : organizationId;
+        return ResponseEntity.ok(ApiResponse.success(matchingService.topCandidatesForJob(jobId, orgFilter, k)));
+    }
+
+    @GetMapping("/candidates/{candidateId}/jobs")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<List<MatchingService.JobMatch>>> topJobsForCandidate(
+            @PathVariable UUID candidateId,
+            @RequestParam(defaultValue = "20") int k,
+            @RequestParam(required = false) UUID organizationId) {
+        Employee user = getCurrentUser();
+        if (user.getOrganization().getType() == OrganizationType.VENDOR) {
+            Candidate c = candidateService.getCandidate(candidateId);
+            if (c.getOrganization() == null || !c.getOrganization().getId().equals(user.getOrganization().getId())) {
+                throw new AccessDeniedException("Access Denied");
+            }
+        }
+        return ResponseEntity.ok(ApiResponse.success(matchingService.topJobsForCandidate(candidateId, organizationId, k)));
+    }
+
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<Void>> reindexMissing() {
+        matchingService.reindexMissing();
+        return ResponseEntity.ok(ApiResponse.success("Matching backfill started.", null));
+    }
+}
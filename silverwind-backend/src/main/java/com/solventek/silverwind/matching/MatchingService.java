@@ -0,0 +1,360 @@
+package com.solventek.silverwind.matching;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.common.AfterCommit;
+import com.solventek.silverwind.jobs.Job;
+import com.solventek.silverwind.jobs.JobRepository;
+import com.solventek.silverwind.recruitment.Candidate;
+import com.solventek.silverwind.recruitment.CandidateDTO;
+import com.solventek.silverwind.recruitment.CandidateRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.document.Document;
+import org.springframework.ai.vectorstore.VectorStore;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Semantic candidate &lt;-&gt; job matching over the shared pgvector store.
+ * <p>
+ * Candidate profiles ({@code source = candidate-profile}) and job descriptions
+ * ({@code source = job-description}) are embedded with the entity ID as document ID, so
+ * re-indexing is an upsert. Queries run through partial HNSW indexes on a
+ * {@code halfvec(3072)} expression (pgvector's HNSW limit for full-precision vectors is
+ * 2000 dimensions) and pre-filter by {@code organizationId} metadata.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MatchingService {
+
+    public static final String SOURCE_CANDIDATE = "candidate-profile";
+    public static final String SOURCE_JOB = "job-description";
+
+    private static final int MAX_PROFILE_CHARS = 8000;
+    private static final int MAX_TOPK = 100;
+    private static final int REINDEX_BATCH_SIZE = 50;
+
+    // Source values are inlined (not bound) so the planner can match the partial index predicates
+    private static final String NEAREST_SQL = """
+            SELECT id, (metadata->>'organizationId') AS org_id,
+                   1 - (embedding::halfvec(3072) <=> ?::halfvec(3072)) AS score
+            FROM vector_store
+            WHERE (metadata->>'source') = '%s' %s
+            ORDER BY embedding::halfvec(3072) <=> ?::halfvec(3072)
+            LIMIT ?
+            """;
+
+    private final VectorStore vectorStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final CandidateRepository candidateRepository;
+    private final JobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final ApplicationContext applicationContext;
+
+    public record CandidateMatch(UUID candidateId, String firstName, String lastName, String currentDesignation,
+            Double experienceYears, UUID organizationId, double score) {
+    }
+
+    public record JobMatch(UUID jobId, String title, String status, UUID organizationId, double score) {
+    }
+
+    private record Neighbor(UUID id, double score) {
+    }
+
+    // hnsw.iterative_scan exists from pgvector 0.8; checked once at startup
+    private volatile boolean iterativeScanSupported;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void detectPgvectorVersion() {
+        try {
+            String version = jdbcTemplate.query("SELECT extversion FROM pg_extension WHERE extname = 'vector'",
+                    rs -> rs.next() ? rs.getString(1) : null);
+            iterativeScanSupported = atLeast(version, 0, 8);
+            log.info("pgvector {} detected, iterative HNSW scans {}", version,
+                    iterativeScanSupported ? "enabled" : "disabled");
+        } catch (Exception e) {
+            log.warn("Could not determine pgvector version, iterative HNSW scans disabled: {}", e.getMessage());
+        }
+    }
+
+    static boolean atLeast(String version, int major, int minor) {
+        if (version == null) {
+            return false;
+        }
+        String[] parts = version.split("\\.");
+        try {
+            int ma = Integer.parseInt(parts[0]);
+            int mi = parts.length > 1 ? Integer.parseInt(parts[1].replaceAll("\\D.*", "")) : 0;
+            return ma > major || (ma == major && mi >= minor);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    // -------------------- Index maintenance --------------------
+
+    /**
+     * Create the ANN indexes. vector_store is created by Spring AI after Flyway runs,
+     * so this is invoked from the startup initializer rather than a migration.
+     */
+    public void ensureIndexes() {
+        try {
+            for (String source : List.of(SOURCE_CANDIDATE, SOURCE_JOB)) {
+                String name = "idx_vector_store_" + source.replace('-', '_') + "_hnsw";
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS " + name + " ON vector_store "
+                        + "USING hnsw ((embedding::halfvec(3072)) halfvec_cosine_ops) "
+                        + "WHERE (metadata->>'source') = '" + source + "'");
+            }
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_vector_store_source_org ON vector_store "
+                    + "((metadata->>'source'), (metadata->>'organizationId'))");
+            log.info("Matching indexes ready");
+        } catch (Exception e) {
+            // halfvec needs pgvector >= 0.7; matching still works, just without ANN
+            log.warn("Could not create matching HNSW indexes, queries will use exact scans: {}", e.getMessage());
+        }
+    }
+
+    public void indexCandidateAfterCommit(UUID candidateId) {
+        AfterCommit.run(() -> self().indexCandidate(candidateId));
+    }
+
+    public void indexJobAfterCommit(UUID jobId) {
+        AfterCommit.run(() -> self().indexJob(jobId));
+    }
+
+    public void removeAfterCommit(UUID entityId) {
+        AfterCommit.run(() -> removeFromIndex(entityId));
+    }
+
+    @Async
+    @Transactional
+    public void indexCandidate(UUID candidateId) {
+        try {
+            candidateRepository.findById(candidateId).ifPresent(c -> vectorStore.add(List.of(toDocument(c))));
+            log.debug("Indexed candidate profile: {}", candidateId);
+        } catch (Exception e) {
+            log.warn("Failed to index candidate profile {}: {}", candidateId, e.getMessage());
+        }
+    }
+
+    @Async
+    @Transactional
+    public void indexJob(UUID jobId) {
+        try {
+            jobRepository.findById(jobId).ifPresent(j -> vectorStore.add(List.of(toDocument(j))));
+            log.debug("Indexed job description: {}", jobId);
+        } catch (Exception e) {
+            log.warn("Failed to index job description {}: {}", jobId, e.getMessage());
+        }
+    }
+
+    public void removeFromIndex(UUID entityId) {
+        jdbcTemplate.update("DELETE FROM vector_store WHERE id = ? AND (metadata->>'source') IN (?, ?)",
+                entityId, SOURCE_CANDIDATE, SOURCE_JOB);
+    }
+
+    /**
+     * Backfill candidates and jobs that have no embedding yet (e.g. created before matching existed).
+     */
+    @Async
+    @Transactional
+    public void reindexMissing() {
+        int candidates = backfill(SOURCE_CANDIDATE, page -> candidateRepository.findAll(page),
+                Candidate::getId, this::toDocument);
+        int jobs = backfill(SOURCE_JOB, page -> jobRepository.findAll(page), Job::getId, this::toDocument);
+        log.info("Matching backfill complete - candidates: {}, jobs: {}", candidates, jobs);
+    }
+
+    private <T> int backfill(String source, Function<Pageable, Page<T>> pager, Function<T, UUID> idOf,
+            Function<T, Document> toDocument) {
+        Set<UUID> indexed = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT id FROM vector_store WHERE (metadata->>'source') = ?", UUID.class, source));
+        int added = 0;
+        Page<T> page = pager.apply(PageRequest.of(0, REINDEX_BATCH_SIZE));
+        while (true) {
+            List<Document> docs = page.getContent().stream()
+                    .filter(e -> !indexed.contains(idOf.apply(e)))
+                    .map(toDocument)
+                    .toList();
+            if (!docs.isEmpty()) {
+                vectorStore.add(docs);
+                added += docs.size();
+            }
+            if (!page.hasNext())
+                break;
+            page = pager.apply(page.nextPageable());
+        }
+        return added;
+    }
+
+    // -------------------- Queries --------------------
+
+    @Transactional
+    public List<CandidateMatch> topCandidatesForJob(UUID jobId, UUID candidateOrgId, int k) {
+        Job job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Job not found: " + jobId));
+        String embedding = findOrCreateEmbedding(jobId, SOURCE_JOB, () -> toDocument(job));
+
+        List<Neighbor> neighbors = nearest(SOURCE_CANDIDATE, embedding, candidateOrgId, k);
+        Map<UUID, Candidate> byId = candidateRepository.findAllById(ids(neighbors)).stream()
+                .collect(Collectors.toMap(Candidate::getId, Function.identity()));
+        return neighbors.stream()
+                .filter(n -> byId.containsKey(n.id()))
+                .map(n -> {
+                    Candidate c = byId.get(n.id());
+                    return new CandidateMatch(c.getId(), c.getFirstName(), c.getLastName(), c.getCurrentDesignation(),
+                            c.getExperienceYears(), c.getOrganization() != null ? c.getOrganization().getId() : null,
+                            n.score());
+                })
+                .toList();
+    }
+
+    @Transactional
+    public List<JobMatch> topJobsForCandidate(UUID candidateId, UUID jobOrgId, int k) {
+        Candidate candidate = candidateRepository.findById(candidateId)
+                .orElseThrow(() -> new EntityNotFoundException("Candidate not found: " + candidateId));
+        String embedding = findOrCreateEmbedding(candidateId, SOURCE_CANDIDATE, () -> toDocument(candidate));
+
+        List<Neighbor> neighbors = nearest(SOURCE_JOB, embedding, jobOrgId, k);
+        Map<UUID, Job> byId = jobRepository.findAllById(ids(neighbors)).stream()
+                .collect(Collectors.toMap(Job::getId, Function.identity()));
+        return neighbors.stream()
+                .filter(n -> byId.containsKey(n.id()))
+                .map(n -> {
+                    Job j = byId.get(n.id());
+                    return new JobMatch(j.getId(), j.getTitle(), j.getStatus() != null ? j.getStatus().name() : null,
+                            j.getOrganization() != null ? j.getOrganization().getId() : null, n.score());
+                })
+                .toList();
+    }
+
+    /**
+     * Reuse the stored embedding of the query-side entity (no embedding API call);
+     * index it synchronously the first time.
+     */
+    private String findOrCreateEmbedding(UUID id, String source, java.util.function.Supplier<Document> document) {
+        List<String> existing = jdbcTemplate.queryForList(
+                "SELECT embedding::text FROM vector_store WHERE id = ? AND (metadata->>'source') = ?",
+                String.class, id, source);
+        if (!existing.isEmpty()) {
+            return existing.get(0);
+        }
+        vectorStore.add(List.of(document.get()));
+        return jdbcTemplate.queryForObject("SELECT embedding::text FROM vector_store WHERE id = ?", String.class, id);
+    }
+
+    private List<Neighbor> nearest(String source, String embedding, UUID orgId, int k) {
+        int limit = Math.max(1, Math.min(k, MAX_TOPK));
+        // Keep enough HNSW candidates for the requested K, and keep scanning when the org filter
+        // discards results. pgvector reserves the hnsw. prefix, so iterative_scan is an error
+        // (aborting the transaction) before 0.8 and is only set when the extension supports it.
+        jdbcTemplate.execute("SET LOCAL hnsw.ef_search = " + Math.max(40, limit * 2));
+        if (iterativeScanSupported) {
+            jdbcTemplate.execute("SET LOCAL hnsw.iterative_scan = relaxed_order");
+        }
+
+        String orgFilter = orgId != null ? "AND (metadata->>'organizationId') = ?" : "";
+        String sql = NEAREST_SQL.formatted(source, orgFilter);
+        List<Object> args = new ArrayList<>();
+        args.add(embedding);
+        if (orgId != null)
+            args.add(orgId.toString());
+        args.add(embedding);
+        args.add(limit);
+
+        List<Neighbor> result = jdbcTemplate.query(sql,
+                (rs, i) -> new Neighbor(rs.getObject("id", UUID.class), rs.getDouble("score")), args.toArray());
+        // relaxed_order may return slightly out-of-order rows
+        return result.stream().sorted(Comparator.comparingDouble(Neighbor::score).reversed()).toList();
+    }
+
+    private List<UUID> ids(List<Neighbor> neighbors) {
+        return neighbors.stream().map(Neighbor::id).toList();
+    }
+
+    // -------------------- Profile text --------------------
+
+    private Document toDocument(Candidate c) {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, "Current role", join(" at ", c.getCurrentDesignation(), c.getCurrentCompany()));
+        appendLine(sb, "Experience years", c.getExperienceYears() != null ? String.valueOf(c.getExperienceYears()) : null);
+        appendLine(sb, "Skills", c.getSkills() != null ? String.join(", ", c.getSkills()) : null);
+        appendLine(sb, "Summary", c.getSummary());
+        for (CandidateDTO.ParsedExperience e : parseExperience(c.getExperienceDetailsJson())) {
+            appendLine(sb, "Experience", join(" at ", e.getTitle(), e.getCompany())
+                    + (e.getTechnologies() != null && !e.getTechnologies().isEmpty()
+                            ? " (" + String.join(", ", e.getTechnologies()) + ")"
+                            : ""));
+        }
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("source", SOURCE_CANDIDATE);
+        meta.put("entityId", c.getId().toString());
+        if (c.getOrganization() != null)
+            meta.put("organizationId", c.getOrganization().getId().toString());
+        return new Document(c.getId().toString(), truncate(sb.toString()), meta);
+    }
+
+    private Document toDocument(Job j) {
+        StringBuilder sb = new StringBuilder();
+        appendLine(sb, "Job title", j.getTitle());
+        appendLine(sb, "Experience", j.getExperience());
+        appendLine(sb, "Skills", j.getSkills());
+        appendLine(sb, "Requirements", j.getRequirements());
+        appendLine(sb, "Description", j.getDescription());
+        appendLine(sb, "Responsibilities", j.getRolesAndResponsibilities());
+        Map<String, Object> meta = new HashMap<>();
+        meta.put("source", SOURCE_JOB);
+        meta.put("entityId", j.getId().toString());
+        if (j.getOrganization() != null)
+            meta.put("organizationId", j.getOrganization().getId().toString());
+        return new Document(j.getId().toString(), truncate(sb.toString()), meta);
+    }
+
+    private List<CandidateDTO.ParsedExperience> parseExperience(String json) {
+        if (json == null || json.isBlank())
+            return List.of();
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<CandidateDTO.ParsedExperience>>() {
+            });
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    private static void appendLine(StringBuilder sb, String label, String value) {
+        if (value != null && !value.isBlank())
+            sb.append(label).append(": ").append(value.strip()).append('\n');
+    }
+
+    private static String join(String sep, String a, String b) {
+        if (a == null || a.isBlank())
+            return b;
+        if (b == null || b.isBlank())
+            return a;
+        return a + sep + b;
+    }
+
+    private static String truncate(String s) {
+        String text = s.isBlank() ? "(empty profile)" : s;
+        return text.length() > MAX_PROFILE_CHARS ? text.substring(0, MAX_PROFILE_CHARS) : text;
+    }
+
+    private MatchingService self() {
+        return applicationContext.getBean(MatchingService.class);
+    }
+}
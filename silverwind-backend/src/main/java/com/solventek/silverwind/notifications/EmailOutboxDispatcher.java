@@ -0,0 +1,337 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.config.MailOutboxProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drains the {@code email_outbox} table.
+ * <p>
+ * Each round claims a batch of due messages with {@code FOR UPDATE SKIP LOCKED} (so several
+ * nodes can dispatch without sending anything twice), builds them and sends the batch over
+ * one SMTP connection with {@link JavaMailSender#send(MimeMessage...)}. Per-message failures
+ * are retried with exponential backoff up to the configured attempt limit; addresses over
+ * their rate limit are deferred, not failed. SENT and FAILED rows are purged hourly once past
+ * their configured retention. Runs on its own thread, so slow SMTP rounds don't hold up the
+ * shared {@code @Scheduled} jobs or the async executors used by request paths. Point
+ * {@code spring.mail.*} at a local SMTP stand-in (e.g. GreenMail) to exercise it end to end.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    // Rounds per tick while batches come back full, so a backlog drains without waiting a tick per batch
+    private static final int MAX_ROUNDS_PER_TICK = 20;
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+    // Rows per purge DELETE, so no single statement holds locks or bloats WAL for long
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    // Package-private so the outbox stand-in in EmailOutboxDispatcherTest matches them exactly
+    static final String CLAIM = """
+            UPDATE email_outbox SET status = 'SENDING', claimed_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP
+            WHERE id IN (
+                SELECT id FROM email_outbox
+                WHERE (status = 'PENDING' AND next_attempt_at <= LOCALTIMESTAMP)
+                   OR (status = 'SENDING' AND claimed_at < ?)
+                ORDER BY next_attempt_at
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, recipient, subject, body, html, attempts
+            """;
+
+    static final String RECENT_SENT = """
+            SELECT lower(recipient) AS recipient, count(*) AS sent FROM email_outbox
+            WHERE status = 'SENT' AND lower(recipient) = ANY (?::text[]) AND sent_at > ?
+            GROUP BY lower(recipient)
+            """;
+
+    static final String MARK_SENT = """
+            UPDATE email_outbox SET status = 'SENT', attempts = attempts + 1, sent_at = LOCALTIMESTAMP,
+                   last_error = NULL, updated_at = LOCALTIMESTAMP
+            WHERE id = ?
+            """;
+
+    static final String MARK_FAILED = """
+            UPDATE email_outbox SET status = ?, attempts = attempts + 1, next_attempt_at = ?, last_error = ?,
+                   claimed_at = NULL, updated_at = LOCALTIMESTAMP
+            WHERE id = ?
+            """;
+
+    static final String MARK_DEFERRED = """
+            UPDATE email_outbox SET status = 'PENDING', next_attempt_at = ?, claimed_at = NULL,
+                   updated_at = LOCALTIMESTAMP
+            WHERE id = ?
+            """;
+
+    static final String PURGE = """
+            DELETE FROM email_outbox WHERE id IN (
+                SELECT id FROM email_outbox WHERE status = ? AND updated_at < ? LIMIT ?
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JavaMailSender mailSender;
+    private final MailOutboxProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private ScheduledExecutorService executor;
+
+    private record OutboxMessage(UUID id, String recipient, String subject, String body, boolean html, int attempts) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Gauge.builder("silverwind.mail.outbox.pending", this::countPending).register(meterRegistry);
+        long interval = properties.getPollInterval().toMillis();
+        executor = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().daemon().name("mail-outbox").factory());
+        executor.scheduleWithFixedDelay(this::dispatch, interval, interval, TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(this::purge, 1, PURGE_INTERVAL.toMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        // Let an in-flight round record its results; unsent claims are retried after claimTimeout
+        executor.shutdown();
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public void dispatch() {
+        try {
+            for (int round = 0; round < MAX_ROUNDS_PER_TICK; round++) {
+                if (dispatchBatch() < properties.getBatchSize()) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            log.error("Email outbox dispatch failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return number of messages claimed
+     */
+    int dispatchBatch() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(properties.getClaimTimeout());
+        List<OutboxMessage> claimed = jdbcTemplate.query(CLAIM, (rs, i) -> new OutboxMessage(
+                rs.getObject("id", UUID.class),
+                rs.getString("recipient"),
+                rs.getString("subject"),
+                rs.getString("body"),
+                rs.getBoolean("html"),
+                rs.getInt("attempts")), Timestamp.valueOf(staleBefore), properties.getBatchSize());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxMessage> deferred = new ArrayList<>();
+        List<OutboxMessage> sendable = applyRecipientLimit(claimed, deferred);
+
+        Map<MimeMessage, OutboxMessage> byMessage = new IdentityHashMap<>();
+        Map<OutboxMessage, String> failed = new LinkedHashMap<>();
+        for (OutboxMessage m : sendable) {
+            try {
+                byMessage.put(build(m), m);
+            } catch (Exception e) {
+                failed.put(m, "Could not build message: " + e.getMessage());
+            }
+        }
+
+        List<OutboxMessage> sent = new ArrayList<>();
+        if (!byMessage.isEmpty()) {
+            try {
+                mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+                sent.addAll(byMessage.values());
+            } catch (MailSendException e) {
+                Map<Object, Exception> failures = e.getFailedMessages();
+                for (Map.Entry<MimeMessage, OutboxMessage> entry : byMessage.entrySet()) {
+                    Exception failure = failures.isEmpty() ? e : failures.get(entry.getKey());
+                    if (failure == null) {
+                        sent.add(entry.getValue());
+                    } else {
+                        failed.put(entry.getValue(), failure.getMessage());
+                    }
+                }
+            } catch (Exception e) {
+                // Connection or authentication failure: nothing in the batch went out
+                byMessage.values().forEach(m -> failed.put(m, e.getMessage()));
+            }
+        }
+
+        markSent(sent);
+        markFailed(failed);
+        markDeferred(deferred);
+        meterRegistry.counter("silverwind.mail.outbox.sent").increment(sent.size());
+        meterRegistry.counter("silverwind.mail.outbox.failed").increment(failed.size());
+        meterRegistry.counter("silverwind.mail.outbox.deferred").increment(deferred.size());
+        if (!failed.isEmpty()) {
+            log.warn("Email outbox: {} sent, {} failed, {} deferred", sent.size(), failed.size(), deferred.size());
+        } else {
+            log.debug("Email outbox: {} sent, {} deferred", sent.size(), deferred.size());
+        }
+        return claimed.size();
+    }
+
+    /**
+     * Delete SENT and FAILED messages past their retention, in bounded batches.
+     *
+     * @return number of messages deleted
+     */
+    int purge() {
+        int total = 0;
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            total += purge("SENT", now.minus(properties.getSentRetention()));
+            total += purge("FAILED", now.minus(properties.getFailedRetention()));
+            if (total > 0) {
+                log.info("Email outbox: purged {} delivered or failed message(s)", total);
+            }
+        } catch (Exception e) {
+            log.error("Email outbox purge failed: {}", e.getMessage(), e);
+        }
+        return total;
+    }
+
+    private int purge(String status, LocalDateTime before) {
+        int total = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE, status, Timestamp.valueOf(before), PURGE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        return total;
+    }
+
+    private List<OutboxMessage> applyRecipientLimit(List<OutboxMessage> claimed, List<OutboxMessage> deferred) {
+        Set<String> recipients = new HashSet<>();
+        claimed.forEach(m -> recipients.add(m.recipient().toLowerCase(Locale.ROOT)));
+
+        Map<String, Integer> recent = new HashMap<>();
+        LocalDateTime since = LocalDateTime.now().minus(properties.getRecipientWindow());
+        jdbcTemplate.query(RECENT_SENT, rs -> {
+            recent.put(rs.getString("recipient"), rs.getInt("sent"));
+        }, toTextArray(recipients), Timestamp.valueOf(since));
+
+        List<OutboxMessage> sendable = new ArrayList<>();
+        for (OutboxMessage m : claimed) {
+            String key = m.recipient().toLowerCase(Locale.ROOT);
+            int count = recent.getOrDefault(key, 0);
+            if (count >= properties.getRecipientLimit()) {
+                deferred.add(m);
+            } else {
+                recent.put(key, count + 1);
+                sendable.add(m);
+            }
+        }
+        return sendable;
+    }
+
+    private MimeMessage build(OutboxMessage m) throws Exception {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, m.html(), "UTF-8");
+        helper.setFrom(properties.getFrom());
+        helper.setTo(m.recipient());
+        helper.setSubject(m.subject());
+        helper.setText(m.body() != null ? m.body() : "", m.html());
+        return message;
+    }
+
+    private void markSent(List<OutboxMessage> sent) {
+        if (sent.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(MARK_SENT, sent.stream().map(m -> new Object[] { m.id() }).toList());
+    }
+
+    private void markFailed(Map<OutboxMessage, String> failed) {
+        if (failed.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        failed.forEach((m, error) -> {
+            int attempts = m.attempts() + 1;
+            boolean exhausted = attempts >= properties.getMaxAttempts();
+            if (exhausted) {
+                log.error("Giving up on email {} to {} after {} attempts: {}", m.id(), m.recipient(), attempts, error);
+            }
+            rows.add(new Object[] {
+                    exhausted ? "FAILED" : "PENDING",
+                    Timestamp.valueOf(now.plus(backoff(attempts))),
+                    truncate(error),
+                    m.id() });
+        });
+        jdbcTemplate.batchUpdate(MARK_FAILED, rows);
+    }
+
+    private void markDeferred(List<OutboxMessage> deferred) {
+        if (deferred.isEmpty()) {
+            return;
+        }
+        // Retry once part of the window has rolled over; deferral doesn't count as an attempt
+        Timestamp retryAt = Timestamp.valueOf(LocalDateTime.now().plus(properties.getRecipientWindow().dividedBy(6)));
+        jdbcTemplate.batchUpdate(MARK_DEFERRED, deferred.stream().map(m -> new Object[] { retryAt, m.id() }).toList());
+    }
+
+    Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private double countPending() {
+        try {
+            Long count = jdbcTemplate.queryForObject("SELECT count(*) FROM email_outbox WHERE status = 'PENDING'",
+                    Long.class);
+            return count != null ? count : 0;
+        } catch (Exception e) {
+            return Double.NaN;
+        }
+    }
+
+    private static String toTextArray(Collection<String> values) {
+        StringBuilder sb = new StringBuilder("{");
+        for (String v : values) {
+            if (sb.length() > 1) {
+                sb.append(',');
+            }
+            sb.append('"').append(v.replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+        }
+        return sb.append('}').toString();
+    }
+
+    private static String truncate(String error) {
+        if (error == null) {
+            return null;
+        }
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
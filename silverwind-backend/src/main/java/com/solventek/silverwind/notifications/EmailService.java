@@ -2,62 +2,97 @@ package com.solventek.silverwind.notifications;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
 /**
- * Async email service - sends emails without blocking the calling thread.
+ * Email entry point. Messages are written to the {@code email_outbox} table in the caller's
+ * transaction (so an email exists exactly when the change that caused it commits) and
+ * delivered in the background by {@link EmailOutboxDispatcher}.
+ * <p>
+ * Input is fitted to the outbox columns before the insert: subjects are cut to
+ * {@value #MAX_SUBJECT_LENGTH} characters and malformed or over-long addresses are skipped, so
+ * bad mail input never aborts the caller. A database failure on the insert still propagates.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender emailSender;
+    // Column sizes in email_outbox (RFC 5322 line limit, RFC 5321 path limit)
+    private static final int MAX_SUBJECT_LENGTH = 998;
+    private static final int MAX_RECIPIENT_LENGTH = 320;
+
+    private static final String INSERT = """
+            INSERT INTO email_outbox (id, recipient, subject, body, html, status, next_attempt_at, created_at)
+            VALUES (?, ?, ?, ?, ?, 'PENDING', LOCALTIMESTAMP, LOCALTIMESTAMP)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
 
     /**
-     * Sends email asynchronously so it doesn't block the primary flow.
-     * Uses the default taskExecutor from AsyncConfig.
+     * Queues a plain-text email.
      */
-    @Async
     public void sendSimpleMessage(String to, String subject, String text) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            log.info("Sending email to {} (async)", to);
-            message.setFrom("hr.alerts@solventek.com");
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(text);
-            emailSender.send(message);
-            log.info("Email sent successfully to {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            // Don't rethrow - email failure shouldn't affect main flow
-        }
+        enqueue(List.of(to), subject, text, false);
     }
 
     /**
-     * Sends a rich HTML email asynchronously.
+     * Queues the same plain-text email to each recipient (one message per address) with a
+     * single JDBC batch.
+     */
+    public void sendBulkSimpleMessage(List<String> recipients, String subject, String text) {
+        enqueue(recipients, subject, text, false);
+    }
+
+    /**
+     * Queues a rich HTML email.
      */
-    @Async
     public void sendRichMessage(String to, String subject, String htmlBody) {
-        try {
-            jakarta.mail.internet.MimeMessage message = emailSender.createMimeMessage();
-            org.springframework.mail.javamail.MimeMessageHelper helper = 
-                new org.springframework.mail.javamail.MimeMessageHelper(message, true, "UTF-8");
-            
-            log.info("Sending rich email to {} (async)", to);
-            helper.setFrom("hr.alerts@solventek.com");
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(htmlBody, true); // true = html
-            
-            emailSender.send(message);
-            log.info("Rich email sent successfully to {}", to);
-        } catch (Exception e) {
-            log.error("Failed to send rich email to {}: {}", to, e.getMessage());
+        enqueue(List.of(to), subject, htmlBody, true);
+    }
+
+    private void enqueue(List<String> recipients, String subject, String body, boolean html) {
+        String safeSubject = fitSubject(subject);
+        List<Object[]> rows = new ArrayList<>(recipients.size());
+        for (String to : recipients) {
+            if (to == null || to.isBlank()) {
+                continue;
+            }
+            String address = to.trim();
+            if (address.length() > MAX_RECIPIENT_LENGTH || address.indexOf('@') < 1) {
+                log.warn("Skipping email with invalid recipient address: {}", abbreviate(address));
+                continue;
+            }
+            rows.add(new Object[] { UUID.randomUUID(), address, safeSubject, body, html });
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+        // Not swallowed: a failed insert has already aborted the caller's transaction
+        jdbcTemplate.batchUpdate(INSERT, rows);
+        log.debug("Queued {} email(s): {}", rows.size(), safeSubject);
+    }
+
+    private static String fitSubject(String subject) {
+        if (subject == null) {
+            return "";
+        }
+        if (subject.length() <= MAX_SUBJECT_LENGTH) {
+            return subject;
         }
+        // Don't split a surrogate pair
+        int end = Character.isHighSurrogate(subject.charAt(MAX_SUBJECT_LENGTH - 1))
+                ? MAX_SUBJECT_LENGTH - 1
+                : MAX_SUBJECT_LENGTH;
+        return subject.substring(0, end);
+    }
+
+    private static String abbreviate(String value) {
+        return value.length() > 64 ? value.substring(0, 64) + "..." : value;
     }
 }
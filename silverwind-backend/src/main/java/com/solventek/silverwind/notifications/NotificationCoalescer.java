@@ -0,0 +1,230 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.config.NotificationProperties;
+import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import com.solventek.silverwind.notifications.Notification.NotificationPriority;
+import com.solventek.silverwind.notifications.NotificationService.NotificationBuilder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Groups bursts of similar notifications per (recipient, category, reference type).
+ * <p>
+ * Leading edge: the first notification for a key is delivered immediately and opens a
+ * window. Notifications for the same key arriving inside the window are held, and when it
+ * closes they are emitted as one summary ("12 new applications for Java Developer"), or
+ * unchanged if only one arrived. Held notifications live in memory on the node that
+ * produced them, so at most one window's worth can be lost on a hard crash.
+ * <p>
+ * Users who turned coalescing off get every notification immediately. Their preference is
+ * looked up once per window, when a second notification for the key arrives.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationCoalescer {
+
+    // Held notifications kept per group for the summary; the count keeps going past this
+    private static final int MAX_HELD = 50;
+    private static final int BODY_PREVIEW_ITEMS = 3;
+
+    private final NotificationProperties properties;
+    private final NotificationPreferenceRepository preferenceRepository;
+    private final Map<Key, Group> groups = new ConcurrentHashMap<>();
+
+    record Key(UUID recipientId, NotificationCategory category, String refEntityType) {
+    }
+
+    /**
+     * Notifications held for one key during one window.
+     */
+    static final class Group {
+        final Key key;
+        final long windowEndsAt;
+        final List<NotificationBuilder> held = new ArrayList<>();
+        int count;
+        private volatile Boolean coalesceEnabled;
+
+        private Group(Key key, long windowEndsAt) {
+            this.key = key;
+            this.windowEndsAt = windowEndsAt;
+        }
+    }
+
+    /**
+     * @return true if {@code builder} was held for a later summary; false if it should be
+     *         delivered now
+     */
+    public boolean hold(NotificationBuilder builder) {
+        NotificationCategory category = builder.category != null ? builder.category : NotificationCategory.SYSTEM;
+        if (builder.recipientId == null || !coalesces(category)) {
+            return false;
+        }
+        long windowNanos = properties.getCoalesceWindow().toNanos();
+        Key key = new Key(builder.recipientId, category, builder.refEntityType);
+        long now = System.nanoTime();
+        // Looked up outside compute(), which must not block on the database
+        Group open = groups.get(key);
+        boolean enabled = open == null || coalesceEnabled(open);
+        boolean[] held = { false };
+        groups.compute(key, (k, group) -> {
+            if (group == null || (group.count == 0 && now - group.windowEndsAt >= 0)) {
+                return new Group(k, now + windowNanos);
+            }
+            if (group == open && !enabled) {
+                return group;
+            }
+            // Open window, or closed with held items the next flush will emit: join it
+            if (group.held.size() < MAX_HELD) {
+                group.held.add(builder);
+            }
+            group.count++;
+            held[0] = true;
+            return group;
+        });
+        return held[0];
+    }
+
+    /**
+     * Whether notifications in {@code category} may be held at all.
+     */
+    public boolean coalesces(NotificationCategory category) {
+        return properties.getCoalesceWindow().toNanos() > 0 && properties.getCoalesceCategories().contains(category);
+    }
+
+    private boolean coalesceEnabled(Group group) {
+        Boolean enabled = group.coalesceEnabled;
+        if (enabled == null) {
+            try {
+                enabled = !preferenceRepository.existsByEmployeeIdAndCoalesceEnabledFalse(group.key.recipientId());
+            } catch (Exception e) {
+                enabled = true;
+            }
+            group.coalesceEnabled = enabled;
+        }
+        return enabled;
+    }
+
+    /**
+     * Remove and return groups whose window has closed and that hold notifications.
+     */
+    public List<Group> drainReady() {
+        return drain(false);
+    }
+
+    /**
+     * Remove and return every group holding notifications, regardless of window (shutdown).
+     */
+    public List<Group> drainAll() {
+        return drain(true);
+    }
+
+    private List<Group> drain(boolean all) {
+        long now = System.nanoTime();
+        List<Group> ready = new ArrayList<>();
+        for (Key key : groups.keySet()) {
+            groups.computeIfPresent(key, (k, group) -> {
+                if (!all && now - group.windowEndsAt < 0) {
+                    return group;
+                }
+                if (group.count > 0) {
+                    ready.add(group);
+                }
+                return null;
+            });
+        }
+        return ready;
+    }
+
+    /**
+     * One notification standing for everything held in {@code group}.
+     */
+    public NotificationBuilder summarize(Group group) {
+        List<NotificationBuilder> items = group.held;
+        NotificationBuilder latest = items.get(items.size() - 1);
+        if (group.count == 1) {
+            return latest;
+        }
+
+        String jobTitle = common(items, b -> b.metadata != null ? b.metadata.get("jobTitle") : null) instanceof String s
+                ? s : null;
+        UUID refEntityId = (UUID) common(items, b -> b.refEntityId);
+        String actionUrl = (String) common(items, b -> b.actionUrl);
+        if (actionUrl == null && latest.actionUrl != null && latest.actionUrl.lastIndexOf('/') > 0) {
+            // "/applications/{id}" -> "/applications": the list those items belong to
+            actionUrl = latest.actionUrl.substring(0, latest.actionUrl.lastIndexOf('/'));
+        }
+
+        String title;
+        String body;
+        if (jobTitle != null) {
+            title = group.count + " new " + noun(group.key.category()) + " for " + jobTitle;
+            body = title + ".";
+        } else {
+            title = latest.title + " (+" + (group.count - 1) + " more)";
+            StringBuilder sb = new StringBuilder();
+            for (int i = items.size() - 1; i >= Math.max(0, items.size() - BODY_PREVIEW_ITEMS); i--) {
+                if (!sb.isEmpty()) {
+                    sb.append('\n');
+                }
+                sb.append(items.get(i).body != null ? items.get(i).body : items.get(i).title);
+            }
+            if (group.count > BODY_PREVIEW_ITEMS) {
+                sb.append("\n...and ").append(group.count - BODY_PREVIEW_ITEMS).append(" more.");
+            }
+            body = sb.toString();
+        }
+
+        NotificationPriority priority = NotificationPriority.LOW;
+        Set<UUID> refIds = new LinkedHashSet<>();
+        for (NotificationBuilder b : items) {
+            if (b.priority != null && b.priority.compareTo(priority) > 0) {
+                priority = b.priority;
+            }
+            if (b.refEntityId != null) {
+                refIds.add(b.refEntityId);
+            }
+        }
+
+        NotificationBuilder summary = NotificationBuilder.create()
+                .recipient(group.key.recipientId())
+                .title(title)
+                .body(body)
+                .category(group.key.category())
+                .priority(priority)
+                .refEntity(group.key.refEntityType(), refEntityId)
+                .actionUrl(actionUrl)
+                .icon(latest.iconType)
+                .withMetadata("coalescedCount", group.count)
+                .withMetadata("refEntityIds", List.copyOf(refIds));
+        if (jobTitle != null) {
+            summary.withMetadata("jobTitle", jobTitle);
+        }
+        return summary;
+    }
+
+    // The value shared by every item, or null if they differ
+    private static Object common(List<NotificationBuilder> items, Function<NotificationBuilder, Object> field) {
+        Object first = field.apply(items.get(0));
+        for (NotificationBuilder b : items) {
+            if (!Objects.equals(first, field.apply(b))) {
+                return null;
+            }
+        }
+        return first;
+    }
+
+    private static String noun(NotificationCategory category) {
+        return switch (category) {
+            case APPLICATION -> "applications";
+            case ANALYSIS -> "completed analyses";
+            case TICKET -> "ticket updates";
+            case LEAVE -> "leave requests";
+            case TRACKING -> "status updates";
+            default -> category.name().toLowerCase(Locale.ROOT) + " notifications";
+        };
+    }
+}
@@ -1,15 +1,19 @@
 package com.solventek.silverwind.notifications;
 
 import com.solventek.silverwind.common.ApiResponse;
+import com.solventek.silverwind.common.CursorPage;
 import com.solventek.silverwind.notifications.Notification.NotificationCategory;
 import com.solventek.silverwind.security.UserPrincipal;
+import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.Map;
@@ -25,6 +29,18 @@ import java.util.UUID;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final NotificationStreamRegistry streamRegistry;
+
+    /**
+     * Server-sent events for the current user: {@code notification} when one arrives,
+     * {@code read} when notifications are read or removed, {@code resync} when the client
+     * fell behind and should refetch.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
+    public SseEmitter stream(@AuthenticationPrincipal UserPrincipal currentUser) {
+        return streamRegistry.subscribe(currentUser.getId());
+    }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
@@ -47,6 +63,33 @@ public class NotificationController {
                 notificationService.getNotificationsByCategory(currentUser.getId(), cat, pageable)));
     }
 
+    /**
+     * Cursor-paginated notifications, newest first. Pass {@code nextCursor} from the previous
+     * response as {@code cursor} to get the following page.
+     */
+    @GetMapping("/cursor")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
+    public ResponseEntity<ApiResponse<CursorPage<Notification>>> getNotificationsByCursor(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestParam(required = false, defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(
+                notificationService.getMyNotifications(currentUser.getId(), unreadOnly, cursor, size)));
+    }
+
+    @GetMapping("/category/{category}/cursor")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
+    public ResponseEntity<ApiResponse<CursorPage<Notification>>> getByCategoryAndCursor(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        NotificationCategory cat = NotificationCategory.valueOf(category.toUpperCase());
+        return ResponseEntity.ok(ApiResponse.success(
+                notificationService.getNotificationsByCategory(currentUser.getId(), cat, cursor, size)));
+    }
+
     @GetMapping("/unread-count")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
     public ResponseEntity<ApiResponse<Long>> getUnreadCount(@AuthenticationPrincipal UserPrincipal currentUser) {
@@ -96,10 +139,32 @@ public class NotificationController {
         return ResponseEntity.ok(ApiResponse.success(null));
     }
 
+    @GetMapping("/preferences")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
+    public ResponseEntity<ApiResponse<NotificationPreference>> getPreferences(
+            @AuthenticationPrincipal UserPrincipal currentUser) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.getPreferences(currentUser.getId())));
+    }
+
+    @PutMapping("/preferences")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
+    public ResponseEntity<ApiResponse<NotificationPreference>> updatePreferences(
+            @AuthenticationPrincipal UserPrincipal currentUser,
+            @RequestBody PreferencesRequest request) {
+        return ResponseEntity.ok(ApiResponse.success(notificationService.updatePreferences(
+                currentUser.getId(), request.getEmailMode(), request.getCoalesceEnabled())));
+    }
+
     @DeleteMapping("/read")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
     public ResponseEntity<ApiResponse<Integer>> deleteAllRead(@AuthenticationPrincipal UserPrincipal currentUser) {
         int count = notificationService.deleteAllRead(currentUser.getId());
         return ResponseEntity.ok(ApiResponse.success(count));
     }
+
+    @Data
+    public static class PreferencesRequest {
+        private NotificationPreference.EmailMode emailMode;
+        private Boolean coalesceEnabled;
+    }
 }
@@ -0,0 +1,122 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.config.NotificationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Daily digest email for users whose email mode is {@code DIGEST}: one message summarising
+ * the notifications they haven't read since their previous digest.
+ * <p>
+ * Users are claimed by advancing {@code last_digest_at} with {@code FOR UPDATE SKIP LOCKED},
+ * so when several nodes run the job each user still gets exactly one digest.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationDigestService {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("dd MMM HH:mm");
+
+    private static final String CLAIM_DUE = """
+            UPDATE notification_preferences p SET last_digest_at = LOCALTIMESTAMP, updated_at = LOCALTIMESTAMP
+            FROM (
+                SELECT id, last_digest_at AS previous FROM notification_preferences
+                WHERE email_mode = 'DIGEST'
+                  AND (last_digest_at IS NULL OR last_digest_at < LOCALTIMESTAMP - INTERVAL '20 hours')
+                FOR UPDATE SKIP LOCKED
+            ) due
+            WHERE p.id = due.id
+            RETURNING p.employee_id, due.previous
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailService emailService;
+    private final NotificationProperties properties;
+
+    private record Item(String category, String title, String body, LocalDateTime createdAt) {
+    }
+
+    @Scheduled(cron = "${app.notifications.digest-cron:0 0 8 * * *}")
+    public void sendDailyDigests() {
+        try {
+            List<Object[]> due = jdbcTemplate.query(CLAIM_DUE, (rs, i) -> new Object[] {
+                    rs.getObject("employee_id", UUID.class),
+                    rs.getTimestamp("previous") });
+            int sent = 0;
+            for (Object[] row : due) {
+                UUID userId = (UUID) row[0];
+                LocalDateTime since = row[1] != null
+                        ? ((Timestamp) row[1]).toLocalDateTime()
+                        : LocalDateTime.now().minusDays(1);
+                try {
+                    if (sendDigest(userId, since)) {
+                        sent++;
+                    }
+                } catch (Exception e) {
+                    log.warn("Failed to build notification digest for user {}: {}", userId, e.getMessage());
+                }
+            }
+            if (!due.isEmpty()) {
+                log.info("Notification digests: {} sent, {} users had nothing new", sent, due.size() - sent);
+            }
+        } catch (Exception e) {
+            log.error("Notification digest run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private boolean sendDigest(UUID userId, LocalDateTime since) {
+        String email = jdbcTemplate.query("SELECT email FROM employees WHERE id = ?",
+                rs -> rs.next() ? rs.getString(1) : null, userId);
+        if (email == null || email.isBlank()) {
+            return false;
+        }
+        Long total = jdbcTemplate.queryForObject("""
+                SELECT count(*) FROM notifications
+                WHERE recipient_user_id = ? AND read_at IS NULL AND created_at > ?
+                """, Long.class, userId, Timestamp.valueOf(since));
+        if (total == null || total == 0) {
+            return false;
+        }
+        List<Item> items = jdbcTemplate.query("""
+                SELECT category, title, body, created_at FROM notifications
+                WHERE recipient_user_id = ? AND read_at IS NULL AND created_at > ?
+                ORDER BY created_at DESC
+                LIMIT ?
+                """, (rs, i) -> new Item(rs.getString("category"), rs.getString("title"), rs.getString("body"),
+                rs.getTimestamp("created_at").toLocalDateTime()),
+                userId, Timestamp.valueOf(since), properties.getDigestMaxItems());
+
+        Map<String, List<Item>> byCategory = new TreeMap<>();
+        items.forEach(item -> byCategory.computeIfAbsent(item.category(), c -> new ArrayList<>()).add(item));
+
+        StringBuilder text = new StringBuilder()
+                .append("You have ").append(total).append(" unread notification").append(total == 1 ? "" : "s")
+                .append(" since ").append(since.format(TIME)).append(".\n");
+        byCategory.forEach((category, list) -> {
+            text.append("\n").append(category).append(" (").append(list.size()).append(")\n");
+            for (Item item : list) {
+                text.append("  - [").append(item.createdAt().format(TIME)).append("] ").append(item.title());
+                if (item.body() != null && !item.body().isBlank()) {
+                    text.append(": ").append(item.body().replace('\n', ' '));
+                }
+                text.append("\n");
+            }
+        });
+        if (total > items.size()) {
+            text.append("\n...and ").append(total - items.size()).append(" more in Silverwind.\n");
+        }
+
+        emailService.sendSimpleMessage(email, "Silverwind daily digest: " + total + " unread notification"
+                + (total == 1 ? "" : "s"), text.toString());
+        return true;
+    }
+}
@@ -0,0 +1,170 @@
+package com.solventek.silverwind.notifications;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.common.AfterCommit;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Delivers notification events to open streams on every node.
+ * <p>
+ * Events are handed to the local {@link NotificationStreamRegistry} and broadcast to other
+ * nodes with Postgres {@code NOTIFY} on {@link #CHANNEL}; each node keeps one dedicated
+ * {@code LISTEN} connection (outside the Hikari pool) and forwards what it receives to its
+ * own streams. Messages carry the sending node id so a node ignores its own broadcasts.
+ * <p>
+ * Nothing is delivered unless the surrounding transaction commits: {@code NOTIFY} is itself
+ * transactional, so it is issued inside the transaction, while local delivery is registered
+ * as an after-commit callback.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationEventBus {
+
+    static final String CHANNEL = "silverwind_notifications";
+
+    // NOTIFY payloads are capped at 8000 bytes; recipients are split so each message fits
+    private static final int RECIPIENTS_PER_MESSAGE = 100;
+    private static final int MAX_TEXT_LENGTH = 200;
+    private static final int POLL_TIMEOUT_MS = 10_000;
+    private static final long MAX_RECONNECT_DELAY_MS = 30_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationStreamRegistry registry;
+
+    @Value("${spring.datasource.url}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private volatile boolean running;
+    private volatile Thread listener;
+
+    /**
+     * Send {@code data} as event {@code eventName} to every open stream of the given users,
+     * once the current transaction (if any) has committed.
+     */
+    public void publish(Collection<UUID> userIds, String eventName, Map<String, Object> data) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        List<UUID> recipients = List.copyOf(userIds);
+        Map<String, Object> payload = compact(data);
+        broadcast(recipients, eventName, payload);
+        AfterCommit.run(() -> registry.send(recipients, eventName, payload));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        running = true;
+        listener = Thread.ofPlatform().daemon().name("notification-listener").start(this::listenLoop);
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        running = false;
+        Thread t = listener;
+        if (t != null) {
+            t.interrupt();
+        }
+    }
+
+    private void broadcast(List<UUID> recipients, String eventName, Map<String, Object> data) {
+        try {
+            for (int from = 0; from < recipients.size(); from += RECIPIENTS_PER_MESSAGE) {
+                Map<String, Object> message = new LinkedHashMap<>();
+                message.put("node", nodeId);
+                message.put("event", eventName);
+                message.put("users", recipients.subList(from, Math.min(from + RECIPIENTS_PER_MESSAGE, recipients.size())));
+                message.put("data", data);
+                jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", Object.class, CHANNEL,
+                        objectMapper.writeValueAsString(message));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to broadcast notification event '{}': {}", eventName, e.getMessage());
+        }
+    }
+
+    private void listenLoop() {
+        long delay = 1_000;
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                try (Statement st = conn.createStatement()) {
+                    st.execute("LISTEN " + CHANNEL);
+                }
+                log.info("Listening for notification events on channel {}", CHANNEL);
+                delay = 1_000;
+                PGConnection pg = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pg.getNotifications(POLL_TIMEOUT_MS);
+                    if (notifications != null) {
+                        for (PGNotification n : notifications) {
+                            deliver(n.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Notification listener connection lost ({}), reconnecting in {} ms", e.getMessage(), delay);
+                try {
+                    Thread.sleep(delay);
+                } catch (InterruptedException ie) {
+                    break;
+                }
+                delay = Math.min(delay * 2, MAX_RECONNECT_DELAY_MS);
+            }
+        }
+    }
+
+    private void deliver(String payload) {
+        try {
+            JsonNode message = objectMapper.readTree(payload);
+            if (nodeId.equals(message.path("node").asText())) {
+                return;
+            }
+            List<UUID> users = new ArrayList<>();
+            for (JsonNode user : message.path("users")) {
+                users.add(UUID.fromString(user.asText()));
+            }
+            registry.send(users, message.path("event").asText(), message.path("data"));
+        } catch (Exception e) {
+            log.warn("Ignoring malformed notification event: {}", e.getMessage());
+        }
+    }
+
+    // Keeps broadcast payloads small: long text is cut, clients fetch full content over REST
+    private Map<String, Object> compact(Map<String, Object> data) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        data.forEach((k, v) -> {
+            if (v instanceof String s && s.length() > MAX_TEXT_LENGTH) {
+                out.put(k, s.substring(0, MAX_TEXT_LENGTH));
+            } else if (v != null) {
+                out.put(k, v);
+            }
+        });
+        return out;
+    }
+}
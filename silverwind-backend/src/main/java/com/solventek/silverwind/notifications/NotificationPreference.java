@@ -0,0 +1,42 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.common.BaseEntity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A user's notification delivery preferences. Absent rows mean the defaults.
+ */
+@Entity
+@Table(name = "notification_preferences")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationPreference extends BaseEntity {
+
+    @Column(name = "employee_id", nullable = false, unique = true)
+    private UUID employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "email_mode", nullable = false)
+    @Builder.Default
+    private EmailMode emailMode = EmailMode.IMMEDIATE;
+
+    @Column(name = "coalesce_enabled", nullable = false)
+    @Builder.Default
+    private boolean coalesceEnabled = true;
+
+    @Column(name = "last_digest_at")
+    private LocalDateTime lastDigestAt;
+
+    public enum EmailMode {
+        IMMEDIATE, // One email per notification
+        DIGEST, // One summary email per day
+        OFF // In-app only
+    }
+}
@@ -0,0 +1,19 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.notifications.NotificationPreference.EmailMode;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface NotificationPreferenceRepository extends JpaRepository<NotificationPreference, UUID> {
+
+    Optional<NotificationPreference> findByEmployeeId(UUID employeeId);
+
+    @Query("SELECT p.emailMode FROM NotificationPreference p WHERE p.employeeId = :employeeId")
+    Optional<EmailMode> findEmailMode(@Param("employeeId") UUID employeeId);
+
+    boolean existsByEmployeeIdAndCoalesceEnabledFalse(UUID employeeId);
+}
@@ -1,6 +1,7 @@
 package com.solventek.silverwind.notifications;
 
 import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -21,14 +22,49 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     Page<Notification> findByRecipientIdAndCategoryOrderByCreatedAtDesc(UUID recipientId, NotificationCategory category,
             Pageable pageable);
 
+    // ---- Keyset pagination: newest first, (created_at, id) cursor ----
+    // First pages use derived queries; later pages seek past the cursor with a row comparison,
+    // which Postgres serves as one range scan on the (recipient_user_id, [category,] created_at, id) indexes.
+
+    List<Notification> findByRecipientIdOrderByCreatedAtDescIdDesc(UUID recipientId, Limit limit);
+
+    List<Notification> findByRecipientIdAndReadAtIsNullOrderByCreatedAtDescIdDesc(UUID recipientId, Limit limit);
+
+    List<Notification> findByRecipientIdAndCategoryOrderByCreatedAtDescIdDesc(UUID recipientId,
+            NotificationCategory category, Limit limit);
+
+    @Query(value = """
+            SELECT * FROM notifications
+            WHERE recipient_user_id = :userId AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Notification> findPageAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM notifications
+            WHERE recipient_user_id = :userId AND read_at IS NULL AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Notification> findUnreadPageAfter(@Param("userId") UUID userId, @Param("createdAt") LocalDateTime createdAt,
+            @Param("id") UUID id, @Param("limit") int limit);
+
+    @Query(value = """
+            SELECT * FROM notifications
+            WHERE recipient_user_id = :userId AND category = :category AND (created_at, id) < (:createdAt, :id)
+            ORDER BY created_at DESC, id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<Notification> findCategoryPageAfter(@Param("userId") UUID userId, @Param("category") String category,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, @Param("limit") int limit);
+
     @Query("SELECT DISTINCT n.refEntityId FROM Notification n WHERE n.recipient.id = :userId AND n.readAt IS NULL AND n.category = :category")
     List<UUID> findUnreadEntityIds(@Param("userId") UUID userId, @Param("category") NotificationCategory category);
 
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :userId AND n.readAt IS NULL")
-    long countUnread(@Param("userId") UUID userId);
-
-    @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient.id = :userId AND n.readAt IS NULL AND n.category = :category")
-    long countUnreadByCategory(@Param("userId") UUID userId, @Param("category") NotificationCategory category);
+    @Query("SELECT n.category, COUNT(n) FROM Notification n WHERE n.recipient.id = :userId AND n.readAt IS NULL GROUP BY n.category")
+    List<Object[]> countUnreadGroupedByCategory(@Param("userId") UUID userId);
 
     @Modifying
     @Query("UPDATE Notification n SET n.readAt = :readAt WHERE n.recipient.id = :userId AND n.readAt IS NULL")
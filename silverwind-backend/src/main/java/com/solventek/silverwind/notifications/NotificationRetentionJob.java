@@ -0,0 +1,112 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.common.PartitionManager;
+import com.solventek.silverwind.config.NotificationProperties;
+import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Nightly housekeeping for the monthly-partitioned {@code notifications} table:
+ * <ol>
+ * <li>creates partitions a few months ahead,</li>
+ * <li>deletes read notifications past their category's expiry,</li>
+ * <li>drops or archives whole partitions older than the retention period.</li>
+ * </ol>
+ * The read-expiry delete has no lower bound, so rows a failed or skipped run left behind are
+ * picked up by the next one. It runs in batches of {@link #EXPIRE_BATCH_SIZE} found through
+ * the partial {@code idx_notifications_read_expiry} index, so a large backlog never becomes
+ * one long transaction. Each batch is also bounded by {@code created_at}, so partitions newer
+ * than the cutoff are pruned from the scan.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationRetentionJob {
+
+    private static final String TABLE = "notifications";
+    private static final int EXPIRE_BATCH_SIZE = 5000;
+
+    private static final String EXPIRE_READ = """
+            DELETE FROM notifications
+            WHERE (id, created_at) IN (
+                SELECT id, created_at FROM notifications
+                WHERE category = ANY (?::text[]) AND read_at < ? AND created_at < ?
+                LIMIT ?
+            )
+            """;
+
+    private final PartitionManager partitionManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        try {
+            partitionManager.ensureMonthlyPartitions(TABLE, properties.getPartitionMonthsAhead());
+        } catch (Exception e) {
+            log.error("Failed to create notification partitions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.notifications.retention-cron:0 30 3 * * *}")
+    public void run() {
+        try {
+            partitionManager.ensureMonthlyPartitions(TABLE, properties.getPartitionMonthsAhead());
+            expireRead();
+            List<String> retired = partitionManager.retireBefore(TABLE,
+                    PartitionManager.keepFrom(properties.getRetentionMonths()), properties.getRetentionMode());
+            if (!retired.isEmpty()) {
+                log.info("Notification retention removed partitions {}", retired);
+            }
+        } catch (Exception e) {
+            log.error("Notification retention failed: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Delete read notifications past their category's expiry: batched statements per distinct
+     * expiry period.
+     */
+    int expireRead() {
+        Map<Duration, List<String>> byExpiry = new TreeMap<>();
+        for (NotificationCategory category : NotificationCategory.values()) {
+            Duration expiry = properties.getReadExpiry().getOrDefault(category, properties.getReadExpiryDefault());
+            if (expiry != null && expiry.isPositive()) {
+                byExpiry.computeIfAbsent(expiry, d -> new ArrayList<>()).add(category.name());
+            }
+        }
+
+        int total = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<Duration, List<String>> entry : byExpiry.entrySet()) {
+            // A notification is read after it is created, so read_at < cutoff implies created_at < cutoff
+            Timestamp cutoff = Timestamp.valueOf(now.minus(entry.getKey()));
+            String categories = "{" + String.join(",", entry.getValue()) + "}";
+            int deleted = 0;
+            int batch;
+            do {
+                batch = jdbcTemplate.update(EXPIRE_READ, categories, cutoff, cutoff, EXPIRE_BATCH_SIZE);
+                deleted += batch;
+            } while (batch == EXPIRE_BATCH_SIZE);
+            total += deleted;
+            if (deleted > 0) {
+                log.debug("Expired {} read notifications older than {} in {}", deleted, entry.getKey(), entry.getValue());
+            }
+        }
+        if (total > 0) {
+            log.info("Expired {} read notifications", total);
+        }
+        return total;
+    }
+}
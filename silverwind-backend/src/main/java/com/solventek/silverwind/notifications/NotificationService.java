@@ -4,23 +4,27 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.solventek.silverwind.auth.Employee;
 import com.solventek.silverwind.auth.EmployeeRepository;
+import com.solventek.silverwind.common.AfterCommit;
+import com.solventek.silverwind.common.CursorPage;
 import com.solventek.silverwind.notifications.Notification.NotificationCategory;
 import com.solventek.silverwind.notifications.Notification.NotificationPriority;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -32,21 +36,79 @@ public class NotificationService {
     private final ObjectMapper objectMapper;
     private final EmailService emailService;
     private final ApplicationContext applicationContext;
+    private final JdbcTemplate jdbcTemplate;
+    private final UnreadCountCache unreadCountCache;
+    private final NotificationEventBus eventBus;
+    private final NotificationCoalescer coalescer;
+    private final NotificationPreferenceRepository preferenceRepository;
+
+    /**
+     * Inserts one notification per recipient in a single statement and returns the
+     * recipients' ids, plus their email address when they want immediate emails.
+     * The recipient filter is appended by the caller.
+     */
+    private static final String BULK_INSERT = """
+            WITH inserted AS (
+                INSERT INTO notifications (id, created_at, updated_at, recipient_user_id, title, body, category,
+                                           priority, ref_entity_type, ref_entity_id, action_url, icon_type, metadata)
+                SELECT gen_random_uuid(), LOCALTIMESTAMP, LOCALTIMESTAMP, e.id, ?, ?, ?, ?, ?, ?::uuid, ?, ?, ?
+                FROM employees e
+                WHERE %s
+                RETURNING recipient_user_id
+            )
+            SELECT e.id, CASE WHEN coalesce(p.email_mode, 'IMMEDIATE') = 'IMMEDIATE' THEN e.email END AS email
+            FROM inserted i
+            JOIN employees e ON e.id = i.recipient_user_id
+            LEFT JOIN notification_preferences p ON p.employee_id = e.id
+            """;
 
     // ========== ASYNC NOTIFICATION METHODS ==========
 
     /**
      * Send a rich notification asynchronously with all metadata.
      * This is the async entry point - runs in separate thread so main transaction is not blocked.
+     * Bursts in coalescing categories may be held briefly and merged (see {@link NotificationCoalescer}).
      * NOTE: Returns Notification for backward compatibility, but the actual work is done async.
      */
     public Notification sendNotification(NotificationBuilder builder) {
-        log.debug("Queueing async notification of type: {} to user: {}", builder.category, builder.recipientId);
+        NotificationBuilder copy = builder.copy();
+        if (coalescer.hold(copy)) {
+            log.trace("Holding notification of type: {} to user: {} for coalescing", copy.category, copy.recipientId);
+            return null;
+        }
+        log.debug("Queueing async notification of type: {} to user: {}", copy.category, copy.recipientId);
         // Fire and forget - async processing (via proxy to ensure @Transactional works)
-        applicationContext.getBean(NotificationService.class).processNotificationAsync(builder);
+        self().processNotificationAsync(copy);
         return null; // Caller doesn't need to wait for result
     }
 
+    /**
+     * Emit held notifications whose coalescing window has closed, one summary per group.
+     */
+    @Scheduled(fixedDelayString = "PT5S")
+    public void flushCoalesced() {
+        deliverCoalesced(coalescer.drainReady());
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushCoalescedOnShutdown() {
+        deliverCoalesced(coalescer.drainAll());
+    }
+
+    private void deliverCoalesced(List<NotificationCoalescer.Group> groups) {
+        if (groups.isEmpty()) {
+            return;
+        }
+        try {
+            for (NotificationCoalescer.Group group : groups) {
+                self().processNotificationAsync(coalescer.summarize(group));
+            }
+            log.debug("Flushed {} coalesced notification group(s)", groups.size());
+        } catch (Exception e) {
+            log.error("Failed to flush coalesced notifications: {}", e.getMessage(), e);
+        }
+    }
+
     /**
      * Internal async method that actually processes the notification.
      * Runs in a separate thread to not block the main transaction.
@@ -72,9 +134,14 @@ public class NotificationService {
                     .build();
 
             notificationRepository.save(note);
-
-            // Send Email (also async via EmailService)
-            if (recipient.getEmail() != null && !recipient.getEmail().isEmpty()) {
+            AfterCommit.run(() -> unreadCountCache.invalidate(builder.recipientId));
+            eventBus.publish(List.of(builder.recipientId), "notification", streamPayload(note.getId(), builder));
+
+            // Queue email in the same transaction (delivered by the outbox dispatcher)
+            boolean emailNow = preferenceRepository.findEmailMode(builder.recipientId)
+                    .map(mode -> mode == NotificationPreference.EmailMode.IMMEDIATE)
+                    .orElse(true);
+            if (emailNow && recipient.getEmail() != null && !recipient.getEmail().isEmpty()) {
                 emailService.sendSimpleMessage(
                         recipient.getEmail(),
                         "Silverwind Notification: " + builder.title,
@@ -102,24 +169,105 @@ public class NotificationService {
     }
 
     /**
-     * Send notification to all users of an organization (async for each)
+     * Send notification to all users of an organization (one bulk task)
      */
     public void sendNotificationToOrgAdmins(UUID orgId, String title, String body, String refType, UUID refId) {
         log.debug("Sending notifications to Org Admins of Org ID: {}", orgId);
-        List<Employee> admins = employeeRepository.findByOrganizationId(orgId);
-        for (Employee admin : admins) {
-            sendNotification(admin.getId(), title, body, refType, refId);
-        }
+        sendNotificationToOrg(orgId, NotificationBuilder.create()
+                .title(title)
+                .body(body)
+                .refEntity(refType, refId)
+                .category(mapRefTypeToCategory(refType)));
     }
 
     /**
-     * Send rich notification to all users of an organization (async for each)
+     * Send rich notification to all users of an organization (one bulk task)
      */
     public void sendNotificationToOrg(UUID orgId, NotificationBuilder builder) {
-        log.debug("Sending bulk notification to all users in Org ID: {}", orgId);
-        List<Employee> users = employeeRepository.findByOrganizationId(orgId);
-        for (Employee employee : users) {
-            sendNotification(builder.recipient(employee.getId()));
+        log.debug("Queueing bulk notification to all users in Org ID: {}", orgId);
+        self().processBulkNotificationAsync(orgId, null, builder.copy());
+    }
+
+    /**
+     * Send the same rich notification to each of the given users (one bulk task).
+     * The builder's recipient is ignored.
+     */
+    public void sendBulkNotification(Collection<UUID> recipientIds, NotificationBuilder builder) {
+        if (recipientIds == null || recipientIds.isEmpty()) {
+            return;
+        }
+        log.debug("Queueing bulk notification to {} users", recipientIds.size());
+        self().processBulkNotificationAsync(null, new ArrayList<>(new LinkedHashSet<>(recipientIds)), builder.copy());
+    }
+
+    /**
+     * Fan-out for bulk sends: every notification row is written by one INSERT ... SELECT in a
+     * single transaction, with the emails queued to the outbox in one batch. Recipients are either all
+     * users of {@code orgId} or the explicit {@code recipientIds}. In coalescing categories each
+     * recipient goes through {@link NotificationCoalescer#hold} first, and only those not held
+     * are inserted here.
+     */
+    @Async
+    @Transactional
+    public void processBulkNotificationAsync(UUID orgId, List<UUID> recipientIds, NotificationBuilder builder) {
+        try {
+            NotificationCategory category = builder.category != null ? builder.category : NotificationCategory.SYSTEM;
+            if (coalescer.coalesces(category)) {
+                List<UUID> targets = orgId != null
+                        ? jdbcTemplate.queryForList("SELECT id FROM employees WHERE org_id = ?", UUID.class, orgId)
+                        : recipientIds;
+                orgId = null;
+                recipientIds = new ArrayList<>();
+                for (UUID target : targets) {
+                    if (!coalescer.hold(builder.copy().recipient(target))) {
+                        recipientIds.add(target);
+                    }
+                }
+                if (recipientIds.isEmpty()) {
+                    log.trace("Holding bulk notification '{}' for all {} recipients", builder.title, targets.size());
+                    return;
+                }
+            }
+
+            List<Object> args = new ArrayList<>(List.of(
+                    builder.title,
+                    builder.body,
+                    category.name(),
+                    (builder.priority != null ? builder.priority : NotificationPriority.NORMAL).name()));
+            args.add(builder.refEntityType);
+            args.add(builder.refEntityId);
+            args.add(builder.actionUrl);
+            args.add(builder.iconType);
+            args.add(serializeMetadata(builder.metadata));
+
+            String filter;
+            if (orgId != null) {
+                filter = "e.org_id = ?";
+                args.add(orgId);
+            } else {
+                filter = "e.id = ANY (?::uuid[])";
+                args.add("{" + String.join(",", recipientIds.stream().map(UUID::toString).toList()) + "}");
+            }
+
+            List<UUID> recipients = new ArrayList<>();
+            List<String> emails = new ArrayList<>();
+            jdbcTemplate.query(BULK_INSERT.formatted(filter), rs -> {
+                recipients.add(rs.getObject("id", UUID.class));
+                String email = rs.getString("email");
+                if (email != null && !email.isEmpty()) {
+                    emails.add(email);
+                }
+            }, args.toArray());
+            AfterCommit.run(() -> unreadCountCache.invalidateAll(recipients));
+            eventBus.publish(recipients, "notification", streamPayload(null, builder));
+
+            if (!emails.isEmpty()) {
+                emailService.sendBulkSimpleMessage(emails, "Silverwind Notification: " + builder.title, builder.body);
+            }
+            log.debug("Bulk notification '{}' sent to {} users", builder.title, recipients.size());
+        } catch (Exception e) {
+            log.error("Failed to send bulk notification '{}': {}", builder.title, e.getMessage(), e);
+            // Don't rethrow - notification failure shouldn't affect main flow
         }
     }
 
@@ -139,9 +287,46 @@ public class NotificationService {
         return notificationRepository.findByRecipientIdAndCategoryOrderByCreatedAtDesc(userId, category, pageable);
     }
 
+    /**
+     * Keyset-paginated variant of {@link #getMyNotifications}: constant cost per page at any
+     * depth, no total count.
+     */
+    public CursorPage<Notification> getMyNotifications(UUID userId, boolean unreadOnly, String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<Notification> rows;
+        if (after == null) {
+            rows = unreadOnly
+                    ? notificationRepository.findByRecipientIdAndReadAtIsNullOrderByCreatedAtDescIdDesc(userId,
+                            Limit.of(limit + 1))
+                    : notificationRepository.findByRecipientIdOrderByCreatedAtDescIdDesc(userId, Limit.of(limit + 1));
+        } else {
+            rows = unreadOnly
+                    ? notificationRepository.findUnreadPageAfter(userId, after.createdAt(), after.id(), limit + 1)
+                    : notificationRepository.findPageAfter(userId, after.createdAt(), after.id(), limit + 1);
+        }
+        return CursorPage.of(rows, limit, n -> new CursorPage.Cursor(n.getCreatedAt(), n.getId()));
+    }
+
+    public CursorPage<Notification> getNotificationsByCategory(UUID userId, NotificationCategory category,
+            String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        CursorPage.Cursor after = CursorPage.Cursor.decode(cursor);
+        List<Notification> rows = after == null
+                ? notificationRepository.findByRecipientIdAndCategoryOrderByCreatedAtDescIdDesc(userId, category,
+                        Limit.of(limit + 1))
+                : notificationRepository.findCategoryPageAfter(userId, category.name(), after.createdAt(), after.id(),
+                        limit + 1);
+        return CursorPage.of(rows, limit, n -> new CursorPage.Cursor(n.getCreatedAt(), n.getId()));
+    }
+
     public long getUnreadCount(UUID userId) {
         log.trace("Counting unread notifications for User ID: {}", userId);
-        return notificationRepository.countUnread(userId);
+        long total = 0;
+        for (long count : unreadCounts(userId).values()) {
+            total += count;
+        }
+        return total;
     }
 
     public List<UUID> getUnreadEntityIds(UUID userId, NotificationCategory category) {
@@ -149,35 +334,50 @@ public class NotificationService {
         return notificationRepository.findUnreadEntityIds(userId, category);
     }
 
+    /**
+     * Unread count for every category (zero-filled), from one GROUP BY over the user's unread
+     * rows, cached briefly per user.
+     */
     public Map<String, Long> getUnreadCountByCategory(UUID userId) {
         log.trace("Getting unread count by category for User ID: {}", userId);
-        return Map.ofEntries(
-                Map.entry("APPLICATION",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.APPLICATION)),
-                Map.entry("JOB", notificationRepository.countUnreadByCategory(userId, NotificationCategory.JOB)),
-                Map.entry("TICKET", notificationRepository.countUnreadByCategory(userId, NotificationCategory.TICKET)),
-                Map.entry("USER", notificationRepository.countUnreadByCategory(userId, NotificationCategory.USER)),
-                Map.entry("ORGANIZATION",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.ORGANIZATION)),
-                Map.entry("PROJECT",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.PROJECT)),
-                Map.entry("TRACKING",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.TRACKING)),
-                Map.entry("ANALYSIS",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.ANALYSIS)),
-                Map.entry("ONBOARDING",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.ONBOARDING)),
-                Map.entry("LEAVE", notificationRepository.countUnreadByCategory(userId, NotificationCategory.LEAVE)),
-                Map.entry("ATTENDANCE",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.ATTENDANCE)),
-                Map.entry("PAYROLL",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.PAYROLL)),
-                Map.entry("SYSTEM", notificationRepository.countUnreadByCategory(userId, NotificationCategory.SYSTEM)),
-                Map.entry("INTERVIEW",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.INTERVIEW)),
-                Map.entry("ASSET", notificationRepository.countUnreadByCategory(userId, NotificationCategory.ASSET)),
-                Map.entry("HOLIDAY",
-                        notificationRepository.countUnreadByCategory(userId, NotificationCategory.HOLIDAY)));
+        Map<NotificationCategory, Long> counts = unreadCounts(userId);
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (NotificationCategory category : NotificationCategory.values()) {
+            result.put(category.name(), counts.getOrDefault(category, 0L));
+        }
+        return result;
+    }
+
+    private Map<NotificationCategory, Long> unreadCounts(UUID userId) {
+        return unreadCountCache.get(userId, id -> {
+            Map<NotificationCategory, Long> counts = new EnumMap<>(NotificationCategory.class);
+            for (Object[] row : notificationRepository.countUnreadGroupedByCategory(id)) {
+                counts.put((NotificationCategory) row[0], (Long) row[1]);
+            }
+            return counts;
+        });
+    }
+
+    // ========== PREFERENCES ==========
+
+    public NotificationPreference getPreferences(UUID userId) {
+        return preferenceRepository.findByEmployeeId(userId)
+                .orElseGet(() -> NotificationPreference.builder().employeeId(userId).build());
+    }
+
+    @Transactional
+    public NotificationPreference updatePreferences(UUID userId, NotificationPreference.EmailMode emailMode,
+            Boolean coalesceEnabled) {
+        log.info("Updating notification preferences for User ID: {}", userId);
+        NotificationPreference pref = preferenceRepository.findByEmployeeId(userId)
+                .orElseGet(() -> NotificationPreference.builder().employeeId(userId).build());
+        if (emailMode != null) {
+            pref.setEmailMode(emailMode);
+        }
+        if (coalesceEnabled != null) {
+            pref.setCoalesceEnabled(coalesceEnabled);
+        }
+        return preferenceRepository.save(pref);
     }
 
     // ========== ACTIONS ==========
@@ -195,8 +395,12 @@ public class NotificationService {
                 throw new EntityNotFoundException("Notification not found for user");
             }
 
-            n.setReadAt(LocalDateTime.now());
-            notificationRepository.save(n);
+            if (n.getReadAt() == null) {
+                n.setReadAt(LocalDateTime.now());
+                notificationRepository.save(n);
+                AfterCommit.run(() -> unreadCountCache.invalidate(userId));
+                eventBus.publish(List.of(userId), "read", Map.of("id", notificationId));
+            }
         } catch (Exception e) {
             log.error("Error marking notification {} as read for user {}: {}", notificationId, userId, e.getMessage(),
                     e);
@@ -207,7 +411,12 @@ public class NotificationService {
     @Transactional
     public int markAllAsRead(UUID userId) {
         log.info("Marking ALL notifications as read for User ID: {}", userId);
-        return notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        AfterCommit.run(() -> unreadCountCache.invalidate(userId));
+        if (updated > 0) {
+            eventBus.publish(List.of(userId), "read", Map.of("all", true));
+        }
+        return updated;
     }
 
     @Transactional
@@ -221,6 +430,10 @@ public class NotificationService {
         }
 
         notificationRepository.delete(n);
+        if (!n.isRead()) {
+            AfterCommit.run(() -> unreadCountCache.invalidate(userId));
+            eventBus.publish(List.of(userId), "read", Map.of("id", notificationId));
+        }
     }
 
     @Transactional
@@ -251,6 +464,24 @@ public class NotificationService {
         };
     }
 
+    // Stream events carry the headline only; clients load the full notification over REST
+    private Map<String, Object> streamPayload(UUID notificationId, NotificationBuilder builder) {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("id", notificationId);
+        payload.put("title", builder.title);
+        payload.put("category", builder.category != null ? builder.category : NotificationCategory.SYSTEM);
+        payload.put("priority", builder.priority != null ? builder.priority : NotificationPriority.NORMAL);
+        payload.put("refEntityType", builder.refEntityType);
+        payload.put("refEntityId", builder.refEntityId);
+        payload.put("actionUrl", builder.actionUrl);
+        payload.put("iconType", builder.iconType);
+        return payload;
+    }
+
+    private NotificationService self() {
+        return applicationContext.getBean(NotificationService.class);
+    }
+
     private String serializeMetadata(Map<String, Object> metadata) {
         if (metadata == null || metadata.isEmpty())
             return null;
@@ -327,6 +558,24 @@ public class NotificationService {
             return this;
         }
 
+        /**
+         * Independent copy, so a builder handed to an async task can't be changed by the caller.
+         */
+        public NotificationBuilder copy() {
+            NotificationBuilder b = new NotificationBuilder();
+            b.recipientId = recipientId;
+            b.title = title;
+            b.body = body;
+            b.category = category;
+            b.priority = priority;
+            b.refEntityType = refEntityType;
+            b.refEntityId = refEntityId;
+            b.actionUrl = actionUrl;
+            b.iconType = iconType;
+            b.metadata = metadata != null ? new HashMap<>(metadata) : null;
+            return b;
+        }
+
         public NotificationBuilder withMetadata(String key, Object value) {
             if (this.metadata == null) {
                 this.metadata = new HashMap<>();
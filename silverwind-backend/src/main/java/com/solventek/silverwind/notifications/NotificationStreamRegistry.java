@@ -0,0 +1,181 @@
+package com.solventek.silverwind.notifications;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory registry of open notification streams (SSE) on this node.
+ * <p>
+ * Each connection has a small bounded queue drained by a virtual thread, so a slow client
+ * never blocks the publisher or other clients. If a client's queue overflows its pending
+ * events are dropped and replaced by a single {@code resync} event, telling the client to
+ * refetch over REST. Heartbeat comments keep proxies and the load balancer from closing
+ * idle streams and flush out dead connections.
+ */
+@Component
+@Slf4j
+public class NotificationStreamRegistry {
+
+    private static final long EMITTER_TIMEOUT_MS = Duration.ofMinutes(30).toMillis();
+    private static final int QUEUE_CAPACITY = 32;
+    private static final int MAX_STREAMS_PER_USER = 5;
+
+    private final Map<UUID, Set<Client>> clients = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sse-", 0).factory());
+
+    /**
+     * Open a stream for {@code userId}. The oldest stream is closed when the user already has
+     * {@link #MAX_STREAMS_PER_USER} open.
+     */
+    public SseEmitter subscribe(UUID userId) {
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        Client client = new Client(userId, emitter);
+        // Add inside compute(): remove() can't drop the set between lookup and add, which would
+        // leave the new client in a set no longer in the map
+        Client[] evicted = { null };
+        Set<Client> userClients = clients.compute(userId, (id, set) -> {
+            Set<Client> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            current.add(client);
+            if (current.size() > MAX_STREAMS_PER_USER) {
+                evicted[0] = current.stream().min(Comparator.comparingLong(c -> c.openedAt)).orElse(null);
+            }
+            return current;
+        });
+        // Closed outside compute(): close() calls remove(), which updates the same map entry
+        if (evicted[0] != null) {
+            evicted[0].close();
+        }
+
+        emitter.onCompletion(() -> remove(client));
+        emitter.onTimeout(() -> remove(client));
+        emitter.onError(e -> remove(client));
+
+        client.offer(SseEmitter.event().name("connected").data(Map.of("userId", userId)), false);
+        log.debug("Notification stream opened for user {} ({} open)", userId, userClients.size());
+        return emitter;
+    }
+
+    /**
+     * Queue an event for every open stream of the given users on this node.
+     */
+    public void send(Collection<UUID> userIds, String eventName, Object data) {
+        for (UUID userId : userIds) {
+            Set<Client> userClients = clients.get(userId);
+            if (userClients == null) {
+                continue;
+            }
+            for (Client client : userClients) {
+                client.offer(SseEmitter.event().name(eventName).data(data), true);
+            }
+        }
+    }
+
+    public int openStreams() {
+        return clients.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Scheduled(fixedDelayString = "PT20S")
+    public void heartbeat() {
+        for (Set<Client> userClients : clients.values()) {
+            for (Client client : userClients) {
+                // Heartbeats are best-effort: a client that is already backed up is not sent one
+                client.offer(SseEmitter.event().comment("hb"), false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        clients.values().forEach(userClients -> userClients.forEach(Client::close));
+        senders.shutdownNow();
+    }
+
+    private void remove(Client client) {
+        clients.computeIfPresent(client.userId, (id, userClients) -> {
+            userClients.remove(client);
+            return userClients.isEmpty() ? null : userClients;
+        });
+    }
+
+    private final class Client {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final long openedAt = System.nanoTime();
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean closed;
+
+        private Client(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        /**
+         * @param resyncOnOverflow replace the backlog with a resync event when the queue is full;
+         *                         otherwise the event is simply dropped
+         */
+        void offer(SseEmitter.SseEventBuilder event, boolean resyncOnOverflow) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                if (!resyncOnOverflow) {
+                    return;
+                }
+                log.debug("Notification stream for user {} is backed up, sending resync", userId);
+                queue.clear();
+                queue.offer(SseEmitter.event().name("resync").data(Map.of("reason", "overflow")));
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    draining.set(false);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (Exception e) {
+                log.debug("Notification stream for user {} closed: {}", userId, e.getMessage());
+                close();
+            } finally {
+                draining.set(false);
+            }
+            // An event may have been queued between the last poll and releasing the flag
+            if (!closed && !queue.isEmpty()) {
+                scheduleDrain();
+            }
+        }
+
+        void close() {
+            closed = true;
+            queue.clear();
+            remove(this);
+            try {
+                emitter.complete();
+            } catch (Exception ignored) {
+                // Already completed or the connection is gone
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.solventek.silverwind.notifications;
+
+import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Short-lived per-user cache of unread notification counts by category.
+ * <p>
+ * The badge endpoints are polled by every open tab; entries absorb that polling between
+ * writes. {@link NotificationService} invalidates a user's entry after any committed write
+ * that changes their unread set, and {@link #TTL} bounds staleness for writes made by
+ * other nodes.
+ */
+@Component
+public class UnreadCountCache {
+
+    private static final long TTL_NANOS = Duration.ofSeconds(15).toNanos();
+    private static final int MAX_ENTRIES = 20_000;
+
+    private final Map<UUID, Entry> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private record Entry(Map<NotificationCategory, Long> counts, long expiresAt) {
+    }
+
+    public Map<NotificationCategory, Long> get(UUID userId,
+            Function<UUID, Map<NotificationCategory, Long>> loader) {
+        Entry entry = cache.get(userId);
+        if (entry != null && entry.expiresAt() - System.nanoTime() > 0) {
+            return entry.counts();
+        }
+        Map<NotificationCategory, Long> counts = Collections.unmodifiableMap(loader.apply(userId));
+        cache.put(userId, new Entry(counts, System.nanoTime() + TTL_NANOS));
+        return counts;
+    }
+
+    public void invalidate(UUID userId) {
+        if (userId != null) {
+            cache.remove(userId);
+        }
+    }
+
+    public void invalidateAll(Collection<UUID> userIds) {
+        for (UUID userId : userIds) {
+            invalidate(userId);
+        }
+    }
+}
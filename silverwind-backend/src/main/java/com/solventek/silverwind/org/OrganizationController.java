@@ -27,6 +27,10 @@ public class OrganizationController {
     @PreAuthorize("hasAnyRole('SUPER_ADMIN','HR_ADMIN')")
     public ResponseEntity<ApiResponse<String>> uploadHandbook(
             @RequestParam("file") org.springframework.web.multipart.MultipartFile file) {
+        // The multipart limit is sized for resume ZIP imports; handbooks keep their 10MB cap
+        if (file.getSize() > 10 * 1024 * 1024) {
+            throw new org.springframework.web.multipart.MaxUploadSizeExceededException(10 * 1024 * 1024);
+        }
         handbookService.uploadHandbook(file);
         return ResponseEntity.ok(ApiResponse.success("Handbook uploaded and indexed successfully.", null));
     }
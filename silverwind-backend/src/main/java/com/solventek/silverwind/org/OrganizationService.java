@@ -34,6 +34,7 @@ public class OrganizationService {
 
     private final com.solventek.silverwind.rbac.RbacService rbacService;
     private final StorageService storageService;
+    private final com.solventek.silverwind.storage.PresignedUrlCache presignedUrlCache;
     private final jakarta.persistence.EntityManager entityManager;
 
     public Organization getOrganization(UUID id) {
@@ -356,11 +357,14 @@ public class OrganizationService {
 
             // Upload using StorageService with custom key
             storageService.uploadWithKey(file, storageKey);
+            // Same key when the name is unchanged; don't keep serving a URL cached for the old file
+            presignedUrlCache.evict(storageKey);
 
             // Delete old logo if exists AND is different from new key
             if (org.getLogoUrl() != null && !org.getLogoUrl().isEmpty() && !org.getLogoUrl().equals(storageKey)) {
                 try {
                     storageService.delete(org.getLogoUrl());
+                    presignedUrlCache.evict(org.getLogoUrl());
                 } catch (Exception e) {
                     log.warn("Failed to delete old logo: {}", org.getLogoUrl());
                 }
@@ -492,9 +496,8 @@ public class OrganizationService {
         if (logoUrl != null && !logoUrl.isEmpty() && !logoUrl.startsWith("http")
                 && !logoUrl.startsWith("/api/files/")) {
             try {
-                // Generate presigned URL (valid for 60 mins by default)
-                String presignedUrl = storageService.getPresignedUrl(logoUrl, java.time.Duration.ofMinutes(60));
-                org.setLogoUrl(presignedUrl);
+                // Presigned URL, reused from the cache while still valid
+                org.setLogoUrl(presignedUrlCache.resolve(logoUrl));
             } catch (Exception e) {
                 // If presigning fails, log but return original
                 log.warn("Failed to generate presigned URL for organization logo {}: {}", org.getId(), e.getMessage());
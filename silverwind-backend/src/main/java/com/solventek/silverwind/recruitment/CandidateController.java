@@ -7,6 +7,10 @@ import com.solventek.silverwind.org.OrganizationType;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +30,8 @@ import java.util.UUID;
 public class CandidateController {
 
     private final CandidateService candidateService;
+    private final CandidateImportService candidateImportService;
+    private final CandidateSearchService candidateSearchService;
     private final EmployeeRepository employeeRepository;
 
     private Employee getCurrentUser() {
@@ -47,6 +53,25 @@ public class CandidateController {
         ));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasRole('VENDOR')")
+    public ResponseEntity<ApiResponse<CandidateImportService.ImportProgress>> importResumes(
+            @RequestParam("file") MultipartFile file) {
+        log.info("Received resume ZIP import request: {} ({} bytes)", file.getOriginalFilename(), file.getSize());
+        Employee user = getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success("Resume import started",
+                candidateImportService.start(file, user.getOrganization().getId())));
+    }
+
+    @GetMapping("/import/{importId}")
+    @PreAuthorize("hasRole('VENDOR')")
+    public ResponseEntity<ApiResponse<CandidateImportService.ImportProgress>> getImportProgress(
+            @PathVariable UUID importId) {
+        Employee user = getCurrentUser();
+        return ResponseEntity.ok(ApiResponse.success(
+                candidateImportService.getProgress(importId, user.getOrganization().getId())));
+    }
+
     @PostMapping(value = "/{id}/resume", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     @PreAuthorize("hasRole('VENDOR')")
     public ResponseEntity<ApiResponse<Candidate>> updateResume(@PathVariable UUID id, @RequestParam("file") MultipartFile file) {
@@ -80,6 +105,40 @@ public class CandidateController {
         }
     }
 
+    @GetMapping("/paged")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<Page<CandidateSummary>>> getCandidatesPaged(
+            @RequestParam(required = false) UUID organizationId,
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        Employee user = getCurrentUser();
+        // Vendors only see their own candidates
+        UUID orgFilter = user.getOrganization().getType() == OrganizationType.VENDOR
+                ? user.getOrganization().getId()
+                : organizationId;
+        return ResponseEntity.ok(ApiResponse.success(candidateService.getCandidateSummaries(orgFilter, pageable)));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
+    public ResponseEntity<ApiResponse<CandidateSearchService.SearchResult>> searchCandidates(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) List<String> skills,
+            @RequestParam(required = false) String location,
+            @RequestParam(required = false) Double minExperience,
+            @RequestParam(required = false) Double maxExperience,
+            @RequestParam(required = false) UUID organizationId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        Employee user = getCurrentUser();
+        // Vendors only ever search their own pool
+        UUID orgFilter = user.getOrganization().getType() == OrganizationType.VENDOR
+                ? user.getOrganization().getId()
+                : organizationId;
+        return ResponseEntity.ok(ApiResponse.success(candidateSearchService.search(
+                new CandidateSearchService.SearchRequest(q, orgFilter, skills, location, minExperience,
+                        maxExperience, cursor, size))));
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'VENDOR')")
     public ResponseEntity<ApiResponse<Candidate>> getCandidate(@PathVariable UUID id) {
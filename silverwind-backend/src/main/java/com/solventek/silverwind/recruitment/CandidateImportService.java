@@ -0,0 +1,391 @@
+package com.solventek.silverwind.recruitment;
+
+import com.solventek.silverwind.applications.ResumeAnalysisOrchestratorService;
+import com.solventek.silverwind.applications.ResumeIngestionService;
+import com.solventek.silverwind.auth.Employee;
+import com.solventek.silverwind.auth.EmployeeRepository;
+import com.solventek.silverwind.config.AnalysisProperties;
+import com.solventek.silverwind.dedup.DuplicateDetectionService;
+import com.solventek.silverwind.notifications.Notification.NotificationCategory;
+import com.solventek.silverwind.notifications.Notification.NotificationPriority;
+import com.solventek.silverwind.notifications.NotificationService;
+import com.solventek.silverwind.org.OrganizationType;
+import com.solventek.silverwind.rbac.RoleDefinitions;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Bulk candidate creation from a ZIP of resumes.
+ * <p>
+ * The upload is spooled to a temp file and the archive is read in the background, entry by
+ * entry; at most {@value #MAX_ENTRIES_IN_FLIGHT} resumes are in progress (read, but not yet
+ * parsed and queued for saving, or failed) at a time. Each resume is uploaded and
+ * text-extracted concurrently, then queued for AI parsing, which is rate-limited across all
+ * imports by {@link AnalysisProperties#getImportMaxConcurrentParses()}.
+ * Parsed candidates are persisted in batches of {@value #PERSIST_BATCH_SIZE} per transaction
+ * and admins get one summary notification per import.
+ * <p>
+ * Import progress is kept in memory; it is informational and does not survive a restart.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateImportService {
+
+    private static final Set<String> SUPPORTED_EXTENSIONS = Set.of("pdf", "docx", "txt");
+    private static final long MAX_ENTRY_BYTES = 1024 * 1024;
+    private static final int MAX_CONCURRENT_UPLOADS = 8;
+    private static final int MAX_ENTRIES_IN_FLIGHT = 16;
+    private static final int PERSIST_BATCH_SIZE = 25;
+    private static final Duration FINISHED_IMPORT_RETENTION = Duration.ofHours(6);
+
+    private final CandidateService candidateService;
+    private final ResumeIngestionService ingestionService;
+    private final ResumeAnalysisOrchestratorService analysisService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final NotificationService notificationService;
+    private final EmployeeRepository employeeRepository;
+    private final AnalysisProperties analysisProperties;
+    private final ExecutorService aiStageExecutor;
+
+    private final Map<UUID, ImportJob> imports = new ConcurrentHashMap<>();
+    private Semaphore parsePermits;
+
+    public enum FileStatus {
+        QUEUED, EXTRACTING, PARSING, CREATED, FAILED, SKIPPED
+    }
+
+    public record FileProgress(String fileName, FileStatus status, UUID candidateId, String error) {
+    }
+
+    public record ImportProgress(UUID importId, String status, int total, int created, int failed, int skipped,
+            Instant startedAt, Instant finishedAt, List<FileProgress> files) {
+    }
+
+    @PostConstruct
+    void initPermits() {
+        parsePermits = new Semaphore(Math.max(1, analysisProperties.getImportMaxConcurrentParses()), true);
+    }
+
+    /**
+     * Copies the upload to a temp file (the multipart file is gone once the request completes)
+     * and reads it in the background; progress is available from {@link #getProgress}.
+     */
+    public ImportProgress start(MultipartFile zip, UUID organizationId) {
+        evictFinishedImports();
+        Path archive;
+        try {
+            archive = Files.createTempFile("resume-import-", ".zip");
+            zip.transferTo(archive);
+        } catch (IOException e) {
+            log.error("Failed to spool resume import archive: {}", zip.getOriginalFilename(), e);
+            throw new RuntimeException("Failed to read uploaded archive", e);
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), organizationId);
+        imports.put(job.id, job);
+        aiStageExecutor.execute(() -> readArchive(job, archive, zip.getOriginalFilename()));
+        return job.snapshot();
+    }
+
+    private void readArchive(ImportJob job, Path archive, String archiveName) {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        Semaphore uploadPermits = new Semaphore(MAX_CONCURRENT_UPLOADS);
+        Semaphore entryPermits = new Semaphore(MAX_ENTRIES_IN_FLIGHT);
+        int maxFiles = analysisProperties.getImportMaxFiles();
+
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String fileName = baseName(entry.getName());
+                if (fileName.startsWith(".") || entry.getName().startsWith("__MACOSX/")) {
+                    continue;
+                }
+                FileEntry file = job.add(fileName);
+                if (!SUPPORTED_EXTENSIONS.contains(extension(fileName))) {
+                    job.skip(file, "Unsupported file type");
+                    continue;
+                }
+                if (tasks.size() >= maxFiles) {
+                    job.skip(file, "Import limit of " + maxFiles + " resumes reached");
+                    continue;
+                }
+                // Held through upload and AI parsing until the candidate is queued for its batch
+                // insert (or the entry fails), so unread entries wait in the archive
+                acquire(entryPermits);
+                byte[] content = readEntry(in);
+                if (content == null) {
+                    entryPermits.release();
+                    job.skip(file, "File exceeds 1MB");
+                    continue;
+                }
+                tasks.add(process(job, file, content, uploadPermits)
+                        .whenComplete((v, ex) -> entryPermits.release()));
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to read resume import archive: {}", archiveName, e);
+            job.error = "Invalid ZIP archive";
+        } finally {
+            try {
+                Files.deleteIfExists(archive);
+            } catch (IOException e) {
+                log.warn("Could not delete resume import temp file {}", archive, e);
+            }
+        }
+
+        log.info("Resume import {} for Org: {} - {} resumes queued, {} entries skipped",
+                job.id, job.organizationId, tasks.size(), job.skipped.get());
+        CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new))
+                .whenCompleteAsync((v, ex) -> complete(job), aiStageExecutor);
+    }
+
+    public ImportProgress getProgress(UUID importId, UUID organizationId) {
+        ImportJob job = imports.get(importId);
+        if (job == null || (organizationId != null && !organizationId.equals(job.organizationId))) {
+            throw new EntityNotFoundException("Resume import not found: " + importId);
+        }
+        return job.snapshot();
+    }
+
+    private CompletableFuture<Void> process(ImportJob job, FileEntry file, byte[] content, Semaphore uploadPermits) {
+        return CompletableFuture
+                .supplyAsync(() -> {
+                    acquire(uploadPermits);
+                    try {
+                        file.status = FileStatus.EXTRACTING;
+                        return ingestionService.storeAndExtract(content, file.fileName, contentType(file.fileName));
+                    } finally {
+                        uploadPermits.release();
+                    }
+                }, aiStageExecutor)
+                .thenApplyAsync(ingestion -> {
+                    file.status = FileStatus.QUEUED;
+                    acquire(parsePermits);
+                    try {
+                        file.status = FileStatus.PARSING;
+                        CandidateDTO.ParsedResume parsed = analysisService.extractCandidateData(ingestion.extractedText());
+                        Candidate candidate = candidateService.fromParsedResume(parsed, ingestion, file.fileName,
+                                contentType(file.fileName));
+                        return new Parsed(file, candidate, ingestion.extractedText());
+                    } finally {
+                        parsePermits.release();
+                    }
+                }, aiStageExecutor)
+                .thenAccept(parsed -> {
+                    List<Parsed> batch = job.enqueue(parsed);
+                    if (batch != null) {
+                        persist(job, batch);
+                    }
+                })
+                .exceptionally(ex -> {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    log.warn("Resume import {}: {} failed - {}", job.id, file.fileName, cause.getMessage());
+                    file.fail(cause.getMessage());
+                    job.failed.incrementAndGet();
+                    return null;
+                });
+    }
+
+    private void persist(ImportJob job, List<Parsed> batch) {
+        try {
+            List<Candidate> saved = candidateService.saveImportedBatch(
+                    batch.stream().map(Parsed::candidate).toList(), job.organizationId);
+            for (int i = 0; i < batch.size(); i++) {
+                Parsed p = batch.get(i);
+                UUID candidateId = saved.get(i).getId();
+                p.file().created(candidateId);
+                duplicateDetectionService.registerCandidateAfterCommit(candidateId, p.resumeText());
+            }
+            job.created.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.error("Resume import {}: failed to persist batch of {}", job.id, batch.size(), e);
+            batch.forEach(p -> p.file().fail("Failed to save candidate: " + e.getMessage()));
+            job.failed.addAndGet(batch.size());
+        }
+    }
+
+    private void complete(ImportJob job) {
+        List<Parsed> remainder = job.drain();
+        if (!remainder.isEmpty()) {
+            persist(job, remainder);
+        }
+        job.finishedAt = Instant.now();
+        log.info("Resume import {} finished - created: {}, failed: {}, skipped: {}",
+                job.id, job.created.get(), job.failed.get(), job.skipped.get());
+        notifyAdmins(job);
+    }
+
+    private void notifyAdmins(ImportJob job) {
+        try {
+            Set<Employee> recipients = new HashSet<>(employeeRepository.findByOrganizationIdAndRoleNameNot(
+                    job.organizationId, RoleDefinitions.ROLE_EMPLOYEE));
+            recipients.addAll(employeeRepository.findByOrganizationTypeAndRoleNameNot(
+                    OrganizationType.SOLVENTEK, RoleDefinitions.ROLE_EMPLOYEE));
+            int created = job.created.get();
+            int failed = job.failed.get();
+            String body = created + " candidate" + (created == 1 ? "" : "s") + " imported from resume ZIP."
+                    + (failed > 0 ? " " + failed + " failed." : "")
+                    + (job.skipped.get() > 0 ? " " + job.skipped.get() + " skipped." : "");
+            notificationService.sendBulkNotification(recipients.stream().map(Employee::getId).toList(),
+                    NotificationService.NotificationBuilder.create()
+                            .title("Bulk Candidate Import Complete")
+                            .body(body)
+                            .category(NotificationCategory.CANDIDATE)
+                            .priority(failed > 0 ? NotificationPriority.HIGH : NotificationPriority.NORMAL)
+                            .actionUrl("/candidates")
+                            .icon("bi-people-fill")
+                            .withMetadata("importId", job.id)
+                            .withMetadata("created", created)
+                            .withMetadata("failed", failed));
+        } catch (Exception e) {
+            log.warn("Failed to send resume import summary notification", e);
+        }
+    }
+
+    /**
+     * @return the entry bytes, or null when the entry is larger than {@link #MAX_ENTRY_BYTES}
+     */
+    private static byte[] readEntry(InputStream in) throws IOException {
+        byte[] bytes = in.readNBytes((int) MAX_ENTRY_BYTES + 1);
+        return bytes.length > MAX_ENTRY_BYTES ? null : bytes;
+    }
+
+    private static void acquire(Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted", e);
+        }
+    }
+
+    private static String baseName(String entryName) {
+        return entryName.substring(entryName.lastIndexOf('/') + 1);
+    }
+
+    private static String extension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot < 0 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+    }
+
+    private static String contentType(String fileName) {
+        return switch (extension(fileName)) {
+            case "pdf" -> "application/pdf";
+            case "docx" -> "application/vnd.openxmlformats-officedocument.wordprocessingml.document";
+            default -> "text/plain";
+        };
+    }
+
+    private void evictFinishedImports() {
+        Instant cutoff = Instant.now().minus(FINISHED_IMPORT_RETENTION);
+        imports.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(cutoff));
+    }
+
+    private record Parsed(FileEntry file, Candidate candidate, String resumeText) {
+    }
+
+    private static final class FileEntry {
+        private final String fileName;
+        private volatile FileStatus status = FileStatus.QUEUED;
+        private volatile UUID candidateId;
+        private volatile String error;
+
+        private FileEntry(String fileName) {
+            this.fileName = fileName;
+        }
+
+        private void created(UUID id) {
+            candidateId = id;
+            status = FileStatus.CREATED;
+        }
+
+        private void fail(String message) {
+            error = message;
+            status = FileStatus.FAILED;
+        }
+
+        private void skip(String reason) {
+            error = reason;
+            status = FileStatus.SKIPPED;
+        }
+    }
+
+    private static final class ImportJob {
+        private final UUID id;
+        private final UUID organizationId;
+        // Appended by the archive reader while progress is being polled
+        private final List<FileEntry> files = new CopyOnWriteArrayList<>();
+        private final List<Parsed> pending = new ArrayList<>();
+        private final AtomicInteger created = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+        private final Instant startedAt = Instant.now();
+        private volatile Instant finishedAt;
+        private volatile String error;
+
+        private ImportJob(UUID id, UUID organizationId) {
+            this.id = id;
+            this.organizationId = organizationId;
+        }
+
+        private FileEntry add(String fileName) {
+            FileEntry entry = new FileEntry(fileName);
+            files.add(entry);
+            return entry;
+        }
+
+        /**
+         * @return a full batch to persist, or null while the batch is still filling
+         */
+        private synchronized List<Parsed> enqueue(Parsed parsed) {
+            pending.add(parsed);
+            if (pending.size() < PERSIST_BATCH_SIZE) {
+                return null;
+            }
+            return drain();
+        }
+
+        private void skip(FileEntry file, String reason) {
+            file.skip(reason);
+            skipped.incrementAndGet();
+        }
+
+        private synchronized List<Parsed> drain() {
+            List<Parsed> batch = new ArrayList<>(pending);
+            pending.clear();
+            return batch;
+        }
+
+        private ImportProgress snapshot() {
+            List<FileProgress> fileProgress = files.stream()
+                    .map(f -> new FileProgress(f.fileName, f.status, f.candidateId, f.error))
+                    .toList();
+            String status = finishedAt == null ? "RUNNING" : error != null ? "FAILED" : "COMPLETED";
+            return new ImportProgress(id, status, files.size(),
+                    created.get(), failed.get(), skipped.get(), startedAt, finishedAt, fileProgress);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.solventek.silverwind.recruitment;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +16,19 @@ public interface CandidateRepository extends JpaRepository<Candidate, UUID> {
     List<Candidate> findByOrganizationId(UUID organizationId);
     Optional<Candidate> findByEmail(String email);
     Optional<Candidate> findByEmailAndOrganizationId(String email, UUID organizationId);
+
+    String SUMMARY_SELECT = "SELECT c.id AS id, c.firstName AS firstName, c.lastName AS lastName, c.email AS email, "
+            + "c.phone AS phone, c.city AS city, c.currentDesignation AS currentDesignation, "
+            + "c.currentCompany AS currentCompany, c.experienceYears AS experienceYears, "
+            + "o.id AS organizationId, o.name AS organizationName, o.logoUrl AS organizationLogoKey, "
+            + "c.resumeOriginalFileName AS resumeOriginalFileName, c.resumeFilePath AS resumeFilePath, "
+            + "c.createdAt AS createdAt FROM Candidate c JOIN c.organization o";
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT count(c) FROM Candidate c")
+    Page<CandidateSummary.Row> findSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + " WHERE o.id = :organizationId",
+            countQuery = "SELECT count(c) FROM Candidate c WHERE c.organization.id = :organizationId")
+    Page<CandidateSummary.Row> findSummariesByOrganizationId(@Param("organizationId") UUID organizationId,
+            Pageable pageable);
 }
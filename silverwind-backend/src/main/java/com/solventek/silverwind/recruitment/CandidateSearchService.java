@@ -0,0 +1,232 @@
+package com.solventek.silverwind.recruitment;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Server-side candidate search.
+ * <p>
+ * Matches a {@code tsvector} column on {@code candidates} (see V24; maintained by trigger from
+ * name, email, title, skills, location, summary and extracted resume text; GIN indexed)
+ * plus trigram similarity on names for typos. Facet counts are computed over the full
+ * match set in the same statement, and results are keyset-paginated on (score, id) so
+ * deep pages cost the same as the first.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CandidateSearchService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int SKILL_FACET_SIZE = 20;
+    private static final int LOCATION_FACET_SIZE = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    public record SearchRequest(String query, UUID organizationId, List<String> skills, String location,
+            Double minExperience, Double maxExperience, String cursor, int size) {
+    }
+
+    public record CandidateHit(UUID id, String firstName, String lastName, String email, String currentDesignation,
+            String city, Double experienceYears, UUID organizationId, String organizationName, List<String> skills,
+            double score) {
+    }
+
+    public record FacetCount(String value, long count) {
+    }
+
+    public record Facets(List<FacetCount> skills, List<FacetCount> locations, List<FacetCount> experience) {
+    }
+
+    public record SearchResult(List<CandidateHit> items, String nextCursor, long total, Facets facets) {
+    }
+
+    @Transactional(readOnly = true)
+    public SearchResult search(SearchRequest request) {
+        int size = Math.min(Math.max(request.size(), 1), MAX_PAGE_SIZE);
+        String query = request.query() != null && !request.query().isBlank() ? request.query().trim() : null;
+
+        List<Object> args = new ArrayList<>();
+        StringBuilder where = new StringBuilder("TRUE");
+        String score;
+        if (query != null) {
+            // Score: text rank, or name similarity for fuzzy name matches
+            score = "round(greatest(ts_rank(c.search_vector, websearch_to_tsquery('simple', ?)), "
+                    + "similarity(lower(c.first_name || ' ' || c.last_name), lower(?)))::numeric, 6)";
+            args.add(query);
+            args.add(query);
+            // Each branch is served by its own GIN index (tsvector / trigram), combined as a BitmapOr
+            where.append(" AND (c.search_vector @@ websearch_to_tsquery('simple', ?)"
+                    + " OR lower(c.first_name || ' ' || c.last_name) % lower(?)"
+                    + " OR lower(c.email) LIKE lower(?))");
+            args.add(query);
+            args.add(query);
+            args.add(query.replace("%", "\\%").replace("_", "\\_") + "%");
+        } else {
+            // Newest first when browsing without a query
+            score = "round(extract(epoch FROM c.created_at)::numeric, 6)";
+        }
+        if (request.organizationId() != null) {
+            where.append(" AND c.organization_id = ?");
+            args.add(request.organizationId());
+        }
+        if (request.skills() != null) {
+            for (String skill : request.skills()) {
+                if (skill == null || skill.isBlank()) {
+                    continue;
+                }
+                where.append(" AND EXISTS (SELECT 1 FROM candidate_skills s WHERE s.candidate_id = c.id"
+                        + " AND lower(s.skills) = lower(?))");
+                args.add(skill.trim());
+            }
+        }
+        if (request.location() != null && !request.location().isBlank()) {
+            where.append(" AND c.city ILIKE ?");
+            args.add(request.location().trim() + "%");
+        }
+        if (request.minExperience() != null) {
+            where.append(" AND c.experience_years >= ?");
+            args.add(request.minExperience());
+        }
+        if (request.maxExperience() != null) {
+            where.append(" AND c.experience_years <= ?");
+            args.add(request.maxExperience());
+        }
+
+        String keyset = "";
+        Cursor cursor = Cursor.decode(request.cursor());
+        if (cursor != null) {
+            keyset = "WHERE (m.score, m.id) < (?, ?)";
+            args.add(cursor.score());
+            args.add(cursor.id());
+        }
+        args.add(size + 1);
+
+        String sql = """
+                WITH matched AS MATERIALIZED (
+                    SELECT c.id, c.first_name, c.last_name, c.email, c.current_designation, c.city,
+                           c.experience_years, c.organization_id, %s AS score
+                    FROM candidates c
+                    WHERE %s
+                ),
+                page AS (
+                    SELECT m.*, m.score::text AS score_key, o.name AS organization_name,
+                           (SELECT coalesce(json_agg(s.skills), '[]'::json) FROM candidate_skills s
+                            WHERE s.candidate_id = m.id) AS skills
+                    FROM matched m
+                    LEFT JOIN organizations o ON o.id = m.organization_id
+                    %s
+                    ORDER BY m.score DESC, m.id DESC
+                    LIMIT ?
+                )
+                SELECT
+                    (SELECT count(*) FROM matched) AS total,
+                    (SELECT coalesce(json_agg(p ORDER BY p.score DESC, p.id DESC), '[]'::json) FROM page p) AS items,
+                    (SELECT coalesce(json_agg(f), '[]'::json) FROM (
+                        SELECT s.skills AS value, count(DISTINCT s.candidate_id) AS count
+                        FROM candidate_skills s JOIN matched m ON m.id = s.candidate_id
+                        GROUP BY s.skills ORDER BY count(DISTINCT s.candidate_id) DESC, s.skills LIMIT %d) f) AS skill_facets,
+                    (SELECT coalesce(json_agg(f), '[]'::json) FROM (
+                        SELECT coalesce(nullif(trim(split_part(m.city, ',', 1)), ''), 'Unknown') AS value, count(*) AS count
+                        FROM matched m GROUP BY 1 ORDER BY 2 DESC, 1 LIMIT %d) f) AS location_facets,
+                    (SELECT coalesce(json_agg(f), '[]'::json) FROM (
+                        SELECT CASE
+                                   WHEN m.experience_years IS NULL THEN 'Unknown'
+                                   WHEN m.experience_years < 2 THEN '0-2'
+                                   WHEN m.experience_years < 5 THEN '2-5'
+                                   WHEN m.experience_years < 10 THEN '5-10'
+                                   ELSE '10+'
+                               END AS value, count(*) AS count
+                        FROM matched m GROUP BY 1 ORDER BY min(coalesce(m.experience_years, -1))) f) AS experience_facets
+                """.formatted(score, where, keyset, SKILL_FACET_SIZE, LOCATION_FACET_SIZE);
+
+        return jdbcTemplate.queryForObject(sql, (rs, i) -> {
+            List<Map<String, Object>> rows = readJson(rs.getString("items"));
+            List<CandidateHit> items = new ArrayList<>();
+            for (Map<String, Object> row : rows.subList(0, Math.min(size, rows.size()))) {
+                items.add(toHit(row));
+            }
+            String nextCursor = null;
+            if (rows.size() > size) {
+                CandidateHit last = items.get(items.size() - 1);
+                nextCursor = new Cursor(new BigDecimal((String) rows.get(size - 1).get("score_key")), last.id()).encode();
+            }
+            Facets facets = new Facets(
+                    toFacets(rs.getString("skill_facets")),
+                    toFacets(rs.getString("location_facets")),
+                    toFacets(rs.getString("experience_facets")));
+            return new SearchResult(items, nextCursor, rs.getLong("total"), facets);
+        }, args.toArray());
+    }
+
+    private CandidateHit toHit(Map<String, Object> row) {
+        @SuppressWarnings("unchecked")
+        List<String> skills = (List<String>) row.getOrDefault("skills", List.of());
+        return new CandidateHit(
+                UUID.fromString((String) row.get("id")),
+                (String) row.get("first_name"),
+                (String) row.get("last_name"),
+                (String) row.get("email"),
+                (String) row.get("current_designation"),
+                (String) row.get("city"),
+                row.get("experience_years") != null ? ((Number) row.get("experience_years")).doubleValue() : null,
+                row.get("organization_id") != null ? UUID.fromString((String) row.get("organization_id")) : null,
+                (String) row.get("organization_name"),
+                skills,
+                ((Number) row.get("score")).doubleValue());
+    }
+
+    private List<FacetCount> toFacets(String json) {
+        List<FacetCount> facets = new ArrayList<>();
+        for (Map<String, Object> row : readJson(json)) {
+            facets.add(new FacetCount(String.valueOf(row.get("value")), ((Number) row.get("count")).longValue()));
+        }
+        return facets;
+    }
+
+    private List<Map<String, Object>> readJson(String json) {
+        if (json == null) {
+            return List.of();
+        }
+        try {
+            return objectMapper.readValue(json, new TypeReference<List<Map<String, Object>>>() {
+            });
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read candidate search results", e);
+        }
+    }
+
+    /**
+     * Opaque keyset cursor: base64 of "score|id" for the last row of the previous page.
+     */
+    private record Cursor(BigDecimal score, UUID id) {
+
+        String encode() {
+            String raw = score.toPlainString() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String cursor) {
+            if (cursor == null || cursor.isBlank()) {
+                return null;
+            }
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int sep = raw.indexOf('|');
+                return new Cursor(new BigDecimal(raw.substring(0, sep)), UUID.fromString(raw.substring(sep + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid search cursor");
+            }
+        }
+    }
+}
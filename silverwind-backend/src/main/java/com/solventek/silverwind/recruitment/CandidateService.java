@@ -41,6 +41,10 @@ public class CandidateService {
     private final NotificationService notificationService;
     private final TimelineService timelineService;
     private final EmployeeRepository employeeRepository; // Needed for finding admins
+    private final com.solventek.silverwind.matching.MatchingService matchingService;
+    private final com.solventek.silverwind.dedup.DuplicateDetectionService duplicateDetectionService;
+
+    private final com.solventek.silverwind.storage.PresignedUrlCache presignedUrlCache;
 
     private final ObjectMapper objectMapper;
 
@@ -61,7 +65,64 @@ public class CandidateService {
             parsedData.setCandidateName("Unknown Candidate");
         }
 
-        // 3. Map to Entity
+        // 3-4. Map to Entity and run general analysis
+        Candidate candidate = fromParsedResume(parsedData, ingestionResult, file.getOriginalFilename(),
+                file.getContentType());
+
+        // Organization
+        Organization org = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new EntityNotFoundException("Organization not found"));
+        candidate.setOrganization(org);
+
+        candidateRepository.save(candidate);
+        matchingService.indexCandidateAfterCommit(candidate.getId());
+        duplicateDetectionService.registerCandidateAfterCommit(candidate.getId(), ingestionResult.extractedText());
+
+        // Notify Org Admins
+        try {
+            // 1. Notify Vendor Admins (Non-Employee roles in Vendor Org)
+            List<Employee> recipients = employeeRepository.findByOrganizationIdAndRoleNameNot(
+                    organizationId, com.solventek.silverwind.rbac.RoleDefinitions.ROLE_EMPLOYEE);
+
+            // 2. Notify Solventek Super Users (Non-Employees in Solventek Org)
+            List<Employee> solventekAdmins = employeeRepository.findByOrganizationTypeAndRoleNameNot(
+                    com.solventek.silverwind.org.OrganizationType.SOLVENTEK,
+                    com.solventek.silverwind.rbac.RoleDefinitions.ROLE_EMPLOYEE);
+
+            // Avoid duplicates
+            java.util.Set<Employee> allRecipients = new java.util.HashSet<>(recipients);
+            allRecipients.addAll(solventekAdmins);
+
+            allRecipients.forEach(admin -> {
+                notificationService.sendNotification(
+                        NotificationService.NotificationBuilder.create()
+                                .recipient(admin.getId())
+                                .title("New Candidate Added")
+                                .body("Candidate " + candidate.getFirstName() + " " + candidate.getLastName()
+                                        + " has been added.")
+                                .category(NotificationCategory.CANDIDATE)
+                                .priority(NotificationPriority.NORMAL)
+                                .refEntity("CANDIDATE", candidate.getId())
+                                .actionUrl("/candidates/" + candidate.getId())
+                                .icon("bi-person-plus-fill"));
+            });
+        } catch (Exception e) {
+            log.error("Failed to send candidate creation notification", e);
+        }
+
+        // Timeline
+        timelineService.createEvent(organizationId, "CANDIDATE", candidate.getId(), "CREATE",
+                "Candidate Created", null, "Created via Resume Upload", null);
+
+        return enhanceCandidate(candidate);
+    }
+
+    /**
+     * Maps a parsed resume onto a new (unsaved) candidate and runs the general AI analysis.
+     * Organization is left to the caller.
+     */
+    public Candidate fromParsedResume(CandidateDTO.ParsedResume parsedData,
+            ResumeIngestionService.IngestionResult ingestionResult, String originalFileName, String contentType) {
         Candidate candidate = new Candidate();
 
         // Name
@@ -148,53 +209,28 @@ public class CandidateService {
 
         // Resume Metadata
         candidate.setResumeFilePath(ingestionResult.filePath());
-        candidate.setResumeOriginalFileName(file.getOriginalFilename());
-        candidate.setResumeContentType(file.getContentType());
+        candidate.setResumeOriginalFileName(originalFileName);
+        candidate.setResumeContentType(contentType);
 
-        // Organization
+        return candidate;
+    }
+
+    /**
+     * Persist one batch of imported candidates in a single transaction.
+     * Per-candidate admin notifications are left to the caller (imports send one summary).
+     */
+    @Transactional
+    public List<Candidate> saveImportedBatch(List<Candidate> candidates, UUID organizationId) {
         Organization org = organizationRepository.findById(organizationId)
                 .orElseThrow(() -> new EntityNotFoundException("Organization not found"));
-        candidate.setOrganization(org);
-
-        candidateRepository.save(candidate);
-
-        // Notify Org Admins
-        try {
-            // 1. Notify Vendor Admins (Non-Employee roles in Vendor Org)
-            List<Employee> recipients = employeeRepository.findByOrganizationIdAndRoleNameNot(
-                    organizationId, com.solventek.silverwind.rbac.RoleDefinitions.ROLE_EMPLOYEE);
-
-            // 2. Notify Solventek Super Users (Non-Employees in Solventek Org)
-            List<Employee> solventekAdmins = employeeRepository.findByOrganizationTypeAndRoleNameNot(
-                    com.solventek.silverwind.org.OrganizationType.SOLVENTEK,
-                    com.solventek.silverwind.rbac.RoleDefinitions.ROLE_EMPLOYEE);
-
-            // Avoid duplicates
-            java.util.Set<Employee> allRecipients = new java.util.HashSet<>(recipients);
-            allRecipients.addAll(solventekAdmins);
-
-            allRecipients.forEach(admin -> {
-                notificationService.sendNotification(
-                        NotificationService.NotificationBuilder.create()
-                                .recipient(admin.getId())
-                                .title("New Candidate Added")
-                                .body("Candidate " + candidate.getFirstName() + " " + candidate.getLastName()
-                                        + " has been added.")
-                                .category(NotificationCategory.CANDIDATE)
-                                .priority(NotificationPriority.NORMAL)
-                                .refEntity("CANDIDATE", candidate.getId())
-                                .actionUrl("/candidates/" + candidate.getId())
-                                .icon("bi-person-plus-fill"));
-            });
-        } catch (Exception e) {
-            log.error("Failed to send candidate creation notification", e);
+        candidates.forEach(c -> c.setOrganization(org));
+        List<Candidate> saved = candidateRepository.saveAll(candidates);
+        for (Candidate candidate : saved) {
+            matchingService.indexCandidateAfterCommit(candidate.getId());
+            timelineService.createEvent(organizationId, "CANDIDATE", candidate.getId(), "CREATE",
+                    "Candidate Created", null, "Created via Bulk Resume Import", null);
         }
-
-        // Timeline
-        timelineService.createEvent(organizationId, "CANDIDATE", candidate.getId(), "CREATE",
-                "Candidate Created", null, "Created via Resume Upload", null);
-
-        return enhanceCandidate(candidate);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -218,6 +254,30 @@ public class CandidateService {
         return candidates;
     }
 
+    /**
+     * Paged candidate list as column projections; a null organization lists all candidates.
+     * Resume and logo URLs for the page are resolved in one batch from the presigned URL cache.
+     */
+    @Transactional(readOnly = true)
+    public org.springframework.data.domain.Page<CandidateSummary> getCandidateSummaries(UUID organizationId,
+            org.springframework.data.domain.Pageable pageable) {
+        var rows = organizationId != null
+                ? candidateRepository.findSummariesByOrganizationId(organizationId, pageable)
+                : candidateRepository.findSummaries(pageable);
+
+        java.util.Set<String> keys = new java.util.HashSet<>();
+        rows.forEach(r -> {
+            keys.add(r.getResumeFilePath());
+            keys.add(r.getOrganizationLogoKey());
+        });
+        java.util.Map<String, String> urls = presignedUrlCache.resolveAll(keys);
+
+        return rows.map(r -> new CandidateSummary(r.getId(), r.getFirstName(), r.getLastName(), r.getEmail(),
+                r.getPhone(), r.getCity(), r.getCurrentDesignation(), r.getCurrentCompany(), r.getExperienceYears(),
+                r.getOrganizationId(), r.getOrganizationName(), urls.get(r.getOrganizationLogoKey()),
+                r.getResumeOriginalFileName(), urls.get(r.getResumeFilePath()), r.getCreatedAt()));
+    }
+
     @Transactional(readOnly = true)
     public Candidate getCandidate(UUID id) {
         Candidate candidate = candidateRepository.findById(id)
@@ -239,6 +299,7 @@ public class CandidateService {
         c.setSummary(request.getSummary());
         c.setLinkedInUrl(request.getLinkedInUrl());
         candidateRepository.save(c);
+        matchingService.indexCandidateAfterCommit(c.getId());
 
         timelineService.createEvent(c.getOrganization().getId(), "CANDIDATE", c.getId(), "UPDATE",
                 "Candidate Updated", null, "Profile details updated", null);
@@ -260,6 +321,9 @@ public class CandidateService {
         String name = c.getFirstName() + " " + c.getLastName();
 
         candidateRepository.deleteById(id);
+        presignedUrlCache.evict(c.getResumeFilePath());
+        matchingService.removeAfterCommit(id);
+        duplicateDetectionService.removeAfterCommit(com.solventek.silverwind.dedup.DuplicateDetectionService.CANDIDATE, id);
 
         timelineService.createEvent(orgId, "CANDIDATE", id, "DELETE",
                 "Candidate Deleted", null, "Candidate deleted: " + name, null);
@@ -368,11 +432,14 @@ public class CandidateService {
         }
 
         // Resume Metadata
+        presignedUrlCache.evict(candidate.getResumeFilePath());
         candidate.setResumeFilePath(ingestionResult.filePath());
         candidate.setResumeOriginalFileName(file.getOriginalFilename());
         candidate.setResumeContentType(file.getContentType());
 
         candidateRepository.save(candidate);
+        matchingService.indexCandidateAfterCommit(candidate.getId());
+        duplicateDetectionService.registerCandidateAfterCommit(candidate.getId(), ingestionResult.extractedText());
 
         timelineService.createEvent(candidate.getOrganization().getId(), "CANDIDATE", candidate.getId(),
                 "RESUME_UPDATE",
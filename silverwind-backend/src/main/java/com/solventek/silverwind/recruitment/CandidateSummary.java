@@ -0,0 +1,48 @@
+package com.solventek.silverwind.recruitment;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lightweight candidate row for list views. File URLs are resolved per page in one batch.
+ */
+public record CandidateSummary(UUID id, String firstName, String lastName, String email, String phone,
+        String city, String currentDesignation, String currentCompany, Double experienceYears,
+        UUID organizationId, String organizationName, String organizationLogoUrl,
+        String resumeOriginalFileName, String resumeUrl, LocalDateTime createdAt) {
+
+    /**
+     * Column projection backing {@link CandidateSummary}; file fields are raw storage keys.
+     */
+    public interface Row {
+        UUID getId();
+
+        String getFirstName();
+
+        String getLastName();
+
+        String getEmail();
+
+        String getPhone();
+
+        String getCity();
+
+        String getCurrentDesignation();
+
+        String getCurrentCompany();
+
+        Double getExperienceYears();
+
+        UUID getOrganizationId();
+
+        String getOrganizationName();
+
+        String getOrganizationLogoKey();
+
+        String getResumeOriginalFileName();
+
+        String getResumeFilePath();
+
+        LocalDateTime getCreatedAt();
+    }
+}
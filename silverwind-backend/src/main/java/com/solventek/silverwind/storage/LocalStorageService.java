@@ -17,6 +17,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -74,16 +75,8 @@ public class LocalStorageService implements StorageService {
         log.info("Uploading file locally with custom key: {}", key);
 
         try {
-            // Validate key to prevent directory traversal
-            if (key.contains("..")) {
-                throw new RuntimeException("Invalid key containing '..'");
-            }
-            
-            Path targetPath = rootLocation.resolve(key).normalize();
-            if (!targetPath.startsWith(rootLocation)) {
-                throw new RuntimeException("Invalid key, outside upload root");
-            }
-            
+            Path targetPath = resolveKey(key);
+
             // Create parent directories
             Files.createDirectories(targetPath.getParent());
 
@@ -98,6 +91,24 @@ public class LocalStorageService implements StorageService {
         }
     }
 
+    @Override
+    public String uploadBytes(byte[] content, String key, String contentType) {
+        log.info("Writing buffered content locally with key: {}", key);
+
+        try {
+            Path targetPath = resolveKey(key);
+            Files.createDirectories(targetPath.getParent());
+            Files.write(targetPath, content);
+
+            log.info("Successfully uploaded file locally: {}", key);
+            return getVersion(key).orElse(null);
+
+        } catch (IOException e) {
+            log.error("Failed to upload file locally: {}", key, e);
+            throw new RuntimeException("Failed to store file locally", e);
+        }
+    }
+
     @Override
     public Resource download(String key) {
         log.debug("Downloading file locally: {}", key);
@@ -160,7 +171,21 @@ public class LocalStorageService implements StorageService {
     }
 
     @Override
-    public void move(String sourceKey, String destinationKey) {
+    public Optional<String> getVersion(String key) {
+        Path filePath = rootLocation.resolve(key).normalize();
+        if (!filePath.startsWith(rootLocation) || !Files.exists(filePath)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.size(filePath) + "-" + Files.getLastModifiedTime(filePath).toMillis());
+        } catch (IOException e) {
+            log.warn("Could not read file attributes for: {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String move(String sourceKey, String destinationKey) {
         log.info("Moving file locally from {} to {}", sourceKey, destinationKey);
         try {
             Path sourcePath = rootLocation.resolve(sourceKey).normalize();
@@ -181,6 +206,7 @@ public class LocalStorageService implements StorageService {
             // Move (Atomic move if possible, else copy delete)
             Files.move(sourcePath, destPath, StandardCopyOption.REPLACE_EXISTING);
             log.info("Successfully moved file locally");
+            return getVersion(destinationKey).orElse(null);
 
         } catch (IOException e) {
             log.error("Failed to move file locally", e);
@@ -201,4 +227,18 @@ public class LocalStorageService implements StorageService {
     public String getFullPath(String key) {
         return rootLocation.resolve(key).toString();
     }
+
+    /**
+     * Resolve a storage key under the upload root, rejecting directory traversal.
+     */
+    private Path resolveKey(String key) {
+        if (key.contains("..")) {
+            throw new RuntimeException("Invalid key containing '..'");
+        }
+        Path targetPath = rootLocation.resolve(key).normalize();
+        if (!targetPath.startsWith(rootLocation)) {
+            throw new RuntimeException("Invalid key, outside upload root");
+        }
+        return targetPath;
+    }
 }
@@ -0,0 +1,86 @@
+package com.solventek.silverwind.storage;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Cache of presigned download URLs keyed by storage key.
+ * <p>
+ * URLs are signed for {@link #URL_TTL} and served from the cache while at least
+ * {@link #MIN_REMAINING} of that validity is left, so list pages reuse the same URL
+ * for most of an hour instead of re-signing every file on every request.
+ * {@link #resolveAll} resolves a page's keys in one pass, signing each distinct key once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PresignedUrlCache {
+
+    private static final Duration URL_TTL = Duration.ofMinutes(60);
+    private static final Duration MIN_REMAINING = Duration.ofMinutes(10);
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final StorageService storageService;
+
+    private final Map<String, CachedUrl> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CachedUrl> eldest) {
+                    return size() > MAX_ENTRIES;
+                }
+            });
+
+    private record CachedUrl(String url, Instant expiresAt) {
+    }
+
+    /**
+     * @return a URL for {@code key}, or the value unchanged if it is already a URL or blank
+     */
+    public String resolve(String key) {
+        if (!isStorageKey(key)) {
+            return key;
+        }
+        CachedUrl cached = cache.get(key);
+        if (cached != null && cached.expiresAt().isAfter(Instant.now().plus(MIN_REMAINING))) {
+            return cached.url();
+        }
+        Instant expiresAt = Instant.now().plus(URL_TTL);
+        String url = storageService.getPresignedUrl(key, URL_TTL);
+        cache.put(key, new CachedUrl(url, expiresAt));
+        return url;
+    }
+
+    /**
+     * Resolve many keys at once. Keys that fail to sign are left out of the result.
+     */
+    public Map<String, String> resolveAll(Collection<String> keys) {
+        Map<String, String> result = new HashMap<>();
+        for (String key : new HashSet<>(keys)) {
+            if (key == null || result.containsKey(key)) {
+                continue;
+            }
+            try {
+                result.put(key, resolve(key));
+            } catch (Exception e) {
+                log.warn("Failed to generate presigned URL for {}: {}", key, e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    public void evict(String key) {
+        if (key != null) {
+            cache.remove(key);
+        }
+    }
+
+    // Already-resolved values: S3 URLs and local /api/files/ paths
+    private static boolean isStorageKey(String value) {
+        return value != null && !value.isBlank() && !value.startsWith("http") && !value.startsWith("/api/files/");
+    }
+}
@@ -22,6 +22,7 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -115,6 +116,23 @@ public class S3StorageService implements StorageService {
         }
     }
 
+    @Override
+    public String uploadBytes(byte[] content, String key, String contentType) {
+        log.info("Uploading buffered content to S3: bucket={}, key={}, size={}", awsProperties.getBucketName(), key,
+                content.length);
+
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(awsProperties.getBucketName())
+                .key(key)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
+
+        String eTag = s3Client.putObject(request, RequestBody.fromBytes(content)).eTag();
+        log.info("Successfully uploaded file to S3: {}", key);
+        return eTag;
+    }
+
     @Override
     public Resource download(String key) {
         log.debug("Downloading file from S3: bucket={}, key={}", awsProperties.getBucketName(), key);
@@ -190,7 +208,22 @@ public class S3StorageService implements StorageService {
     }
 
     @Override
-    public void move(String sourceKey, String destinationKey) {
+    public Optional<String> getVersion(String key) {
+        try {
+            HeadObjectRequest request = HeadObjectRequest.builder()
+                    .bucket(awsProperties.getBucketName())
+                    .key(key)
+                    .build();
+
+            return Optional.ofNullable(s3Client.headObject(request).eTag());
+
+        } catch (NoSuchKeyException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public String move(String sourceKey, String destinationKey) {
         log.info("Moving file in S3 from {} to {}", sourceKey, destinationKey);
         try {
             // 1. Copy Object
@@ -201,7 +234,7 @@ public class S3StorageService implements StorageService {
                     .destinationKey(destinationKey)
                     .build();
 
-            s3Client.copyObject(copyRequest);
+            String eTag = s3Client.copyObject(copyRequest).copyObjectResult().eTag();
 
             // 2. Delete Original
             DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
@@ -211,6 +244,7 @@ public class S3StorageService implements StorageService {
 
             s3Client.deleteObject(deleteRequest);
             log.info("Successfully moved file in S3");
+            return eTag;
 
         } catch (Exception e) {
             log.error("Failed to move file in S3", e);
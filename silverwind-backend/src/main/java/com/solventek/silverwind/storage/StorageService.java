@@ -4,6 +4,7 @@ import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.time.Duration;
+import java.util.Optional;
 
 /**
  * Storage service interface for file operations.
@@ -30,6 +31,18 @@ public interface StorageService {
      */
     String uploadWithKey(MultipartFile file, String key);
 
+    /**
+     * Upload already-buffered content with a specific key. Used when the caller has read
+     * the upload once and needs the bytes for other work (hashing, text extraction).
+     *
+     * @param content     The file content
+     * @param key         The full storage key (path + filename)
+     * @param contentType MIME type, may be null
+     * @return The version of the stored object, in the same form as {@link #getVersion}
+     *         (taken from the upload response, so no extra round trip)
+     */
+    String uploadBytes(byte[] content, String key, String contentType);
+
     /**
      * Download a file from storage.
      *
@@ -65,8 +78,19 @@ public interface StorageService {
      *
      * @param sourceKey      The current storage key/path
      * @param destinationKey The new storage key/path
+     * @return The version of the object at {@code destinationKey}, in the same form as
+     *         {@link #getVersion}
      */
-    void move(String sourceKey, String destinationKey);
+    String move(String sourceKey, String destinationKey);
 
     boolean exists(String key);
+
+    /**
+     * Cheap version identifier for a stored object (S3 ETag, or size + mtime locally),
+     * obtained without downloading it.
+     *
+     * @param key The storage key/path of the file
+     * @return The version, or empty if the file does not exist
+     */
+    Optional<String> getVersion(String key);
 }
@@ -0,0 +1,149 @@
+package com.solventek.silverwind.timeline;
+
+import com.solventek.silverwind.common.CursorPage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Audit events related to one user: ones they performed (actor), ones aimed at them (target),
+ * and ones about their own user record.
+ * <p>
+ * Written as a {@code UNION ALL} of three branches instead of one {@code OR}, so each branch is
+ * an ordered range scan on its own index ({@code actor_user_id}, {@code target_user_id},
+ * {@code (entity_type, entity_id)}, each followed by {@code created_at}) and reads at most one
+ * page of rows. Later branches exclude rows an earlier branch already returns, which keeps the
+ * branches disjoint without a {@code UNION} de-duplication step.
+ */
+@Component
+public class PersonalAuditQuery {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Optional filters; null fields are ignored. {@code action} matches as a case-insensitive
+     * substring, like the admin search.
+     */
+    public record Filter(Instant from, Instant to, String action, String entityType) {
+
+        public static final Filter NONE = new Filter(null, null, null, null);
+    }
+
+    /**
+     * Newest-first rows after {@code after} (null for the first page), at most {@code limit}.
+     */
+    public List<TimelineEvent> find(UUID userId, Filter filter, CursorPage.Cursor after, int limit) {
+        return query(userId, filter, after, 0, limit);
+    }
+
+    /**
+     * Offset variant for the existing {@code Page} endpoints. Each branch still stops after
+     * {@code offset + limit} rows, but deep pages cost more than with
+     * {@link #find(UUID, Filter, CursorPage.Cursor, int)}.
+     */
+    public List<TimelineEvent> find(UUID userId, Filter filter, long offset, int limit) {
+        return query(userId, filter, null, offset, limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<TimelineEvent> query(UUID userId, Filter filter, CursorPage.Cursor after, long offset, int limit) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder();
+        String[] branches = {
+                "actor_user_id = ?",
+                "target_user_id = ? AND actor_user_id IS DISTINCT FROM ?",
+                "entity_type = 'USER' AND entity_id = ? AND actor_user_id IS DISTINCT FROM ?"
+                        + " AND target_user_id IS DISTINCT FROM ?" };
+        for (int b = 0; b < branches.length; b++) {
+            if (b > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("(SELECT * FROM timeline_events WHERE ").append(branches[b]);
+            for (int i = 0; i <= b; i++) {
+                params.add(userId);
+            }
+            appendFilters(sql, params, filter);
+            if (after != null) {
+                sql.append(" AND (created_at, id) < (?, ?)");
+                params.add(after.createdAt());
+                params.add(after.id());
+            }
+            sql.append(" ORDER BY created_at DESC, id DESC LIMIT ?)");
+            params.add(offset + limit);
+        }
+        sql.append(" ORDER BY created_at DESC, id DESC LIMIT ? OFFSET ?");
+        params.add(limit);
+        params.add(offset);
+
+        Query query = entityManager.createNativeQuery(sql.toString(), TimelineEvent.class);
+        for (int i = 0; i < params.size(); i++) {
+            query.setParameter(i + 1, params.get(i));
+        }
+        return query.getResultList();
+    }
+
+    /**
+     * Number of matching rows; the branches are disjoint, so their counts add up.
+     */
+    public long count(UUID userId, Filter filter) {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT (SELECT count(*) FROM timeline_events WHERE actor_user_id = ?");
+        params.add(userId);
+        appendFilters(sql, params, filter);
+        sql.append(") + (SELECT count(*) FROM timeline_events WHERE target_user_id = ?"
+                + " AND actor_user_id IS DISTINCT FROM ?");
+        params.add(userId);
+        params.add(userId);
+        appendFilters(sql, params, filter);
+        sql.append(") + (SELECT count(*) FROM timeline_events WHERE entity_type = 'USER' AND entity_id = ?"
+                + " AND actor_user_id IS DISTINCT FROM ? AND target_user_id IS DISTINCT FROM ?");
+        params.add(userId);
+        params.add(userId);
+        params.add(userId);
+        appendFilters(sql, params, filter);
+        sql.append(")");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        for (int i = 0; i < params.size(); i++) {
+            query.setParameter(i + 1, params.get(i));
+        }
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    private static void appendFilters(StringBuilder sql, List<Object> params, Filter filter) {
+        if (filter.from() != null) {
+            sql.append(" AND created_at >= ?");
+            params.add(toLocal(filter.from()));
+        }
+        if (filter.to() != null) {
+            sql.append(" AND created_at <= ?");
+            params.add(toLocal(filter.to()));
+        }
+        if (filter.action() != null && !filter.action().isBlank()) {
+            sql.append(" AND action ILIKE ?");
+            params.add("%" + escapeLike(filter.action().trim()) + "%");
+        }
+        if (filter.entityType() != null && !filter.entityType().isBlank()) {
+            sql.append(" AND entity_type = ?");
+            params.add(filter.entityType());
+        }
+    }
+
+    // created_at is stored as local time (see BaseEntity)
+    private static LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneId.systemDefault());
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,6 +1,7 @@
 package com.solventek.silverwind.timeline;
 
 import com.solventek.silverwind.common.ApiResponse;
+import com.solventek.silverwind.common.CursorPage;
 import com.solventek.silverwind.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -47,6 +48,24 @@ public class TimelineController {
         return ResponseEntity.ok(ApiResponse.success(timelineService.getAllAuditLogs(principal, pageable)));
     }
 
+    /**
+     * The caller's own audit trail with cursor pagination. Open to every role; pass
+     * {@code nextCursor} from the previous response as {@code cursor} for the next page.
+     */
+    @GetMapping("/audit-logs/me")
+    @PreAuthorize("hasAnyRole('SUPER_ADMIN', 'HR_ADMIN', 'TA', 'EMPLOYEE', 'VENDOR')")
+    public ResponseEntity<ApiResponse<CursorPage<TimelineEvent>>> getMyAuditLogs(
+            @AuthenticationPrincipal UserPrincipal principal,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endDate,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success(timelineService.getMyAuditLogs(principal, startDate, endDate,
+                action, entityType, cursor, size)));
+    }
+
     @GetMapping("/audit-logs/entity/{entityType}")
     @PreAuthorize("hasAnyRole('SUPER_ADMIN')")
     public ResponseEntity<ApiResponse<Page<TimelineEvent>>> getAuditLogsByEntityType(
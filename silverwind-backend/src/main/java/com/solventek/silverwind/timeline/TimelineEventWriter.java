@@ -0,0 +1,348 @@
+package com.solventek.silverwind.timeline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.config.TimelineProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Writes timeline events in the background.
+ * <p>
+ * {@link TimelineService} hands committed events to a bounded in-memory buffer; one writer
+ * thread drains it and inserts them with multi-row {@code INSERT}s, flushing whenever a batch
+ * fills up or the oldest event has waited {@code flushInterval}. Events that don't fit in the
+ * buffer, or whose batch can't be written because the database is unavailable, are appended
+ * to a spill file and replayed later; ids are assigned up front, so a replayed event is never
+ * inserted twice. The buffer is drained on shutdown.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimelineEventWriter {
+
+    private static final String COLUMNS = """
+            INSERT INTO timeline_events (id, created_at, updated_at, org_id, entity_type, entity_id, action, title,
+                                         actor_user_id, target_user_id, message, metadata)
+            VALUES """;
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?::jsonb)";
+    private static final int PARAMS_PER_ROW = 12;
+    // Postgres allows 32767 bind parameters per statement
+    private static final int MAX_BATCH_SIZE = 32767 / PARAMS_PER_ROW;
+    private static final long REPLAY_RETRY_MS = 30_000;
+    private static final long SHUTDOWN_WAIT_MS = 10_000;
+    private static final String SPILL_FILE = "timeline-spill.jsonl";
+    private static final String REPLAY_SUFFIX = ".replay";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TimelineProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private BlockingQueue<PendingEvent> buffer;
+    private Counter written;
+    private Counter spilled;
+    private Counter dropped;
+    private final Object spillLock = new Object();
+    private volatile boolean running;
+    private volatile boolean spillPending;
+    private long nextReplayAt;
+    private Thread writer;
+
+    /**
+     * A timeline row ready to insert. Metadata is serialized when the event is created so the
+     * caller can't change it afterwards.
+     */
+    public record PendingEvent(UUID id, LocalDateTime createdAt, UUID orgId, String entityType, UUID entityId,
+            String action, String title, UUID actorUserId, UUID targetUserId, String message, String metadata) {
+    }
+
+    @PostConstruct
+    void start() {
+        buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        written = meterRegistry.counter("silverwind.timeline.written");
+        spilled = meterRegistry.counter("silverwind.timeline.spilled");
+        dropped = meterRegistry.counter("silverwind.timeline.dropped");
+        Gauge.builder("silverwind.timeline.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+        running = true;
+        writer = Thread.ofPlatform().daemon().name("timeline-writer").start(this::writeLoop);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void replayLeftoversOnStartup() {
+        spillPending = hasSpillFiles();
+    }
+
+    /**
+     * Queue an event for writing. Never blocks: a full buffer spills to disk.
+     */
+    public void enqueue(PendingEvent event) {
+        if (!running || !buffer.offer(event)) {
+            spill(List.of(event));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        Thread t = writer;
+        if (t != null) {
+            try {
+                t.join(SHUTDOWN_WAIT_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Whatever the writer couldn't get to goes to disk for the next start
+        List<PendingEvent> rest = new ArrayList<>();
+        buffer.drainTo(rest);
+        if (!rest.isEmpty()) {
+            spill(rest);
+        }
+    }
+
+    private void writeLoop() {
+        int batchSize = Math.max(1, Math.min(properties.getBatchSize(), MAX_BATCH_SIZE));
+        long intervalNanos = Math.max(1, properties.getFlushInterval().toNanos());
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingEvent first = buffer.poll(intervalNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    replaySpillIfDue();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + intervalNanos;
+                while (batch.size() < batchSize) {
+                    buffer.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    PendingEvent next = buffer.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                write(batch);
+                batch.clear();
+                // A steady stream never lets poll() time out, so spill files would otherwise wait
+                // for a quiet moment; nextReplayAt keeps this from running on every batch
+                replaySpillIfDue();
+            } catch (InterruptedException e) {
+                break;
+            } catch (Exception e) {
+                log.error("Timeline writer error: {}", e.getMessage(), e);
+                spill(batch);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Insert {@code batch}; spills whatever couldn't be written because the database is unavailable.
+     */
+    private void write(List<PendingEvent> batch) {
+        int done = insertIsolating(batch);
+        if (done < batch.size()) {
+            log.warn("Timeline database unavailable, spilling {} event(s)", batch.size() - done);
+            spill(batch.subList(done, batch.size()));
+        }
+    }
+
+    /**
+     * Insert {@code batch} as one statement. If that fails for any reason other than the
+     * database being unavailable, a bad row is failing the whole statement: insert the events
+     * one by one so the rest still get written, and drop the ones that fail.
+     *
+     * @return number of events handled (written or dropped); less than the batch size only if
+     *         the database became unavailable
+     */
+    private int insertIsolating(List<PendingEvent> batch) {
+        try {
+            insert(batch);
+            written.increment(batch.size());
+            return batch.size();
+        } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+            return 0;
+        } catch (Exception e) {
+            log.warn("Timeline batch of {} failed ({}), retrying events one by one", batch.size(), e.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PendingEvent event = batch.get(i);
+            try {
+                insert(List.of(event));
+                written.increment();
+            } catch (DataAccessResourceFailureException | TransientDataAccessException e) {
+                return i;
+            } catch (Exception e) {
+                dropped.increment();
+                log.error("Dropping timeline event {} {} {}: {}", event.entityType(), event.entityId(),
+                        event.action(), e.getMessage());
+            }
+        }
+        return batch.size();
+    }
+
+    private void insert(List<PendingEvent> events) {
+        StringBuilder sql = new StringBuilder(COLUMNS.length() + events.size() * (ROW.length() + 2)).append(COLUMNS);
+        Object[] args = new Object[events.size() * PARAMS_PER_ROW];
+        int a = 0;
+        for (int i = 0; i < events.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW);
+            PendingEvent e = events.get(i);
+            Timestamp createdAt = Timestamp.valueOf(e.createdAt());
+            args[a++] = e.id();
+            args[a++] = createdAt;
+            args[a++] = createdAt;
+            args[a++] = e.orgId();
+            args[a++] = e.entityType();
+            args[a++] = e.entityId();
+            args[a++] = e.action();
+            args[a++] = e.title();
+            args[a++] = e.actorUserId();
+            args[a++] = e.targetUserId();
+            args[a++] = e.message();
+            args[a++] = e.metadata();
+        }
+        sql.append(" ON CONFLICT DO NOTHING");
+        jdbcTemplate.update(sql.toString(), args);
+    }
+
+    // ---- Spill file ----
+
+    private void spill(List<PendingEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        synchronized (spillLock) {
+            try {
+                Path dir = Files.createDirectories(Path.of(properties.getSpillDir()));
+                Path file = dir.resolve(SPILL_FILE);
+                if (Files.exists(file) && Files.size(file) >= properties.getMaxSpillBytes()) {
+                    dropped.increment(events.size());
+                    log.error("Timeline spill file full, dropping {} event(s)", events.size());
+                    return;
+                }
+                try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    for (PendingEvent event : events) {
+                        out.write(objectMapper.writeValueAsString(event));
+                        out.newLine();
+                    }
+                }
+                spilled.increment(events.size());
+                spillPending = true;
+            } catch (IOException e) {
+                dropped.increment(events.size());
+                log.error("Could not spill {} timeline event(s), dropping them: {}", events.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void replaySpillIfDue() {
+        if (!spillPending || System.currentTimeMillis() < nextReplayAt) {
+            return;
+        }
+        try {
+            Path dir = Path.of(properties.getSpillDir());
+            synchronized (spillLock) {
+                Path file = dir.resolve(SPILL_FILE);
+                if (Files.exists(file)) {
+                    Files.move(file, dir.resolve(SPILL_FILE + "." + System.currentTimeMillis() + REPLAY_SUFFIX));
+                }
+            }
+            List<Path> pending;
+            try (Stream<Path> files = Files.list(dir)) {
+                pending = files.filter(p -> p.getFileName().toString().endsWith(REPLAY_SUFFIX)).sorted().toList();
+            }
+            for (Path file : pending) {
+                replay(file);
+                Files.delete(file);
+            }
+            spillPending = hasSpillFiles();
+        } catch (Exception e) {
+            nextReplayAt = System.currentTimeMillis() + REPLAY_RETRY_MS;
+            log.warn("Timeline spill replay deferred: {}", e.getMessage());
+        }
+    }
+
+    private void replay(Path file) throws IOException {
+        int batchSize = Math.max(1, Math.min(properties.getBatchSize(), MAX_BATCH_SIZE));
+        List<PendingEvent> batch = new ArrayList<>(batchSize);
+        int count = 0;
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                batch.add(objectMapper.readValue(line, PendingEvent.class));
+                if (batch.size() == batchSize) {
+                    count += replayBatch(batch);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            count += replayBatch(batch);
+        }
+        log.info("Replayed {} spilled timeline event(s) from {}", count, file.getFileName());
+    }
+
+    // Keeps the file for the next attempt if the database is still unavailable; events
+    // already inserted from it are skipped then by ON CONFLICT
+    private int replayBatch(List<PendingEvent> batch) throws IOException {
+        if (insertIsolating(batch) < batch.size()) {
+            throw new IOException("database unavailable");
+        }
+        int n = batch.size();
+        batch.clear();
+        return n;
+    }
+
+    private boolean hasSpillFiles() {
+        Path dir = Path.of(properties.getSpillDir());
+        if (!Files.isDirectory(dir)) {
+            return false;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.anyMatch(p -> {
+                String name = p.getFileName().toString();
+                return name.equals(SPILL_FILE) || name.endsWith(REPLAY_SUFFIX);
+            });
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
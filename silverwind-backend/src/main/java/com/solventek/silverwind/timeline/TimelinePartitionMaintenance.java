@@ -0,0 +1,56 @@
+package com.solventek.silverwind.timeline;
+
+import com.solventek.silverwind.common.PartitionManager;
+import com.solventek.silverwind.config.TimelineProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Nightly maintenance for the monthly-partitioned {@code timeline_events} table: creates
+ * partitions ahead of time, summarizes new BRIN block ranges, and retires partitions past the
+ * retention period when one is configured.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TimelinePartitionMaintenance {
+
+    private static final String TABLE = "timeline_events";
+    private static final String BRIN_INDEX = "idx_timeline_events_created_brin";
+
+    private final PartitionManager partitionManager;
+    private final TimelineProperties properties;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePartitionsOnStartup() {
+        try {
+            partitionManager.ensureMonthlyPartitions(TABLE, properties.getPartitionMonthsAhead());
+        } catch (Exception e) {
+            log.error("Failed to create timeline partitions: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "${app.timeline.maintenance-cron:0 45 3 * * *}")
+    public void run() {
+        try {
+            partitionManager.ensureMonthlyPartitions(TABLE, properties.getPartitionMonthsAhead());
+            int ranges = partitionManager.summarizeBrin(BRIN_INDEX);
+            log.debug("Summarized {} new BRIN range(s) on {}", ranges, TABLE);
+            if (properties.getRetentionMonths() > 0) {
+                List<String> retired = partitionManager.retireBefore(TABLE,
+                        PartitionManager.keepFrom(properties.getRetentionMonths()), properties.getRetentionMode());
+                if (!retired.isEmpty()) {
+                    log.info("Timeline retention removed partitions {}", retired);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Timeline partition maintenance failed: {}", e.getMessage(), e);
+        }
+    }
+}
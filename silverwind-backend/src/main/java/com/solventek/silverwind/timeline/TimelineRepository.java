@@ -39,8 +39,4 @@ public interface TimelineRepository extends JpaRepository<TimelineEvent, UUID> {
         @Query("SELECT t FROM TimelineEvent t WHERE t.organization.id = :organizationId AND t.createdAt BETWEEN :startDate AND :endDate ORDER BY t.createdAt DESC")
         Page<TimelineEvent> findByOrganizationIdAndDateRange(@Param("organizationId") UUID organizationId,
                         @Param("startDate") Instant startDate, @Param("endDate") Instant endDate, Pageable pageable);
-
-        // Filter by User (Personal Logs - Actor, Target, or Subject Entity)
-        @Query("SELECT t FROM TimelineEvent t WHERE (t.actorUserId = :userId OR t.targetUserId = :userId OR (t.entityType = 'USER' AND t.entityId = :userId)) ORDER BY t.createdAt DESC")
-        Page<TimelineEvent> findByEmployeeRelatedLogs(@Param("userId") UUID userId, Pageable pageable);
 }
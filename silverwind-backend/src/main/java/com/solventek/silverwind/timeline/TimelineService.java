@@ -1,19 +1,23 @@
 package com.solventek.silverwind.timeline;
 
-import com.solventek.silverwind.org.Organization;
-
-import com.solventek.silverwind.org.OrganizationRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.solventek.silverwind.auth.Employee;
 import com.solventek.silverwind.auth.EmployeeRepository;
+import com.solventek.silverwind.common.AfterCommit;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.solventek.silverwind.common.CursorPage;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
 import com.solventek.silverwind.security.UserPrincipal;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -23,40 +27,37 @@ import java.util.UUID;
 public class TimelineService {
 
     private final TimelineRepository timelineRepository;
-    private final OrganizationRepository organizationRepository;
     private final EmployeeRepository employeeRepository;
+    private final TimelineEventWriter eventWriter;
+    private final PersonalAuditQuery personalAuditQuery;
+    private final ObjectMapper objectMapper;
 
-    @Transactional
     public void createEvent(UUID orgId, String entityType, UUID entityId, String action, String title, UUID actorId,
             String message,
             Map<String, Object> metadata) {
         createEvent(orgId, entityType, entityId, action, title, actorId, null, message, metadata);
     }
 
-    @Transactional
+    /**
+     * Records a timeline event. The event is handed to {@link TimelineEventWriter} once the
+     * caller's transaction commits (immediately if there is none) and written in a batch shortly
+     * after, so it adds no statements to the caller's transaction and is discarded if that
+     * transaction rolls back.
+     */
     public void createEvent(UUID orgId, String entityType, UUID entityId, String action, String title, UUID actorId,
             UUID targetUserId, String message, Map<String, Object> metadata) {
         log.debug("Creating timeline event: Type={}, ID={}, Action={}, Target={}", entityType, entityId, action,
                 targetUserId);
+        if (orgId == null || entityType == null || entityId == null || action == null) {
+            log.warn("Skipping timeline event without org, entity or action: {} {} {}", entityType, entityId, action);
+            return;
+        }
         try {
-            Organization org = null;
-            if (orgId != null) {
-                org = organizationRepository.getReferenceById(orgId);
-            }
-
-            TimelineEvent event = TimelineEvent.builder()
-                    .organization(org)
-                    .entityType(entityType)
-                    .entityId(entityId)
-                    .action(action)
-                    .title(title)
-                    .actorUserId(actorId)
-                    .targetUserId(targetUserId)
-                    .message(message)
-                    .metadata(metadata)
-                    .build();
-
-            timelineRepository.save(event);
+            TimelineEventWriter.PendingEvent event = new TimelineEventWriter.PendingEvent(
+                    UUID.randomUUID(), LocalDateTime.now(), orgId, entityType, entityId, action, title,
+                    actorId, targetUserId, message,
+                    metadata != null ? objectMapper.writeValueAsString(metadata) : null);
+            AfterCommit.run(() -> eventWriter.enqueue(event));
         } catch (Exception e) {
             log.error("Error creating timeline event for {} {}: {}", entityType, entityId, e.getMessage(), e);
         }
@@ -84,7 +85,7 @@ public class TimelineService {
         if (isSuperAdmin(user)) {
             return timelineRepository.findAllByOrderByCreatedAtDesc(pageable);
         } else {
-            return timelineRepository.findByEmployeeRelatedLogs(user.getId(), pageable);
+            return personalPage(user, PersonalAuditQuery.Filter.NONE, pageable);
         }
     }
 
@@ -95,7 +96,7 @@ public class TimelineService {
         if (isSuperAdmin(user)) {
             return timelineRepository.findByEntityTypeOrderByCreatedAtDesc(entityType, pageable);
         } else {
-            return timelineRepository.findByEmployeeRelatedLogs(user.getId(), pageable);
+            return personalPage(user, new PersonalAuditQuery.Filter(null, null, null, entityType), pageable);
         }
     }
 
@@ -105,9 +106,7 @@ public class TimelineService {
         if (isSuperAdmin(user)) {
             return timelineRepository.findByActionContainingIgnoreCaseOrderByCreatedAtDesc(action, pageable);
         } else {
-            // Similarly, deep searching personal logs needs a custom query.
-            // Returning all personal logs is safer.
-            return timelineRepository.findByEmployeeRelatedLogs(user.getId(), pageable);
+            return personalPage(user, new PersonalAuditQuery.Filter(null, null, action, null), pageable);
         }
     }
 
@@ -117,13 +116,31 @@ public class TimelineService {
         if (isSuperAdmin(user)) {
             return timelineRepository.findByDateRange(startDate, endDate, pageable);
         } else {
-            // Apply date range to personal logs?
-            // Again, needs custom query `findByEmployeeRelatedLogsAndDateRange`.
-            // Given the complexity/time, returning personal logs (most recent) is the
-            // baseline.
-            // I will implement a cleaner solution: `findByEmployeeRelatedLogs` is the catch-all
-            // for non-Supreme.
-            return timelineRepository.findByEmployeeRelatedLogs(user.getId(), pageable);
+            return personalPage(user, new PersonalAuditQuery.Filter(startDate, endDate, null, null), pageable);
+        }
+    }
+
+    /**
+     * The current user's own audit trail (as actor, as target, or about their user record),
+     * newest first with cursor pagination. Available to every role; all filters are optional.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TimelineEvent> getMyAuditLogs(UserPrincipal user, Instant startDate, Instant endDate,
+            String action, String entityType, String cursor, Integer size) {
+        int limit = CursorPage.clampSize(size);
+        PersonalAuditQuery.Filter filter = new PersonalAuditQuery.Filter(startDate, endDate, action, entityType);
+        List<TimelineEvent> rows = personalAuditQuery.find(user.getId(), filter, CursorPage.Cursor.decode(cursor),
+                limit + 1);
+        return CursorPage.of(rows, limit, e -> new CursorPage.Cursor(e.getCreatedAt(), e.getId()));
+    }
+
+    private Page<TimelineEvent> personalPage(UserPrincipal user, PersonalAuditQuery.Filter filter,
+            Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            pageable = PageRequest.of(0, CursorPage.MAX_SIZE);
         }
+        List<TimelineEvent> rows = personalAuditQuery.find(user.getId(), filter, pageable.getOffset(),
+                pageable.getPageSize());
+        return PageableExecutionUtils.getPage(rows, pageable, () -> personalAuditQuery.count(user.getId(), filter));
     }
 }
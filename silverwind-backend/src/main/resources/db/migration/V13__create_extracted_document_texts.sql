@@ -0,0 +1,18 @@
+-- Cache of text extracted from stored documents (resumes), one row per storage key.
+-- storage_version (S3 ETag / local size+mtime) is compared on lookup so a file is parsed
+-- at most once per version and repeat applications avoid the download entirely.
+CREATE TABLE IF NOT EXISTS extracted_document_texts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    storage_key VARCHAR(1024) NOT NULL,
+    content_hash VARCHAR(64),
+    storage_version VARCHAR(255),
+    extracted_text TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_extracted_document_texts_storage_key
+    ON extracted_document_texts (storage_key);
+
+CREATE INDEX IF NOT EXISTS idx_extracted_document_texts_content_hash
+    ON extracted_document_texts (content_hash);
@@ -0,0 +1,66 @@
+-- Move large text payloads out of hot entity rows.
+--   job_applications.resume_text                -> job_application_texts.resume_text
+--   resume_analysis.{red_flags,evidence,interview_questions}_json -> resume_analysis_details
+-- Both parent tables are created by Hibernate, so every step touching them is guarded
+-- (on a fresh database they don't exist yet when Flyway runs).
+
+CREATE TABLE IF NOT EXISTS job_application_texts (
+    application_id UUID PRIMARY KEY,
+    resume_text TEXT,
+    updated_at TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS resume_analysis_details (
+    analysis_id UUID PRIMARY KEY,
+    red_flags_json JSONB,
+    evidence_json JSONB,
+    interview_questions_json JSONB
+);
+
+-- LZ4 TOAST compression (PG14+). Ignored if the server was built without lz4.
+DO $$
+BEGIN
+    ALTER TABLE job_application_texts ALTER COLUMN resume_text SET COMPRESSION lz4;
+    ALTER TABLE resume_analysis_details ALTER COLUMN red_flags_json SET COMPRESSION lz4;
+    ALTER TABLE resume_analysis_details ALTER COLUMN evidence_json SET COMPRESSION lz4;
+    ALTER TABLE resume_analysis_details ALTER COLUMN interview_questions_json SET COMPRESSION lz4;
+EXCEPTION WHEN OTHERS THEN
+    RAISE NOTICE 'LZ4 compression not available, keeping default: %', SQLERRM;
+END $$;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'job_applications' AND column_name = 'resume_text') THEN
+        INSERT INTO job_application_texts (application_id, resume_text, updated_at)
+        SELECT id, resume_text, now() FROM job_applications WHERE resume_text IS NOT NULL
+        ON CONFLICT (application_id) DO NOTHING;
+
+        ALTER TABLE job_applications DROP COLUMN resume_text;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'job_applications')
+       AND NOT EXISTS (SELECT 1 FROM information_schema.table_constraints
+                       WHERE table_name = 'job_application_texts' AND constraint_name = 'fk_job_application_texts_application') THEN
+        ALTER TABLE job_application_texts ADD CONSTRAINT fk_job_application_texts_application
+            FOREIGN KEY (application_id) REFERENCES job_applications (id) ON DELETE CASCADE;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'resume_analysis' AND column_name = 'red_flags_json') THEN
+        INSERT INTO resume_analysis_details (analysis_id, red_flags_json, evidence_json, interview_questions_json)
+        SELECT id, red_flags_json, evidence_json, interview_questions_json FROM resume_analysis
+        ON CONFLICT (analysis_id) DO NOTHING;
+
+        ALTER TABLE resume_analysis DROP COLUMN red_flags_json;
+        ALTER TABLE resume_analysis DROP COLUMN evidence_json;
+        ALTER TABLE resume_analysis DROP COLUMN interview_questions_json;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'resume_analysis')
+       AND NOT EXISTS (SELECT 1 FROM information_schema.table_constraints
+                       WHERE table_name = 'resume_analysis_details' AND constraint_name = 'fk_resume_analysis_details_analysis') THEN
+        ALTER TABLE resume_analysis_details ADD CONSTRAINT fk_resume_analysis_details_analysis
+            FOREIGN KEY (analysis_id) REFERENCES resume_analysis (id) ON DELETE CASCADE;
+    END IF;
+END $$;
@@ -0,0 +1,40 @@
+-- Near-duplicate resume detection (MinHash + LSH).
+-- entity_type is CANDIDATE or APPLICATION; entity ids are not FK-constrained because the
+-- parent tables are managed by Hibernate.
+
+CREATE TABLE IF NOT EXISTS resume_signatures (
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id UUID NOT NULL,
+    signature BYTEA NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (entity_type, entity_id)
+);
+
+CREATE TABLE IF NOT EXISTS resume_lsh_bands (
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id UUID NOT NULL,
+    band_no SMALLINT NOT NULL,
+    band_hash BIGINT NOT NULL,
+    PRIMARY KEY (entity_type, entity_id, band_no)
+);
+
+-- Bucket lookup: all entities sharing a band value
+CREATE INDEX IF NOT EXISTS idx_resume_lsh_bands_bucket ON resume_lsh_bands (band_no, band_hash);
+
+CREATE TABLE IF NOT EXISTS resume_duplicate_flags (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    entity_type VARCHAR(16) NOT NULL,
+    entity_id UUID NOT NULL,
+    duplicate_entity_type VARCHAR(16) NOT NULL,
+    duplicate_entity_id UUID NOT NULL,
+    similarity REAL NOT NULL,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    reviewed_at TIMESTAMP,
+    CONSTRAINT resume_duplicate_flags_status_check CHECK (status IN ('PENDING', 'CONFIRMED', 'DISMISSED')),
+    CONSTRAINT ux_resume_duplicate_flags_pair UNIQUE (entity_type, entity_id, duplicate_entity_type, duplicate_entity_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_resume_duplicate_flags_status ON resume_duplicate_flags (status);
+CREATE INDEX IF NOT EXISTS idx_resume_duplicate_flags_duplicate
+    ON resume_duplicate_flags (duplicate_entity_type, duplicate_entity_id);
@@ -0,0 +1,43 @@
+-- Job-fit analytics over stored analysis JSON.
+-- Generated columns expose red-flag counts/categories without re-parsing the JSON per query;
+-- GIN indexes serve containment filters such as
+--   red_flags_json @> '[{"category": "TIMELINE", "severity": "HIGH"}]'.
+-- Per-dimension risk scores are already integer columns on resume_analysis.
+
+ALTER TABLE resume_analysis_details
+    ADD COLUMN IF NOT EXISTS red_flag_count INTEGER GENERATED ALWAYS AS (
+        CASE WHEN jsonb_typeof(red_flags_json) = 'array' THEN jsonb_array_length(red_flags_json) ELSE 0 END
+    ) STORED;
+
+ALTER TABLE resume_analysis_details
+    ADD COLUMN IF NOT EXISTS high_red_flag_count INTEGER GENERATED ALWAYS AS (
+        CASE WHEN jsonb_typeof(red_flags_json) = 'array'
+             THEN jsonb_array_length(jsonb_path_query_array(red_flags_json,
+                  '$[*] ? (@.severity like_regex "^high$" flag "i")'))
+             ELSE 0 END
+    ) STORED;
+
+ALTER TABLE resume_analysis_details
+    ADD COLUMN IF NOT EXISTS red_flag_categories JSONB GENERATED ALWAYS AS (
+        jsonb_path_query_array(red_flags_json, '$[*].category')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_resume_analysis_details_red_flags
+    ON resume_analysis_details USING gin (red_flags_json jsonb_path_ops);
+
+CREATE INDEX IF NOT EXISTS idx_resume_analysis_details_red_flag_categories
+    ON resume_analysis_details USING gin (red_flag_categories);
+
+CREATE INDEX IF NOT EXISTS idx_resume_analysis_details_high_flags
+    ON resume_analysis_details (high_red_flag_count) WHERE high_red_flag_count > 0;
+
+-- Latest-analysis-per-application lookups (DISTINCT ON / max(analyzed_at)).
+-- resume_analysis is created by Hibernate, so this is skipped on a fresh database; the same
+-- index is declared on ResumeAnalysis and created by ddl-auto there.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'resume_analysis') THEN
+        CREATE INDEX IF NOT EXISTS idx_resume_analysis_application_analyzed
+            ON resume_analysis (application_id, analyzed_at DESC);
+    END IF;
+END $$;
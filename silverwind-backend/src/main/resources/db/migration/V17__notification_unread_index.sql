@@ -0,0 +1,11 @@
+-- Unread badge counts: one GROUP BY category over a user's unread rows.
+-- The partial index holds only unread notifications, so the count stays proportional to
+-- what the user hasn't read rather than to their whole (ever-growing) history.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'notifications') THEN
+        CREATE INDEX IF NOT EXISTS idx_notifications_unread_by_category
+            ON notifications (recipient_user_id, category)
+            WHERE read_at IS NULL;
+    END IF;
+END $$;
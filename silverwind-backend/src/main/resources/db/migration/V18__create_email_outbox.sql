@@ -0,0 +1,28 @@
+-- Transactional email outbox. Rows are written in the same transaction as the change that
+-- triggers the email and delivered by EmailOutboxDispatcher.
+-- status: PENDING -> SENDING -> SENT, or back to PENDING with a later next_attempt_at on
+-- failure, and FAILED once attempts are exhausted.
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id UUID PRIMARY KEY,
+    recipient VARCHAR(320) NOT NULL,
+    subject VARCHAR(998) NOT NULL,
+    body TEXT,
+    html BOOLEAN NOT NULL DEFAULT FALSE,
+    status VARCHAR(16) NOT NULL DEFAULT 'PENDING',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    claimed_at TIMESTAMP,
+    sent_at TIMESTAMP,
+    last_error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+-- Dispatcher claim: due PENDING rows and stale SENDING claims
+CREATE INDEX IF NOT EXISTS idx_email_outbox_due
+    ON email_outbox (next_attempt_at) WHERE status IN ('PENDING', 'SENDING');
+
+-- Per-recipient rate limit: recent deliveries to an address
+CREATE INDEX IF NOT EXISTS idx_email_outbox_recipient_sent
+    ON email_outbox (lower(recipient), sent_at) WHERE status = 'SENT';
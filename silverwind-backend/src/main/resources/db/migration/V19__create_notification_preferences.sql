@@ -0,0 +1,16 @@
+-- Per-user notification delivery preferences. Users without a row get the defaults
+-- (immediate email, coalescing on).
+-- email_mode: IMMEDIATE, DIGEST (one daily summary email) or OFF.
+
+CREATE TABLE IF NOT EXISTS notification_preferences (
+    id UUID PRIMARY KEY,
+    employee_id UUID NOT NULL UNIQUE,
+    email_mode VARCHAR(16) NOT NULL DEFAULT 'IMMEDIATE',
+    coalesce_enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    last_digest_at TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_notification_preferences_digest
+    ON notification_preferences (last_digest_at) WHERE email_mode = 'DIGEST';
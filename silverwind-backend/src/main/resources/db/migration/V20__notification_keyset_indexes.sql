@@ -0,0 +1,20 @@
+-- Keyset pagination for notification lists: every list query is
+--   WHERE recipient_user_id = ? [AND read_at IS NULL | AND category = ?]
+--   [AND (created_at, id) < (?, ?)] ORDER BY created_at DESC, id DESC LIMIT n
+-- and each index below serves one shape as a single ordered range scan, so a page costs
+-- the same whether it is the first or the thousandth.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'notifications') THEN
+        CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created
+            ON notifications (recipient_user_id, created_at DESC, id DESC);
+
+        -- Unread list: partial, so it only holds what users haven't read yet
+        CREATE INDEX IF NOT EXISTS idx_notifications_recipient_unread_created
+            ON notifications (recipient_user_id, created_at DESC, id DESC)
+            WHERE read_at IS NULL;
+
+        CREATE INDEX IF NOT EXISTS idx_notifications_recipient_category_created
+            ON notifications (recipient_user_id, category, created_at DESC, id DESC);
+    END IF;
+END $$;
@@ -0,0 +1,100 @@
+-- Monthly range partitions for notifications on created_at.
+-- Retention then drops (or archives) whole months instead of deleting rows, so the busiest
+-- table stops accumulating dead tuples and index bloat from cleanup.
+
+-- Creates <parent>_pYYYYMM partitions for every month from p_from to p_to (inclusive) that
+-- doesn't exist yet. Shared by all monthly-partitioned tables; called again by PartitionManager
+-- to keep a few months ahead of the clock.
+CREATE OR REPLACE FUNCTION ensure_monthly_partitions(p_parent text, p_from date, p_to date)
+RETURNS integer
+LANGUAGE plpgsql AS $$
+DECLARE
+    m date := date_trunc('month', p_from)::date;
+    part text;
+    created integer := 0;
+BEGIN
+    WHILE m <= p_to LOOP
+        part := p_parent || '_p' || to_char(m, 'YYYYMM');
+        IF to_regclass(part) IS NULL THEN
+            EXECUTE format('CREATE TABLE %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                           part, p_parent, m, (m + interval '1 month')::date);
+            created := created + 1;
+        END IF;
+        m := (m + interval '1 month')::date;
+    END LOOP;
+    RETURN created;
+END $$;
+
+-- Detached partitions kept under the ARCHIVE retention mode
+CREATE SCHEMA IF NOT EXISTS archive;
+
+DO $$
+DECLARE
+    kind "char";
+    first_month date := date_trunc('month', LOCALTIMESTAMP)::date;
+BEGIN
+    SELECT relkind INTO kind FROM pg_class WHERE oid = to_regclass('notifications');
+    IF kind = 'p' THEN
+        RETURN;
+    END IF;
+
+    IF kind IS NULL THEN
+        -- Fresh database: create the table here; Hibernate adds anything newer on startup
+        CREATE TABLE notifications (
+            id                uuid         NOT NULL,
+            created_at        timestamp(6) NOT NULL,
+            updated_at        timestamp(6),
+            recipient_user_id uuid         NOT NULL,
+            title             varchar(255) NOT NULL,
+            body              varchar(1000),
+            read_at           timestamp(6),
+            category          varchar(255) NOT NULL,
+            priority          varchar(255),
+            ref_entity_type   varchar(255),
+            ref_entity_id     uuid,
+            action_url        varchar(255),
+            icon_type         varchar(255),
+            metadata          text
+        ) PARTITION BY RANGE (created_at);
+    ELSE
+        -- Existing table: swap in a partitioned copy with the same columns and checks
+        ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+        IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'notifications_pkey') THEN
+            ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_pkey TO notifications_unpartitioned_pkey;
+        END IF;
+        DROP INDEX IF EXISTS idx_notifications_unread_by_category;
+        DROP INDEX IF EXISTS idx_notifications_recipient_created;
+        DROP INDEX IF EXISTS idx_notifications_recipient_unread_created;
+        DROP INDEX IF EXISTS idx_notifications_recipient_category_created;
+
+        CREATE TABLE notifications (LIKE notifications_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY RANGE (created_at);
+        SELECT coalesce(date_trunc('month', min(created_at))::date, first_month)
+            INTO first_month FROM notifications_unpartitioned;
+    END IF;
+
+    -- The partition key has to be part of the primary key
+    ALTER TABLE notifications ADD CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at);
+    ALTER TABLE notifications ADD CONSTRAINT fk_notifications_recipient
+        FOREIGN KEY (recipient_user_id) REFERENCES employees (id);
+
+    CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+    PERFORM ensure_monthly_partitions('notifications', first_month, (LOCALTIMESTAMP + interval '3 months')::date);
+
+    IF kind IS NOT NULL THEN
+        INSERT INTO notifications SELECT * FROM notifications_unpartitioned;
+        DROP TABLE notifications_unpartitioned;
+    END IF;
+
+    -- V17 and V20 indexes, now defined on the parent (and so on every partition)
+    CREATE INDEX idx_notifications_unread_by_category
+        ON notifications (recipient_user_id, category)
+        WHERE read_at IS NULL;
+    CREATE INDEX idx_notifications_recipient_created
+        ON notifications (recipient_user_id, created_at DESC, id DESC);
+    CREATE INDEX idx_notifications_recipient_unread_created
+        ON notifications (recipient_user_id, created_at DESC, id DESC)
+        WHERE read_at IS NULL;
+    CREATE INDEX idx_notifications_recipient_category_created
+        ON notifications (recipient_user_id, category, created_at DESC, id DESC);
+END $$;
@@ -0,0 +1,70 @@
+-- Monthly range partitions for timeline_events (append-only audit log) on created_at, plus
+-- indexes for the audit UI's access paths:
+--   * created_at ranges (global date filter): BRIN. Rows arrive in time order, so block
+--     ranges map cleanly onto time ranges and the index stays a few pages per partition,
+--     where a B-tree would grow with every row.
+--   * one entity's history: (entity_type, entity_id, created_at)
+--   * an organization's log: (org_id, created_at)
+-- Partitions come from ensure_monthly_partitions() (V21) and are kept ahead of the clock by
+-- TimelinePartitionMaintenance.
+
+DO $$
+DECLARE
+    kind "char";
+    first_month date := date_trunc('month', LOCALTIMESTAMP)::date;
+BEGIN
+    SELECT relkind INTO kind FROM pg_class WHERE oid = to_regclass('timeline_events');
+    IF kind = 'p' THEN
+        RETURN;
+    END IF;
+
+    IF kind IS NULL THEN
+        -- Fresh database: create the table here; Hibernate adds anything newer on startup
+        CREATE TABLE timeline_events (
+            id             uuid         NOT NULL,
+            created_at     timestamp(6) NOT NULL,
+            updated_at     timestamp(6),
+            org_id         uuid         NOT NULL,
+            entity_type    varchar(255) NOT NULL,
+            entity_id      uuid         NOT NULL,
+            action         varchar(255) NOT NULL,
+            title          varchar(255),
+            actor_user_id  uuid,
+            target_user_id uuid,
+            message        varchar(255),
+            metadata       jsonb
+        ) PARTITION BY RANGE (created_at);
+    ELSE
+        -- Existing table: swap in a partitioned copy with the same columns and checks
+        ALTER TABLE timeline_events RENAME TO timeline_events_unpartitioned;
+        IF EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'timeline_events_pkey') THEN
+            ALTER TABLE timeline_events_unpartitioned RENAME CONSTRAINT timeline_events_pkey TO timeline_events_unpartitioned_pkey;
+        END IF;
+
+        CREATE TABLE timeline_events (LIKE timeline_events_unpartitioned INCLUDING DEFAULTS INCLUDING CONSTRAINTS)
+            PARTITION BY RANGE (created_at);
+        SELECT coalesce(date_trunc('month', min(created_at))::date, first_month)
+            INTO first_month FROM timeline_events_unpartitioned;
+    END IF;
+
+    -- The partition key has to be part of the primary key
+    ALTER TABLE timeline_events ADD CONSTRAINT timeline_events_pkey PRIMARY KEY (id, created_at);
+    ALTER TABLE timeline_events ADD CONSTRAINT fk_timeline_events_org
+        FOREIGN KEY (org_id) REFERENCES organizations (id);
+
+    CREATE TABLE timeline_events_default PARTITION OF timeline_events DEFAULT;
+    PERFORM ensure_monthly_partitions('timeline_events', first_month, (LOCALTIMESTAMP + interval '3 months')::date);
+
+    IF kind IS NOT NULL THEN
+        -- In time order, so each partition's BRIN ranges start out tight
+        INSERT INTO timeline_events SELECT * FROM timeline_events_unpartitioned ORDER BY created_at;
+        DROP TABLE timeline_events_unpartitioned;
+    END IF;
+
+    CREATE INDEX idx_timeline_events_created_brin
+        ON timeline_events USING brin (created_at) WITH (pages_per_range = 32, autosummarize = on);
+    CREATE INDEX idx_timeline_events_entity_created
+        ON timeline_events (entity_type, entity_id, created_at DESC);
+    CREATE INDEX idx_timeline_events_org_created
+        ON timeline_events (org_id, created_at DESC);
+END $$;
@@ -0,0 +1,10 @@
+-- Personal audit log: one index per branch of the UNION ALL in PersonalAuditQuery.
+-- The subject-record branch (entity_type = 'USER', entity_id) uses
+-- idx_timeline_events_entity_created from V22.
+CREATE INDEX IF NOT EXISTS idx_timeline_events_actor_created
+    ON timeline_events (actor_user_id, created_at DESC, id DESC)
+    WHERE actor_user_id IS NOT NULL;
+
+CREATE INDEX IF NOT EXISTS idx_timeline_events_target_created
+    ON timeline_events (target_user_id, created_at DESC, id DESC)
+    WHERE target_user_id IS NOT NULL;
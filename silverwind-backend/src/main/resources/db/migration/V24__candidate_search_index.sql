@@ -0,0 +1,78 @@
+-- Candidate full-text search used by CandidateSearchService: a tsvector column kept up to date
+-- by trigger, plus GIN/trigram indexes. candidates and candidate_skills come from V6 and
+-- extracted_document_texts from V13.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE candidates ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+-- Weights: A = name/email, B = title/skills, C = location/company/summary, D = resume text
+CREATE OR REPLACE FUNCTION candidates_search_vector_refresh() RETURNS trigger AS $$
+BEGIN
+    NEW.search_vector :=
+        setweight(to_tsvector('simple', coalesce(NEW.first_name, '') || ' ' || coalesce(NEW.last_name, '') || ' '
+            || coalesce(NEW.email, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(NEW.current_designation, '') || ' '
+            || coalesce((SELECT string_agg(s.skills, ' ') FROM candidate_skills s WHERE s.candidate_id = NEW.id), '')), 'B')
+        || setweight(to_tsvector('simple', coalesce(NEW.city, '') || ' ' || coalesce(NEW.current_company, '') || ' '
+            || coalesce(NEW.summary, '')), 'C')
+        || setweight(to_tsvector('simple', left(coalesce((SELECT t.extracted_text FROM extracted_document_texts t
+            WHERE t.storage_key = NEW.resume_file_path), ''), 100000)), 'D');
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_candidates_search_vector ON candidates;
+CREATE TRIGGER trg_candidates_search_vector
+    BEFORE INSERT OR UPDATE ON candidates
+    FOR EACH ROW EXECUTE FUNCTION candidates_search_vector_refresh();
+
+-- Skills are inserted after the candidate row; touching the parent re-runs the trigger above.
+-- Statement-level, so a statement that changes many skill rows (Hibernate deletes a whole
+-- collection at once; batched inserts are rewritten to one multi-row INSERT) rebuilds each
+-- affected candidate's vector once instead of once per row. Transition tables allow a single
+-- event per trigger, hence three triggers sharing one function.
+CREATE OR REPLACE FUNCTION candidate_skills_search_vector_touch() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE candidates SET search_vector = NULL
+        WHERE id IN (SELECT candidate_id FROM new_skills);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE candidates SET search_vector = NULL
+        WHERE id IN (SELECT candidate_id FROM old_skills);
+    ELSE
+        UPDATE candidates SET search_vector = NULL
+        WHERE id IN (SELECT candidate_id FROM new_skills UNION SELECT candidate_id FROM old_skills);
+    END IF;
+    RETURN NULL;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_candidate_skills_search_vector ON candidate_skills;
+DROP TRIGGER IF EXISTS trg_candidate_skills_search_vector_ins ON candidate_skills;
+DROP TRIGGER IF EXISTS trg_candidate_skills_search_vector_upd ON candidate_skills;
+DROP TRIGGER IF EXISTS trg_candidate_skills_search_vector_del ON candidate_skills;
+CREATE TRIGGER trg_candidate_skills_search_vector_ins
+    AFTER INSERT ON candidate_skills
+    REFERENCING NEW TABLE AS new_skills
+    FOR EACH STATEMENT EXECUTE FUNCTION candidate_skills_search_vector_touch();
+CREATE TRIGGER trg_candidate_skills_search_vector_upd
+    AFTER UPDATE ON candidate_skills
+    REFERENCING OLD TABLE AS old_skills NEW TABLE AS new_skills
+    FOR EACH STATEMENT EXECUTE FUNCTION candidate_skills_search_vector_touch();
+CREATE TRIGGER trg_candidate_skills_search_vector_del
+    AFTER DELETE ON candidate_skills
+    REFERENCING OLD TABLE AS old_skills
+    FOR EACH STATEMENT EXECUTE FUNCTION candidate_skills_search_vector_touch();
+
+CREATE INDEX IF NOT EXISTS idx_candidates_search_vector ON candidates USING gin (search_vector);
+CREATE INDEX IF NOT EXISTS idx_candidates_name_trgm
+    ON candidates USING gin (lower(first_name || ' ' || last_name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_candidates_email_trgm ON candidates USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_candidates_org_created ON candidates (organization_id, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_candidates_experience ON candidates (experience_years);
+CREATE INDEX IF NOT EXISTS idx_candidate_skills_skill ON candidate_skills (lower(skills), candidate_id);
+CREATE INDEX IF NOT EXISTS idx_candidate_skills_candidate ON candidate_skills (candidate_id);
+
+-- Backfill rows indexed before the trigger existed
+UPDATE candidates SET search_vector = NULL WHERE search_vector IS NULL;
@@ -0,0 +1,4 @@
+-- Outbox retention: EmailOutboxDispatcher deletes SENT and FAILED rows past their retention
+-- (app.mail.outbox.sent-retention / failed-retention) in small batches, oldest first.
+CREATE INDEX IF NOT EXISTS idx_email_outbox_finished
+    ON email_outbox (status, updated_at) WHERE status IN ('SENT', 'FAILED');
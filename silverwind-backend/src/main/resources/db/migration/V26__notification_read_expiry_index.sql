@@ -0,0 +1,11 @@
+-- Read-expiry cleanup: NotificationRetentionJob deletes read rows with read_at before a
+-- per-category cutoff. The partial index holds only read notifications, so each batch finds
+-- its rows without scanning the unread ones or whole partitions.
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.tables WHERE table_name = 'notifications') THEN
+        CREATE INDEX IF NOT EXISTS idx_notifications_read_expiry
+            ON notifications (read_at, category)
+            WHERE read_at IS NOT NULL;
+    END IF;
+END $$;
@@ -0,0 +1,113 @@
+package com.solventek.silverwind.applications;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.applications.dtos.AnalysisResultDTO;
+import jakarta.validation.Validation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micro-benchmark for {@link LlmJsonParser} against the previous regex strip +
+ * {@code indexOf/lastIndexOf} extraction, over typical, fenced-with-prose and malformed
+ * model responses.
+ * <p>
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.solventek.silverwind.applications.LlmJsonParserBenchmark}
+ * or from the IDE via {@link #main}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LlmJsonParserBenchmark {
+
+    private static final String RESULT = """
+            {
+              "overallRiskScore": 42,
+              "overallConsistencyScore": 71,
+              "verificationPriorityScore": 55,
+              "timelineRiskScore": 30,
+              "skillInflationRiskScore": 48,
+              "projectCredibilityRiskScore": 35,
+              "authorshipRiskScore": 20,
+              "confidenceScore": 80,
+              "summary": "Solid backend profile; one unexplained gap in 2021 and a {templated} project name.",
+              "redFlags": [
+                {"category": "TIMELINE", "severity": "MEDIUM", "description": "Eight-month gap between roles"},
+                {"category": "SKILL_INFLATION", "severity": "LOW", "description": "Kubernetes listed as expert with no project"}
+              ],
+              "evidence": [
+                {"category": "TIMELINE", "excerpt": "2019 - 2021 \\"Acme\\" Corp", "locationHint": "Experience"}
+              ],
+              "interviewQuestions": {
+                "timeline": ["What were you doing between March and November 2021?"],
+                "skills": ["Walk through a Kubernetes rollout you owned."]
+              },
+              "modelNotes": "extra field the schema does not declare"
+            }
+            """;
+
+    @Param({ "typical", "fenced", "malformed" })
+    public String shape;
+
+    private String response;
+    private LlmJsonParser parser;
+    private ObjectMapper legacyMapper;
+
+    @Setup
+    public void setUp() {
+        response = switch (shape) {
+            case "typical" -> RESULT;
+            case "fenced" -> "Here is the analysis you asked for (scores are 0-100):\n\n```json\n" + RESULT
+                    + "```\n\nLet me know if you need {more} detail.";
+            // Truncated mid-array, as when the model hits its output token limit
+            case "malformed" -> RESULT.substring(0, RESULT.indexOf("\"evidence\""));
+            default -> throw new IllegalArgumentException(shape);
+        };
+        parser = new LlmJsonParser(new ObjectMapper(),
+                Validation.buildDefaultValidatorFactory().getValidator());
+        legacyMapper = new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    }
+
+    @Benchmark
+    public void extractOnly(Blackhole bh) {
+        bh.consume(LlmJsonParser.extractObject(response));
+    }
+
+    @Benchmark
+    public void parseAndValidate(Blackhole bh) {
+        try {
+            bh.consume(parser.parse(response, AnalysisResultDTO.class));
+        } catch (LlmJsonParser.LlmOutputException e) {
+            bh.consume(e.getFieldErrors());
+        }
+    }
+
+    @Benchmark
+    public void legacyParse(Blackhole bh) {
+        String s = response.trim();
+        s = s.replaceAll("^```json\\s*", "").replaceAll("^```\\s*", "").replaceAll("\\s*```$", "").trim();
+        int start = s.indexOf('{');
+        int end = s.lastIndexOf('}');
+        if (start >= 0 && end > start) {
+            s = s.substring(start, end + 1).trim();
+        }
+        try {
+            bh.consume(legacyMapper.readValue(s, AnalysisResultDTO.class));
+        } catch (Exception e) {
+            bh.consume(e);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LlmJsonParserBenchmark.class.getSimpleName()).build()).run();
+    }
+}
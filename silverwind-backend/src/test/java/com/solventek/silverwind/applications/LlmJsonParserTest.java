@@ -0,0 +1,133 @@
+package com.solventek.silverwind.applications;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.solventek.silverwind.applications.LlmJsonParser.LlmOutputException;
+import com.solventek.silverwind.applications.dtos.AnalysisResultDTO;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LlmJsonParserTest {
+
+    private static final String VALID = """
+            {"overallRiskScore": 42, "overallConsistencyScore": 71, "summary": "Solid profile",
+             "redFlags": [{"category": "TIMELINE", "severity": "HIGH", "description": "Gap in 2021"}],
+             "modelNotes": "not part of the schema"}""";
+
+    private LlmJsonParser parser;
+
+    @BeforeEach
+    void setUp() {
+        parser = new LlmJsonParser(new ObjectMapper(), Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    @Test
+    void extractObjectStripsCodeFencesAndProse() {
+        String raw = "Here is the analysis:\n\n```json\n" + VALID + "\n```\n\nAnything else?";
+
+        assertThat(LlmJsonParser.extractObject(raw)).isEqualTo(VALID);
+    }
+
+    @Test
+    void extractObjectIgnoresBracesInsideStrings() {
+        String json = "{\"summary\": \"uses {templated} names and a stray } brace\", \"quote\": \"say \\\"}\\\"\"}";
+
+        assertThat(LlmJsonParser.extractObject(json + " trailing }")).isEqualTo(json);
+    }
+
+    @Test
+    void extractObjectSkipsBracesInProse() {
+        String raw = "Scores use {0-100} ranges and {} is not the answer: {\"a\": 1}";
+
+        // "{0-100}" is not followed by a key; "{}" is a complete (empty) object
+        assertThat(LlmJsonParser.extractObject(raw)).isEqualTo("{}");
+        assertThat(LlmJsonParser.extractObject("Scores use {0-100} ranges: {\"a\": {\"b\": 2}}"))
+                .isEqualTo("{\"a\": {\"b\": 2}}");
+    }
+
+    @Test
+    void extractObjectReturnsNullForTruncatedOrMissingObject() {
+        assertThat(LlmJsonParser.extractObject(VALID.substring(0, VALID.indexOf("\"redFlags\"")))).isNull();
+        assertThat(LlmJsonParser.extractObject("no json here")).isNull();
+        assertThat(LlmJsonParser.extractObject(null)).isNull();
+    }
+
+    @Test
+    void parseMapsFencedResponseAndIgnoresUnknownFields() {
+        AnalysisResultDTO result = parser.parse("```json\n" + VALID + "\n```", AnalysisResultDTO.class);
+
+        assertThat(result.getOverallRiskScore()).isEqualTo(42);
+        assertThat(result.getSummary()).isEqualTo("Solid profile");
+        assertThat(result.getRedFlags()).singleElement()
+                .extracting(AnalysisResultDTO.RedFlag::getSeverity).isEqualTo("HIGH");
+    }
+
+    @Test
+    void parseReportsTruncatedOutput() {
+        String truncated = VALID.substring(0, VALID.indexOf("\"redFlags\""));
+
+        assertThatThrownBy(() -> parser.parse(truncated, AnalysisResultDTO.class))
+                .isInstanceOf(LlmOutputException.class)
+                .hasMessageContaining("incomplete")
+                .extracting(e -> ((LlmOutputException) e).getFieldErrors()).asList().isEmpty();
+    }
+
+    @Test
+    void parseReportsEmptyAndMissingObjects() {
+        assertThatThrownBy(() -> parser.parse("  ", AnalysisResultDTO.class))
+                .isInstanceOf(LlmOutputException.class)
+                .hasMessage("Response is empty");
+        assertThatThrownBy(() -> parser.parse("I could not analyse this resume.", AnalysisResultDTO.class))
+                .isInstanceOf(LlmOutputException.class)
+                .hasMessage("Response contains no JSON object");
+    }
+
+    @Test
+    void parseReportsSchemaMismatchWithFieldPath() {
+        String raw = """
+                {"overallRiskScore": 42, "overallConsistencyScore": 71, "summary": "ok",
+                 "redFlags": [{"category": "TIMELINE", "description": {"text": "nested"}}]}""";
+
+        LlmOutputException e = catchOutput(() -> parser.parse(raw, AnalysisResultDTO.class));
+
+        assertThat(e.getFieldErrors()).singleElement().asString().startsWith("redFlags[0].description: ");
+        assertThat(e.getMessage()).startsWith("Response does not match the expected schema: redFlags[0].description: ");
+    }
+
+    @Test
+    void parseReportsEachValidationFailureSortedByField() {
+        String raw = "{\"overallRiskScore\": 140, \"summary\": \"\"}";
+
+        LlmOutputException e = catchOutput(() -> parser.parse(raw, AnalysisResultDTO.class));
+
+        assertThat(e.getFieldErrors()).hasSize(3);
+        assertThat(e.getFieldErrors().get(0)).startsWith("overallConsistencyScore: ");
+        assertThat(e.getFieldErrors().get(1)).startsWith("overallRiskScore: ");
+        assertThat(e.getFieldErrors().get(2)).startsWith("summary: ");
+        assertThat(e.getMessage()).startsWith("Response failed validation: overallConsistencyScore: ");
+    }
+
+    @Test
+    void parseObjectJsonReturnsExtractedObject() {
+        assertThat(parser.parseObjectJson("Result:\n" + VALID + "\nDone.")).isEqualTo(VALID);
+    }
+
+    @Test
+    void parseObjectJsonRejectsMalformedJson() {
+        assertThatThrownBy(() -> parser.parseObjectJson("{\"a\": 1, \"b\": }"))
+                .isInstanceOf(LlmOutputException.class)
+                .hasMessageStartingWith("Response is not valid JSON");
+    }
+
+    private static LlmOutputException catchOutput(Runnable call) {
+        try {
+            call.run();
+        } catch (LlmOutputException e) {
+            return e;
+        }
+        throw new AssertionError("Expected LlmOutputException");
+    }
+}
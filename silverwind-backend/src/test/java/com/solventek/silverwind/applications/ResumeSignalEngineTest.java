@@ -0,0 +1,119 @@
+package com.solventek.silverwind.applications;
+
+import com.solventek.silverwind.applications.ResumeSignalEngine.ResumeSignals;
+import com.solventek.silverwind.recruitment.CandidateDTO.ParsedExperience;
+import com.solventek.silverwind.recruitment.CandidateDTO.ParsedResume;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResumeSignalEngineTest {
+
+    private static final YearMonth AS_OF = YearMonth.of(2024, 6);
+
+    private final ResumeSignalEngine engine = new ResumeSignalEngine();
+
+    @Test
+    void gapBetweenRolesIsReportedAndExcludedFromTenure() {
+        ResumeSignals signals = compute(
+                job("Acme", "Engineer", "2018-01", "2018-12"),
+                job("Globex", "Engineer", "2019-06", "2020-05"));
+
+        assertThat(signals.totalTenureMonths()).isEqualTo(24);
+        assertThat(signals.gaps()).singleElement().satisfies(gap -> {
+            assertThat(gap.from()).isEqualTo(YearMonth.of(2019, 1));
+            assertThat(gap.to()).isEqualTo(YearMonth.of(2019, 5));
+            assertThat(gap.months()).isEqualTo(5);
+        });
+        assertThat(signals.longestGapMonths()).isEqualTo(5);
+        assertThat(signals.significantGapCount()).isEqualTo(1);
+    }
+
+    @Test
+    void consecutiveMonthsAreNotAGap() {
+        ResumeSignals signals = compute(
+                job("Acme", "Engineer", "2018-01", "2019-02"),
+                job("Globex", "Engineer", "2019-03", "2019-12"));
+
+        assertThat(signals.gaps()).isEmpty();
+        assertThat(signals.totalTenureMonths()).isEqualTo(24);
+    }
+
+    @Test
+    void singleSharedMonthIsAHandoverNotAnOverlap() {
+        ResumeSignals signals = compute(
+                job("Acme", "Engineer", "2018-01", "2019-03"),
+                job("Globex", "Engineer", "2019-03", "2020-12"));
+
+        assertThat(signals.overlaps()).isEmpty();
+        assertThat(signals.overlapMonths()).isZero();
+        assertThat(signals.totalTenureMonths()).isEqualTo(36);
+    }
+
+    @Test
+    void overlapMonthsCountTheUnionNotEachPair() {
+        ResumeSignals signals = compute(
+                job("Acme", "Engineer", "2020-01", "2020-12"),
+                job("Globex", "Engineer", "2020-03", "2020-08"),
+                job("Initech", "Engineer", "2020-05", "2020-10"));
+
+        // Pairs: Acme/Globex 6, Acme/Initech 6, Globex/Initech 4; months covered: 2020-03..2020-10
+        assertThat(signals.overlaps()).hasSize(3);
+        assertThat(signals.overlapMonths()).isEqualTo(8);
+        assertThat(signals.toMap()).containsEntry("fullTimeOverlapMonths", 8);
+        assertThat(signals.totalTenureMonths()).isEqualTo(12);
+    }
+
+    @Test
+    void sameEmployerAndNonFullTimeRolesDoNotOverlap() {
+        ResumeSignals signals = compute(
+                job("Acme", "Engineer", "2020-01", "2020-12"),
+                job("Globex", "Summer Intern", "2020-03", "2020-06"),
+                job("Acme", "Senior Engineer", "2020-06", "2021-06"));
+
+        assertThat(signals.overlaps()).isEmpty();
+        assertThat(signals.overlapMonths()).isZero();
+    }
+
+    @Test
+    void currentRoleRunsToAsOfAndYearOnlyDatesCoverTheYear() {
+        ParsedExperience current = job("Globex", "Lead Engineer", "2023-01", null);
+        current.setIsCurrent(true);
+
+        ResumeSignals signals = compute(job("Acme", "Engineer", "2021", "2022"), current);
+
+        // 2021-01..2022-12 plus 2023-01..2024-06
+        assertThat(signals.totalTenureMonths()).isEqualTo(42);
+        assertThat(signals.gaps()).isEmpty();
+        assertThat(signals.titleProgression()).isEqualTo("ASCENDING");
+    }
+
+    @Test
+    void undatedPositionsAreCountedButNotTimed() {
+        ResumeSignals signals = compute(
+                job("Acme", "Engineer", "2020-01", "2020-12"),
+                job("Globex", "Engineer", "sometime", null));
+
+        assertThat(signals.positionsCount()).isEqualTo(2);
+        assertThat(signals.datedPositionsCount()).isEqualTo(1);
+        assertThat(signals.totalTenureMonths()).isEqualTo(12);
+    }
+
+    private ResumeSignals compute(ParsedExperience... experience) {
+        ParsedResume facts = new ParsedResume();
+        facts.setExperience(List.of(experience));
+        return engine.compute(facts, AS_OF);
+    }
+
+    private static ParsedExperience job(String company, String title, String start, String end) {
+        ParsedExperience e = new ParsedExperience();
+        e.setCompany(company);
+        e.setTitle(title);
+        e.setStart(start);
+        e.setEnd(end);
+        return e;
+    }
+}
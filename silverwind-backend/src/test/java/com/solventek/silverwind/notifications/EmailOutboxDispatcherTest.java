@@ -0,0 +1,386 @@
+package com.solventek.silverwind.notifications;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.solventek.silverwind.config.MailOutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link EmailOutboxDispatcher#dispatchBatch()} against an in-process GreenMail SMTP server.
+ * The outbox table is replaced by {@link FakeOutbox}, which applies the dispatcher's claim,
+ * rate-limit, status and purge statements to in-memory rows.
+ */
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final FakeOutbox outbox = new FakeOutbox();
+    private final MailOutboxProperties properties = new MailOutboxProperties();
+    private JavaMailSenderImpl mailSender;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        properties.setFrom("alerts@silverwind.test");
+        properties.setInitialBackoff(Duration.ofSeconds(30));
+        properties.setMaxAttempts(3);
+        dispatcher = new EmailOutboxDispatcher(outbox, mailSender, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void sendsDueMessagesAndMarksThemSent() throws Exception {
+        Row first = outbox.add("alice@silverwind.test", "Interview scheduled", "See you at 10");
+        Row second = outbox.add("bob@silverwind.test", "Offer released", "<p>Congratulations</p>", true);
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).extracting(MimeMessage::getSubject)
+                .containsExactlyInAnyOrder("Interview scheduled", "Offer released");
+        assertThat(first.status).isEqualTo("SENT");
+        assertThat(first.attempts).isEqualTo(1);
+        assertThat(first.sentAt).isNotNull();
+        assertThat(second.status).isEqualTo("SENT");
+        assertThat(dispatcher.dispatchBatch()).isZero();
+    }
+
+    @Test
+    void failedMessageIsRetriedWithBackoffWithoutHoldingBackTheBatch() {
+        Row good = outbox.add("alice@silverwind.test", "Welcome", "Hello");
+        Row bad = outbox.add("broken<address", "Welcome", "Hello");
+
+        dispatcher.dispatchBatch();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(good.status).isEqualTo("SENT");
+        assertThat(bad.status).isEqualTo("PENDING");
+        assertThat(bad.attempts).isEqualTo(1);
+        assertThat(bad.lastError).startsWith("Could not build message");
+        assertThat(bad.nextAttemptAt)
+                .isCloseTo(LocalDateTime.now().plusSeconds(30), within(5, ChronoUnit.SECONDS));
+
+        // Not due yet
+        assertThat(dispatcher.dispatchBatch()).isZero();
+    }
+
+    @Test
+    void smtpOutageBacksOffWholeBatchAndGivesUpAfterMaxAttempts() {
+        Row row = outbox.add("alice@silverwind.test", "Reminder", "Timesheet due");
+        mailSender.setPort(closedPort());
+
+        dispatcher.dispatchBatch();
+        assertThat(row.status).isEqualTo("PENDING");
+        assertThat(row.attempts).isEqualTo(1);
+        assertThat(row.nextAttemptAt).isAfter(LocalDateTime.now().plusSeconds(25));
+
+        row.nextAttemptAt = LocalDateTime.now().minusSeconds(1);
+        dispatcher.dispatchBatch();
+        assertThat(row.attempts).isEqualTo(2);
+        assertThat(row.nextAttemptAt).isAfter(LocalDateTime.now().plusSeconds(55));
+
+        row.nextAttemptAt = LocalDateTime.now().minusSeconds(1);
+        dispatcher.dispatchBatch();
+        assertThat(row.status).isEqualTo("FAILED");
+        assertThat(row.attempts).isEqualTo(3);
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    @Test
+    void recipientOverRateLimitIsDeferredNotFailed() {
+        properties.setRecipientLimit(1);
+        properties.setRecipientWindow(Duration.ofHours(1));
+        Row alreadySent = outbox.add("alice@silverwind.test", "Earlier", "Earlier");
+        alreadySent.status = "SENT";
+        alreadySent.sentAt = LocalDateTime.now().minusMinutes(5);
+        Row overLimit = outbox.add("Alice@silverwind.test", "Later", "Later");
+        Row other = outbox.add("bob@silverwind.test", "Hello", "Hello");
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(2);
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(1);
+        assertThat(other.status).isEqualTo("SENT");
+        assertThat(overLimit.status).isEqualTo("PENDING");
+        assertThat(overLimit.attempts).isZero();
+        assertThat(overLimit.lastError).isNull();
+        assertThat(overLimit.nextAttemptAt).isAfter(LocalDateTime.now().plusMinutes(9));
+    }
+
+    @Test
+    void staleSendingClaimIsReclaimedAfterClaimTimeout() {
+        properties.setClaimTimeout(Duration.ofMinutes(10));
+        Row stale = outbox.add("alice@silverwind.test", "Stranded", "Node died mid-send");
+        stale.claim(LocalDateTime.now().minusMinutes(11));
+        Row inFlight = outbox.add("bob@silverwind.test", "In flight", "Another node is sending");
+        inFlight.claim(LocalDateTime.now().minusMinutes(2));
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        assertThat(greenMail.getReceivedMessages()).extracting(MimeMessage::getSubject).containsExactly("Stranded");
+        assertThat(stale.status).isEqualTo("SENT");
+        assertThat(stale.attempts).isEqualTo(1);
+        assertThat(inFlight.status).isEqualTo("SENDING");
+        assertThat(inFlight.attempts).isZero();
+    }
+
+    @Test
+    void rowsLockedByAnotherDispatcherAreSkipped() {
+        Row locked = outbox.add("alice@silverwind.test", "Locked", "Claimed elsewhere");
+        locked.locked = true;
+        Row mine = outbox.add("bob@silverwind.test", "Mine", "Mine");
+
+        assertThat(dispatcher.dispatchBatch()).isEqualTo(1);
+
+        assertThat(locked.status).isEqualTo("PENDING");
+        assertThat(mine.status).isEqualTo("SENT");
+        assertThat(mine.claimedAt).isNotNull();
+        assertThat(mine.updatedAt).isNotNull();
+    }
+
+    @Test
+    void purgeDeletesFinishedMessagesPastTheirRetentionOnly() {
+        properties.setSentRetention(Duration.ofDays(30));
+        properties.setFailedRetention(Duration.ofDays(90));
+        Row oldSent = outbox.add("alice@silverwind.test", "Old", "Old");
+        oldSent.finish("SENT", LocalDateTime.now().minusDays(31));
+        Row recentSent = outbox.add("alice@silverwind.test", "Recent", "Recent");
+        recentSent.finish("SENT", LocalDateTime.now().minusDays(5));
+        Row oldFailed = outbox.add("bob@silverwind.test", "Failed", "Failed");
+        oldFailed.finish("FAILED", LocalDateTime.now().minusDays(91));
+        Row recentFailed = outbox.add("bob@silverwind.test", "Failed", "Failed");
+        recentFailed.finish("FAILED", LocalDateTime.now().minusDays(31));
+        Row pending = outbox.add("carol@silverwind.test", "Pending", "Pending");
+        pending.updatedAt = LocalDateTime.now().minusDays(200);
+
+        assertThat(dispatcher.purge()).isEqualTo(2);
+
+        assertThat(outbox.rows).containsExactlyInAnyOrder(recentSent, recentFailed, pending);
+    }
+
+    private static int closedPort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Row {
+        private final UUID id = UUID.randomUUID();
+        private final String recipient;
+        private final String subject;
+        private final String body;
+        private final boolean html;
+        private String status = "PENDING";
+        private int attempts;
+        private LocalDateTime nextAttemptAt = LocalDateTime.now().minusSeconds(1);
+        private LocalDateTime claimedAt;
+        private LocalDateTime sentAt;
+        private LocalDateTime updatedAt;
+        private String lastError;
+        private boolean locked;
+
+        private Row(String recipient, String subject, String body, boolean html) {
+            this.recipient = recipient;
+            this.subject = subject;
+            this.body = body;
+            this.html = html;
+        }
+
+        private void finish(String status, LocalDateTime at) {
+            this.status = status;
+            this.updatedAt = at;
+            if (status.equals("SENT")) {
+                this.sentAt = at;
+            }
+        }
+
+        private void claim(LocalDateTime at) {
+            this.status = "SENDING";
+            this.claimedAt = at;
+            this.updatedAt = at;
+        }
+    }
+
+    /**
+     * Just enough of {@code email_outbox} for the dispatcher's statements. Each statement is
+     * matched against the dispatcher's SQL exactly, so a change there fails here until the
+     * in-memory semantics below are updated with it. {@link Row#locked} stands in for a row
+     * another transaction holds, which {@code FOR UPDATE SKIP LOCKED} passes over.
+     */
+    private static final class FakeOutbox extends JdbcTemplate {
+
+        private final List<Row> rows = new ArrayList<>();
+
+        Row add(String recipient, String subject, String body) {
+            return add(recipient, subject, body, false);
+        }
+
+        Row add(String recipient, String subject, String body, boolean html) {
+            Row row = new Row(recipient, subject, body, html);
+            rows.add(row);
+            return row;
+        }
+
+        @Override
+        public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+            assertThat(sql).isEqualTo(EmailOutboxDispatcher.CLAIM);
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime staleBefore = ((Timestamp) args[0]).toLocalDateTime();
+            int limit = (Integer) args[1];
+            List<Row> due = rows.stream()
+                    .filter(r -> !r.locked)
+                    .filter(r -> (r.status.equals("PENDING") && !r.nextAttemptAt.isAfter(now))
+                            || (r.status.equals("SENDING") && r.claimedAt != null && r.claimedAt.isBefore(staleBefore)))
+                    .sorted(Comparator.comparing(r -> r.nextAttemptAt))
+                    .limit(limit)
+                    .toList();
+            List<T> claimed = new ArrayList<>();
+            for (Row row : due) {
+                row.claim(now);
+                try {
+                    claimed.add(rowMapper.mapRow(claimedRow(row), claimed.size()));
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return claimed;
+        }
+
+        @Override
+        public void query(String sql, RowCallbackHandler handler, Object... args) {
+            assertThat(sql).isEqualTo(EmailOutboxDispatcher.RECENT_SENT);
+            Set<String> recipients = textArray((String) args[0]);
+            LocalDateTime since = ((Timestamp) args[1]).toLocalDateTime();
+            Map<String, Integer> sent = new HashMap<>();
+            for (Row row : rows) {
+                String recipient = row.recipient.toLowerCase(Locale.ROOT);
+                if (row.status.equals("SENT") && recipients.contains(recipient) && row.sentAt.isAfter(since)) {
+                    sent.merge(recipient, 1, Integer::sum);
+                }
+            }
+            try {
+                for (Map.Entry<String, Integer> e : sent.entrySet()) {
+                    ResultSet rs = mock(ResultSet.class);
+                    when(rs.getString("recipient")).thenReturn(e.getKey());
+                    when(rs.getInt("sent")).thenReturn(e.getValue());
+                    handler.processRow(rs);
+                }
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int[] batchUpdate(String sql, List<Object[]> batchArgs) {
+            LocalDateTime now = LocalDateTime.now();
+            for (Object[] args : batchArgs) {
+                if (sql.equals(EmailOutboxDispatcher.MARK_SENT)) {
+                    Row row = find(args[0]);
+                    row.status = "SENT";
+                    row.attempts++;
+                    row.sentAt = now;
+                    row.lastError = null;
+                    row.updatedAt = now;
+                } else if (sql.equals(EmailOutboxDispatcher.MARK_FAILED)) {
+                    Row row = find(args[3]);
+                    row.status = (String) args[0];
+                    row.attempts++;
+                    row.nextAttemptAt = ((Timestamp) args[1]).toLocalDateTime();
+                    row.lastError = (String) args[2];
+                    row.claimedAt = null;
+                    row.updatedAt = now;
+                } else if (sql.equals(EmailOutboxDispatcher.MARK_DEFERRED)) {
+                    Row row = find(args[1]);
+                    row.status = "PENDING";
+                    row.nextAttemptAt = ((Timestamp) args[0]).toLocalDateTime();
+                    row.claimedAt = null;
+                    row.updatedAt = now;
+                } else {
+                    throw new AssertionError("Unexpected statement: " + sql);
+                }
+            }
+            return new int[batchArgs.size()];
+        }
+
+        @Override
+        public int update(String sql, Object... args) {
+            assertThat(sql).isEqualTo(EmailOutboxDispatcher.PURGE);
+            String status = (String) args[0];
+            LocalDateTime before = ((Timestamp) args[1]).toLocalDateTime();
+            int limit = (Integer) args[2];
+            List<Row> expired = rows.stream()
+                    .filter(r -> r.status.equals(status) && r.updatedAt != null && r.updatedAt.isBefore(before))
+                    .limit(limit)
+                    .toList();
+            rows.removeAll(expired);
+            return expired.size();
+        }
+
+        private Row find(Object id) {
+            return rows.stream().filter(r -> r.id.equals(id)).findFirst().orElseThrow();
+        }
+
+        /** Parses the {@code {"a","b"}} literal bound to {@code ?::text[]}. */
+        private static Set<String> textArray(String literal) {
+            assertThat(literal).startsWith("{").endsWith("}");
+            Set<String> values = new HashSet<>();
+            StringBuilder value = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 1; i < literal.length() - 1; i++) {
+                char c = literal.charAt(i);
+                if (c == '\\') {
+                    value.append(literal.charAt(++i));
+                } else if (c == '"') {
+                    quoted = !quoted;
+                } else if (c == ',' && !quoted) {
+                    values.add(value.toString());
+                    value.setLength(0);
+                } else {
+                    value.append(c);
+                }
+            }
+            if (literal.length() > 2) {
+                values.add(value.toString());
+            }
+            return values;
+        }
+
+        private static ResultSet claimedRow(Row row) throws SQLException {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject("id", UUID.class)).thenReturn(row.id);
+            when(rs.getString("recipient")).thenReturn(row.recipient);
+            when(rs.getString("subject")).thenReturn(row.subject);
+            when(rs.getString("body")).thenReturn(row.body);
+            when(rs.getBoolean("html")).thenReturn(row.html);
+            when(rs.getInt("attempts")).thenReturn(row.attempts);
+            return rs;
+        }
+    }
+}
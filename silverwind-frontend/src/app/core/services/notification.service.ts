@@ -2,7 +2,8 @@ import { Injectable, inject, signal } from '@angular/core';
 import { ApiService } from './api.service';
 import { Page } from '../models/page.model';
 import { HttpParams, HttpHeaders } from '@angular/common/http';
-import { interval } from 'rxjs';
+import { Subject, interval } from 'rxjs';
+import { environment } from '../../../environments/environment';
 
 export interface Notification {
   id: string;
@@ -47,21 +48,47 @@ export class NotificationService {
   // Centralized signal for notification counts
   readonly notificationCounts = signal<NotificationCounts | null>(null);
 
-  constructor() {
-    // Start polling immediately (5 seconds interval for "live" updates)
-    this.startPolling();
-  }
+  // Emits the server event type ('notification', 'read', 'resync') whenever notifications change
+  readonly changes = new Subject<string>();
+
+  private eventSource: EventSource | null = null;
+  private streamToken: string | null = null;
 
-  private startPolling() {
-    // Initial fetch
+  constructor() {
     this.refreshCounts();
+    this.connectStream();
 
-    // Poll every 5 seconds
-    interval(5000).subscribe(() => {
+    // Slow safety-net poll; also (re)opens the stream after login or a dropped connection
+    interval(60000).subscribe(() => {
       this.refreshCounts();
+      this.connectStream();
     });
   }
 
+  // Server-sent events replace fast polling: counts are refetched only when something changes
+  private connectStream() {
+    const token = sessionStorage.getItem('access_token');
+    if (this.eventSource && (token !== this.streamToken || this.eventSource.readyState === EventSource.CLOSED)) {
+      this.eventSource.close();
+      this.eventSource = null;
+    }
+    if (this.eventSource || !token || typeof EventSource === 'undefined') {
+      return;
+    }
+    const source = new EventSource(
+      `${environment.apiUrl}/notifications/stream?access_token=${encodeURIComponent(token)}`,
+    );
+    const onChange = (event: MessageEvent) => {
+      this.refreshCounts();
+      this.changes.next(event.type);
+    };
+    source.addEventListener('notification', onChange);
+    source.addEventListener('read', onChange);
+    source.addEventListener('resync', onChange);
+    this.eventSource = source;
+    this.streamToken = token;
+  }
+
   refreshCounts() {
     this.getCountByCategory(true).subscribe({
       next: (counts) => this.notificationCounts.set(counts),
@@ -11,7 +11,7 @@ import { takeUntilDestroyed } from '@angular/core/rxjs-interop';
 import { CommonModule } from '@angular/common';
 import { Router } from '@angular/router';
 import { NotificationService, Notification } from '../../../core/services/notification.service';
-import { interval, switchMap } from 'rxjs';
+import { interval } from 'rxjs';
 
 @Component({
   selector: 'app-notification-dropdown',
@@ -154,15 +154,20 @@ export class NotificationDropdownComponent implements OnInit {
   ngOnInit() {
     this.loadUnreadCount();
 
-    // Poll every 10 seconds
-    interval(5000)
+    // Refresh when the server pushes a change; the slow poll covers a dropped stream
+    this.notificationService.changes
       .pipe(takeUntilDestroyed(this.destroyRef))
-      .subscribe(() => {
-        this.loadUnreadCount();
-        if (this.isOpen()) {
-          this.loadNotifications();
-        }
-      });
+      .subscribe(() => this.refresh());
+    interval(60000)
+      .pipe(takeUntilDestroyed(this.destroyRef))
+      .subscribe(() => this.refresh());
+  }
+
+  private refresh() {
+    this.loadUnreadCount();
+    if (this.isOpen()) {
+      this.loadNotifications();
+    }
   }
 
   loadUnreadCount() {